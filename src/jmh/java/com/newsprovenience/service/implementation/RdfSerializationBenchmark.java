@@ -0,0 +1,112 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.ArticleMetadata;
+import com.newsprovenience.domain.Topic;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RDFService#articleToRDF} și serializările exportului ({@link RDFService#writeGraph}) pe un articol
+ * obișnuit ({@code small}: 5 topicuri, 4 metadate) și pe unul mare ({@code large}: 200 + 200),
+ * plus generarea URI-ului la ingestie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RdfSerializationBenchmark {
+
+    private static final String baseNamespace = "http://example.org/news/";
+
+    @Param({"small", "large"})
+    public String size;
+
+    private RDFService rdfService;
+    private Article article;
+    private String graphUri;
+    private Model model;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        rdfService = new RDFService(RDFConnection.connect(DatasetFactory.createTxnMem()));
+        ReflectionTestUtils.setField(rdfService, "baseNamespace", baseNamespace);
+        ReflectionTestUtils.setField(rdfService, "schemaNamespace", "http://schema.org/");
+        ReflectionTestUtils.setField(rdfService, "dcNamespace", "http://purl.org/dc/elements/1.1/");
+        ReflectionTestUtils.setField(rdfService, "provNamespace", "http://www.w3.org/ns/prov#");
+        ReflectionTestUtils.setField(rdfService, "skosNamespace", "http://www.w3.org/2004/02/skos/core#");
+        rdfService.initVocabulary();
+
+        article = ArticleRdfEmitterBenchmark.sampleArticle();
+        if (size.equals("large")) enlarge(article, 200, 200);
+        graphUri = rdfService.currentGraphUri(article);
+        model = rdfService.articleToRDF(article);
+        out = new ByteArrayOutputStream(1 << 20);
+    }
+
+    @Benchmark
+    public Model articleToRDF() {
+        return rdfService.articleToRDF(article);
+    }
+
+    @Benchmark
+    public int writeJsonLd() {
+        return write(RdfExportFormat.JSON_LD);
+    }
+
+    @Benchmark
+    public int writeRdfXml() {
+        return write(RdfExportFormat.RDF_XML);
+    }
+
+    @Benchmark
+    public int writeTurtle() {
+        return write(RdfExportFormat.TURTLE);
+    }
+
+    @Benchmark
+    public int writeNTriples() {
+        return write(RdfExportFormat.N_TRIPLES);
+    }
+
+    @Benchmark
+    public String generateUri() {
+        return ArticleService.generateUri(article);
+    }
+
+    private int write(RdfExportFormat format) {
+        out.reset();
+        rdfService.writeGraph(graphUri, model, format, out);
+        return out.size();
+    }
+
+    private static void enlarge(Article a, int topics, int metadata) {
+        for (int i = 0; i < topics; i++) {
+            Topic t = new Topic();
+            t.setUri(baseNamespace + "topic/extra-" + i);
+            t.setName("Extra topic " + i);
+            t.setDbpediaUri("http://dbpedia.org/resource/Extra_" + i);
+            a.getTopics().add(t);
+        }
+        int next = a.getMetadata().size() + 1;
+        for (int i = 0; i < metadata; i++) {
+            ArticleMetadata m = new ArticleMetadata();
+            m.setId((long) next + i);
+            m.setArticle(a);
+            // o parte sunt media (associatedMedia), restul doar PropertyValue
+            m.setMetadataKey(i % 4 == 0 ? "imageUrl" : "iptc:keyword" + i);
+            m.setMetadataValue(i % 4 == 0 ? "https://recorder.ro/img/" + i + ".png" : "value " + i);
+            m.setStandard("IPTC");
+            a.getMetadata().add(m);
+        }
+    }
+}
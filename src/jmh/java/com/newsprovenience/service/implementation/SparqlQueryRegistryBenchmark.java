@@ -0,0 +1,170 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.service.dto.ArticleSearchRequest;
+import org.apache.jena.query.ParameterizedSparqlString;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost per request pentru construirea query-urilor: text formatat + parsare (vechiul drum)
+ * vs. legarea parametrilor pe template-urile pre-parsate din {@link SparqlQueryRegistry}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparqlQueryRegistryBenchmark {
+
+    private SparqlQueryRegistry registry;
+    private ArticleSearchRequest request;
+    private List<String> articleUris;
+    private SearchCursor cursor;
+
+    @Setup
+    public void setUp() {
+        registry = new SparqlQueryRegistry();
+        ReflectionTestUtils.setField(registry, "baseNamespace", "http://example.org/news/");
+        registry.init();
+
+        request = new ArticleSearchRequest();
+        request.setQuery("election");
+        request.setLanguage("en");
+        request.setMaxWords(4000);
+        request.setMediaType("Article");
+
+        // echivalentul top-k din indexul full-text
+        articleUris = IntStream.range(0, 100)
+                .mapToObj(i -> "http://example.org/news/article/election-" + i)
+                .toList();
+        cursor = new SearchCursor(SearchCursor.Kind.GRAPH, "2024-12-06T10:00:00", articleUris.get(19));
+    }
+
+    @Benchmark
+    public Query articlesByLanguageFormatAndParse() {
+        return QueryFactory.create(legacyArticlesByLanguage("en", "es", 4000, "IT contest"));
+    }
+
+    @Benchmark
+    public Query articlesByLanguageRegistry() {
+        return registry.articlesByLanguage("en", "es", 4000, "IT contest");
+    }
+
+    @Benchmark
+    public Query freshEditorialsRegistry() {
+        return registry.freshEditorials("technology", LocalDate.of(2024, 12, 1));
+    }
+
+    @Benchmark
+    public Query searchParameterizedAndParse() {
+        return QueryFactory.create(legacySearch(request));
+    }
+
+    @Benchmark
+    public Query searchRegistry() {
+        return registry.search(request, articleUris);
+    }
+
+    /** Paginare keyset fără text (filtre + cursor), cum o construiește SPARQLService.searchPage. */
+    @Benchmark
+    public Query searchPageRegistry() {
+        return registry.searchPage(request, cursor, 21);
+    }
+
+    @Benchmark
+    public Query searchCountRegistry() {
+        return registry.searchCount(request);
+    }
+
+    // -------------------------
+    // Baseline: implementarea anterioară (String.format / ParameterizedSparqlString + QueryFactory.create)
+    // -------------------------
+    private static String legacyArticlesByLanguage(String lang1, String lang2, int maxWords, String topic) {
+        return String.format("""
+        PREFIX schema: <http://schema.org/>
+        PREFIX dc: <http://purl.org/dc/elements/1.1/>
+        PREFIX skos: <http://www.w3.org/2004/02/skos/core#>
+
+        SELECT ?article ?title ?language ?wordCount ?description
+        WHERE {
+          GRAPH ?g {
+            ?article a schema:NewsArticle ;
+                     schema:headline ?title ;
+                     schema:inLanguage ?language ;
+                     schema:wordCount ?wordCount .
+            OPTIONAL { ?article schema:description ?description . }
+            OPTIONAL { ?article dc:subject ?subject . }
+            OPTIONAL {
+              ?article schema:about ?c .
+              OPTIONAL { ?c skos:prefLabel ?cLabel . }
+            }
+          }
+
+          FILTER(?language = "%s" || ?language = "%s")
+          FILTER(?wordCount < %d)
+
+          FILTER(
+            (BOUND(?subject) && CONTAINS(LCASE(STR(?subject)), LCASE("%s"))) ||
+            (BOUND(?cLabel) && CONTAINS(LCASE(STR(?cLabel)), LCASE("%s"))) ||
+            CONTAINS(LCASE(STR(?title)), LCASE("%s"))
+          )
+        }
+        ORDER BY ?wordCount
+        LIMIT 100
+        """, lang1, lang2, maxWords, topic, topic, topic);
+    }
+
+    private static String legacySearch(ArticleSearchRequest request) {
+        ParameterizedSparqlString pss = new ParameterizedSparqlString();
+        pss.setNsPrefix("schema", "http://schema.org/");
+        pss.setNsPrefix("dc", "http://purl.org/dc/elements/1.1/");
+        pss.setNsPrefix("skos", "http://www.w3.org/2004/02/skos/core#");
+        pss.setNsPrefix("xsd", "http://www.w3.org/2001/XMLSchema#");
+
+        pss.append("""
+        SELECT ?article ?title ?description ?language ?wordCount ?published ?genre
+        WHERE {
+            ?article a schema:NewsArticle ;
+                     schema:headline ?title .
+            OPTIONAL { ?article schema:description ?description . }
+            OPTIONAL { ?article schema:inLanguage ?language . }
+            OPTIONAL { ?article schema:wordCount ?wordCount . }
+            OPTIONAL { ?article schema:datePublished ?published . }
+            OPTIONAL { ?article schema:genre ?genre . }
+            OPTIONAL { ?article dc:subject ?subject . }
+            OPTIONAL {
+              ?article schema:about ?c .
+              OPTIONAL { ?c skos:prefLabel ?cLabel . }
+            }
+    """);
+        pss.append("""
+              FILTER(
+                CONTAINS(LCASE(STR(?title)), LCASE(?Q)) ||
+                (BOUND(?description) && CONTAINS(LCASE(STR(?description)), LCASE(?Q))) ||
+                (BOUND(?subject) && CONTAINS(LCASE(STR(?subject)), LCASE(?Q))) ||
+                (BOUND(?cLabel) && CONTAINS(LCASE(STR(?cLabel)), LCASE(?Q)))
+              )
+            """);
+        pss.setLiteral("Q", request.getQuery());
+        pss.append(" FILTER(!BOUND(?language) || ?language = ?LANG) ");
+        pss.setLiteral("LANG", request.getLanguage());
+        pss.append(" FILTER(!BOUND(?wordCount) || ?wordCount <= ?MAXW) ");
+        pss.setLiteral("MAXW", request.getMaxWords());
+        pss.append(" FILTER(!BOUND(?genre) || LCASE(STR(?genre)) = LCASE(?MT)) ");
+        pss.setLiteral("MT", request.getMediaType());
+        pss.append("""
+            }
+            ORDER BY DESC(?published)
+            LIMIT 100
+        """);
+        return pss.toString();
+    }
+}
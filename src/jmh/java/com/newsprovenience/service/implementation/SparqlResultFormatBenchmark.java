@@ -0,0 +1,78 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.service.dto.SparqlResultFormat;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.ResultSetStream;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.binding.BindingBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serializarea unui SELECT cu forma rezultatelor de căutare, pe 100 și 10k rânduri, în fiecare format suportat.
+ * {@code formatCounted} trece prin numărătoarea de rânduri din metricile sparql.query (costul instrumentării).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparqlResultFormatBenchmark {
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    @Param({"JSON", "XML", "CSV", "TSV"})
+    public SparqlResultFormat format;
+
+    private List<Var> vars;
+    private List<Binding> bindings;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        vars = Var.varList(List.of("article", "title", "language", "wordCount", "published"));
+        bindings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            bindings.add(BindingBuilder.create()
+                    .add(vars.get(0), NodeFactory.createURI("http://example.org/news/article/article-" + i))
+                    .add(vars.get(1), NodeFactory.createLiteral("Elections in Romania, part " + i, "en"))
+                    .add(vars.get(2), NodeFactory.createLiteral("en"))
+                    .add(vars.get(3), NodeFactory.createLiteral(Integer.toString(400 + i % 3000), XSDDatatype.XSDinteger))
+                    .add(vars.get(4), NodeFactory.createLiteral("2024-12-06T10:00:00", XSDDatatype.XSDdateTime))
+                    .build());
+        }
+        out = new ByteArrayOutputStream(rows * 512);
+    }
+
+    @Benchmark
+    public int format() {
+        return write(ResultSetStream.create(vars, bindings.iterator()));
+    }
+
+    @Benchmark
+    public int formatCounted() {
+        return write(SPARQLService.counting(ResultSetStream.create(vars, bindings.iterator()), new AtomicLong()));
+    }
+
+    private int write(ResultSet results) {
+        out.reset();
+        switch (format) {
+            case XML -> ResultSetFormatter.outputAsXML(out, results);
+            case CSV -> ResultSetFormatter.outputAsCSV(out, results);
+            case TSV -> ResultSetFormatter.outputAsTSV(out, results);
+            default -> ResultSetFormatter.outputAsJSON(out, results);
+        }
+        return out.size();
+    }
+}
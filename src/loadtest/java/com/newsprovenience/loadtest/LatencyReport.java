@@ -0,0 +1,114 @@
+package com.newsprovenience.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latențe (HdrHistogram, în microsecunde) și erori per operație, pentru fereastra de măsurare.
+ * Latența se măsoară de la momentul la care cererea <em>trebuia</em> trimisă, nu de la trimiterea efectivă:
+ * dacă generatorul sau aplicația rămân în urmă, întârzierea apare în percentile (fără coordinated omission).
+ */
+class LatencyReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Workload.Operation, Stats> stats = new EnumMap<>(Workload.Operation.class);
+
+    LatencyReport(Iterable<Workload.Operation> operations) {
+        for (Workload.Operation op : operations) stats.put(op, new Stats());
+    }
+
+    void success(Workload.Operation operation, long micros) {
+        Stats s = stats.get(operation);
+        s.latency.recordValue(Math.min(micros, MAX_TRACKABLE_MICROS));
+    }
+
+    /** Răspuns non-2xx sau eroare de transport; latența contează și ea. */
+    void error(Workload.Operation operation, long micros) {
+        Stats s = stats.get(operation);
+        s.errors.increment();
+        s.latency.recordValue(Math.min(micros, MAX_TRACKABLE_MICROS));
+    }
+
+    /** Cerere programată dar netrimisă: prea multe cereri în curs. */
+    void dropped(Workload.Operation operation) {
+        stats.get(operation).dropped.increment();
+    }
+
+    Map<String, Object> summary(Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        Histogram all = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        long errors = 0;
+        long dropped = 0;
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Workload.Operation, Stats> e : stats.entrySet()) {
+            Stats s = e.getValue();
+            Histogram h = s.latency.copy();
+            all.add(h);
+            errors += s.errors.sum();
+            dropped += s.dropped.sum();
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("endpoint", e.getKey().endpoint());
+            endpoint.putAll(figures(h, s.errors.sum(), s.dropped.sum(), seconds));
+            endpoints.put(e.getKey().label(), endpoint);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("measuredSeconds", round(seconds));
+        summary.put("total", figures(all, errors, dropped, seconds));
+        summary.put("endpoints", endpoints);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    static void print(Map<String, Object> summary, PrintStream out) {
+        String row = "%-14s %9s %7s %8s %10s %9s %9s %9s %9s%n";
+        out.printf(row, "operation", "requests", "errors", "dropped", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        Map<String, Object> endpoints = (Map<String, Object>) summary.get("endpoints");
+        endpoints.forEach((label, figures) -> printRow(out, row, label, (Map<String, Object>) figures));
+        printRow(out, row, "total", (Map<String, Object>) summary.get("total"));
+    }
+
+    private static void printRow(PrintStream out, String row, String label, Map<String, Object> f) {
+        out.printf(row, label, f.get("requests"), f.get("errors"), f.get("dropped"), f.get("throughput"),
+                f.get("p50Ms"), f.get("p95Ms"), f.get("p99Ms"), f.get("maxMs"));
+    }
+
+    private static Map<String, Object> figures(Histogram h, long errors, long dropped, double seconds) {
+        Map<String, Object> f = new LinkedHashMap<>();
+        f.put("requests", h.getTotalCount());
+        f.put("errors", errors);
+        f.put("dropped", dropped);
+        f.put("throughput", round(h.getTotalCount() / seconds));
+        f.put("p50Ms", millis(h.getValueAtPercentile(50)));
+        f.put("p95Ms", millis(h.getValueAtPercentile(95)));
+        f.put("p99Ms", millis(h.getValueAtPercentile(99)));
+        f.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+        f.put("maxMs", millis(h.getMaxValue()));
+        return f;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class Stats {
+        final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+    }
+}
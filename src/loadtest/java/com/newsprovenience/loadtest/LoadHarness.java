@@ -0,0 +1,185 @@
+package com.newsprovenience.loadtest;
+
+import com.newsprovenience.NewsProvenienceApplication;
+import com.newsprovenience.support.StubSparqlServer;
+import org.apache.jena.fuseki.main.FusekiServer;
+import org.apache.jena.query.DatasetFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.servlet.Filter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Test de încărcare end-to-end, complet offline: pornește în același proces un Fuseki in-memory
+ * (aplicația vorbește cu el prin transportul HTTP din modul remote), două endpoint-uri SPARQL stub
+ * în locul DBpedia/Wikidata și aplicația pe un port liber. Populează baza prin /api/articles/bulk, apoi trimite
+ * cereri în buclă deschisă, la rata cerută, cu mix-ul de operații din {@link LoadSettings}.
+ *
+ * <pre>mvn -Ploadtest -DskipTests verify -Dloadtest.args="--loadtest.rate=300 --loadtest.duration=PT2M"</pre>
+ *
+ * Raportul (throughput și p50/p95/p99 per endpoint) se scrie la consolă și în {@code --loadtest.result}.
+ * Generatorul rulează în aceeași JVM cu aplicația: cifrele sunt o bază de comparație între versiuni
+ * pe aceeași mașină, nu capacitatea unui server dedicat.
+ */
+public class LoadHarness {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int SEED_CHUNK = 500;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.parse(args);
+        // devtools e pe classpath-ul de test; restart-ul ar porni aplicația a doua oară
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        FusekiServer fuseki = null;
+        ConfigurableApplicationContext app = null;
+        try (StubSparqlServer dbpedia = new StubSparqlServer()
+                     .latency(settings.enrichmentLatency())
+                     .respondWith("resource", List.of("http://dbpedia.org/resource/Romania"));
+             StubSparqlServer wikidata = new StubSparqlServer()
+                     .latency(settings.enrichmentLatency())
+                     .respondWith("item", List.of("http://www.wikidata.org/entity/Q218"))) {
+
+            fuseki = fuseki(settings.fusekiLatency());
+            app = SpringApplication.run(NewsProvenienceApplication.class,
+                    appArgs(settings, fuseki.getHttpPort(), dbpedia.url(), wikidata.url()));
+            URI base = URI.create("http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port") + "/");
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            Workload workload = new Workload(base, settings.mix(), settings.randomSeed());
+
+            seed(client, workload, settings.seedArticles());
+            Map<String, Object> result = run(client, workload, settings);
+
+            System.out.printf("%nTarget rate %d req/s, warmup %s, measured %s%n",
+                    settings.rate(), settings.warmup(), settings.duration());
+            LatencyReport.print(result, System.out);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("settings", settings.describe());
+            report.put("result", result);
+            if (settings.result().getParent() != null) Files.createDirectories(settings.result().getParent());
+            JSON.writerWithDefaultPrettyPrinter().writeValue(settings.result().toFile(), report);
+            System.out.println("Report written to " + settings.result().toAbsolutePath());
+        } finally {
+            if (app != null) app.close();
+            if (fuseki != null) fuseki.stop();
+        }
+    }
+
+    private static FusekiServer fuseki(Duration latency) {
+        FusekiServer.Builder builder = FusekiServer.create()
+                .loopback(true)
+                .port(0)
+                .add("/news", DatasetFactory.createTxnMem());
+        if (!latency.isZero()) builder.addFilter("/*", delay(latency));
+        return builder.build().start();
+    }
+
+    // latența de rețea/disc a unui Fuseki real, adăugată înaintea fiecărei cereri
+    private static Filter delay(Duration latency) {
+        return (request, response, chain) -> {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            chain.doFilter(request, response);
+        };
+    }
+
+    private static String[] appArgs(LoadSettings settings, int fusekiPort, String dbpediaUrl, String wikidataUrl) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--fuseki.mode=remote",
+                "--fuseki.endpoint=http://127.0.0.1:" + fusekiPort,
+                "--fuseki.dataset=news",
+                "--dbpedia.sparql-endpoint=" + dbpediaUrl,
+                "--wikidata.sparql-endpoint=" + wikidataUrl));
+        // argumentele date explicit au prioritate (ultima valoare câștigă)
+        args.addAll(settings.appArgs());
+        return args.toArray(String[]::new);
+    }
+
+    /** Populează baza și așteaptă ca toate grafurile să ajungă în Fuseki, ca citirile să aibă ce găsi. */
+    private static void seed(HttpClient client, Workload workload, int articles) throws IOException, InterruptedException {
+        for (int done = 0; done < articles; done += SEED_CHUNK) {
+            HttpRequest request = HttpRequest.newBuilder(workload.uri("/api/articles/bulk"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(workload.articlesNdjson(Math.min(SEED_CHUNK, articles - done))))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed: HTTP " + response.statusCode() + " " + response.body());
+            }
+        }
+
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        HttpRequest outbox = HttpRequest.newBuilder(workload.uri("/api/articles/outbox")).GET().build();
+        while (true) {
+            JsonNode stats = JSON.readTree(client.send(outbox, HttpResponse.BodyHandlers.ofString()).body());
+            if (stats.path("pending").asLong() == 0) break;
+            if (System.nanoTime() > deadline) throw new IllegalStateException("Graph outbox did not drain: " + stats);
+            Thread.sleep(200);
+        }
+        System.out.printf("Seeded %d articles%n", articles);
+    }
+
+    private static Map<String, Object> run(HttpClient client, Workload workload, LoadSettings settings)
+            throws InterruptedException {
+        LatencyReport warmup = new LatencyReport(settings.mix().keySet());
+        LatencyReport measured = new LatencyReport(settings.mix().keySet());
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) break;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+            Workload.Operation operation = workload.next();
+            HttpRequest request = workload.request(operation);
+            LatencyReport report = intended < measureFrom ? warmup : measured;
+            if (!inFlight.tryAcquire()) {
+                report.dropped(operation);
+                continue;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long micros = (System.nanoTime() - intended) / 1000;
+                inFlight.release();
+                if (error == null && response.statusCode() / 100 == 2) report.success(operation, micros);
+                else report.error(operation, micros);
+            });
+        }
+
+        // cererile încă în curs la final intră și ele în raport
+        if (!inFlight.tryAcquire(settings.maxInFlight(), DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            System.out.println("Warning: requests still in flight after " + DRAIN_TIMEOUT);
+        }
+        return measured.summary(settings.duration());
+    }
+}
@@ -0,0 +1,92 @@
+package com.newsprovenience.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parametrii unei rulări, din argumente {@code --loadtest.*=...}; restul argumentelor ajung la aplicație
+ * (ex. {@code --fuseki.transport.max-connections=64}).
+ *
+ * @param rate          cereri pe secundă, în total (open loop: nu așteaptă răspunsurile)
+ * @param mix           ponderea fiecărei operații din {@link Workload.Operation}
+ * @param maxInFlight   peste atâtea cereri neterminate, cererile programate sunt numărate ca "dropped"
+ */
+record LoadSettings(int rate, Duration warmup, Duration duration, Map<Workload.Operation, Integer> mix,
+                    int seedArticles, long randomSeed, int maxInFlight,
+                    Duration enrichmentLatency, Duration fusekiLatency, Path result, List<String> appArgs) {
+
+    private static final String PREFIX = "--loadtest.";
+
+    static LoadSettings parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("rate", "50");
+        values.put("warmup", "PT10S");
+        values.put("duration", "PT60S");
+        values.put("mix", "create=10,search=40,search-sparql=25,sparql=25");
+        values.put("seed-articles", "500");
+        values.put("random-seed", "42");
+        values.put("max-in-flight", "2000");
+        values.put("enrichment-latency", "PT0.2S");
+        values.put("fuseki-latency", "PT0S");
+        values.put("result", "target/loadtest-result.json");
+
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.isBlank()) continue;
+            if (!arg.startsWith(PREFIX)) {
+                appArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            String key = arg.substring(PREFIX.length(), eq < 0 ? arg.length() : eq);
+            if (!values.containsKey(key)) throw new IllegalArgumentException("Unknown option: " + arg);
+            values.put(key, eq < 0 ? "" : arg.substring(eq + 1));
+        }
+
+        return new LoadSettings(
+                Integer.parseInt(values.get("rate")),
+                Duration.parse(values.get("warmup")),
+                Duration.parse(values.get("duration")),
+                parseMix(values.get("mix")),
+                Integer.parseInt(values.get("seed-articles")),
+                Long.parseLong(values.get("random-seed")),
+                Integer.parseInt(values.get("max-in-flight")),
+                Duration.parse(values.get("enrichment-latency")),
+                Duration.parse(values.get("fuseki-latency")),
+                Path.of(values.get("result")),
+                List.copyOf(appArgs));
+    }
+
+    private static Map<Workload.Operation, Integer> parseMix(String mix) {
+        Map<Workload.Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Invalid mix entry: " + part);
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) weights.put(Workload.Operation.of(kv[0].trim()), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("Empty workload mix: " + mix);
+        return weights;
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> d = new LinkedHashMap<>();
+        d.put("rate", rate);
+        d.put("warmup", warmup.toString());
+        d.put("duration", duration.toString());
+        Map<String, Integer> m = new LinkedHashMap<>();
+        mix.forEach((op, w) -> m.put(op.label(), w));
+        d.put("mix", m);
+        d.put("seedArticles", seedArticles);
+        d.put("randomSeed", randomSeed);
+        d.put("maxInFlight", maxInFlight);
+        d.put("enrichmentLatency", enrichmentLatency.toString());
+        d.put("fusekiLatency", fusekiLatency.toString());
+        d.put("appArgs", appArgs);
+        return d;
+    }
+}
@@ -0,0 +1,164 @@
+package com.newsprovenience.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Cererile trimise de harness, alese după ponderile din {@link LoadSettings#mix()}.
+ * Toate valorile vin dintr-un {@link Random} cu seed fix: două rulări cu aceleași setări trimit aceleași cereri.
+ * Nu e thread-safe; e folosit doar de firul care programează cererile.
+ */
+class Workload {
+
+    enum Operation {
+        CREATE("create", "POST /api/articles"),
+        SEARCH("search", "POST /api/articles/search"),
+        SEARCH_SPARQL("search-sparql", "POST /api/articles/search/sparql"),
+        SPARQL("sparql", "POST /api/sparql");
+
+        private final String label;
+        private final String endpoint;
+
+        Operation(String label, String endpoint) {
+            this.label = label;
+            this.endpoint = endpoint;
+        }
+
+        String label() {
+            return label;
+        }
+
+        String endpoint() {
+            return endpoint;
+        }
+
+        static Operation of(String label) {
+            return Arrays.stream(values()).filter(o -> o.label.equals(label)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + label));
+        }
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final List<String> WORDS = List.of(
+            "election", "climate", "budget", "parliament", "energy", "health", "education", "football",
+            "inflation", "court", "migration", "technology", "startup", "research", "festival", "museum",
+            "railway", "housing", "pension", "vaccine", "drought", "harvest", "reform", "protest",
+            "investigation", "corruption", "satellite", "river", "mountain", "tourism");
+    private static final List<String> LANGUAGES = List.of("en", "ro", "fr", "de");
+    private static final List<String> MEDIA_TYPES = List.of("Article", "Editorial", "Investigation", "Documentary");
+
+    // SELECT-uri ad-hoc tipice pentru /api/sparql; aceleași texte se repetă, deci o parte vin din cache
+    private static final List<String> SPARQL_QUERIES = List.of(
+            """
+            PREFIX schema: <http://schema.org/>
+            SELECT ?article ?title WHERE { GRAPH ?g { ?article a schema:NewsArticle ; schema:headline ?title } } LIMIT 50""",
+            """
+            PREFIX schema: <http://schema.org/>
+            SELECT ?language (COUNT(?article) AS ?n)
+            WHERE { GRAPH ?g { ?article a schema:NewsArticle ; schema:inLanguage ?language } } GROUP BY ?language""",
+            """
+            PREFIX schema: <http://schema.org/>
+            SELECT ?article ?published
+            WHERE { GRAPH ?g { ?article schema:genre "Investigation" ; schema:datePublished ?published } }
+            ORDER BY DESC(?published) LIMIT 20""");
+
+    private final URI base;
+    private final Random random;
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private int sequence;
+
+    Workload(URI base, Map<Operation, Integer> mix, long seed) {
+        this.base = base;
+        this.random = new Random(seed);
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulative[i] = sum;
+        }
+    }
+
+    Operation next() {
+        int r = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case CREATE -> post("/api/articles", article());
+            case SEARCH -> post("/api/articles/search", textSearch());
+            case SEARCH_SPARQL -> post("/api/articles/search/sparql", filterSearch());
+            case SPARQL -> post("/api/sparql", "{\"query\":" + quote(pick(SPARQL_QUERIES)) + "}");
+        };
+    }
+
+    /** NDJSON pentru /api/articles/bulk, folosit la popularea inițială. */
+    String articlesNdjson(int count) {
+        StringBuilder sb = new StringBuilder(count * 256);
+        for (int i = 0; i < count; i++) sb.append(article()).append('\n');
+        return sb.toString();
+    }
+
+    URI uri(String path) {
+        return base.resolve(path);
+    }
+
+    private String article() {
+        int n = ++sequence;
+        String title = capitalize(pick(WORDS)) + " and " + pick(WORDS) + " in focus, report " + n;
+        String description = "Coverage of " + pick(WORDS) + ", " + pick(WORDS) + " and " + pick(WORDS) + ".";
+        LocalDateTime published = LocalDateTime.of(2024, 1, 1, 8, 0).plusHours(random.nextInt(24 * 365));
+        return "{\"title\":" + quote(title)
+                + ",\"description\":" + quote(description)
+                + ",\"content\":" + quote(description.repeat(20))
+                + ",\"language\":" + quote(pick(LANGUAGES))
+                + ",\"mediaType\":" + quote(pick(MEDIA_TYPES))
+                + ",\"wordCount\":" + (200 + random.nextInt(4000))
+                + ",\"publishedDate\":" + quote(published.toString())
+                + ",\"originalUrl\":" + quote("https://news.example/" + n) + "}";
+    }
+
+    private String textSearch() {
+        String language = random.nextInt(3) == 0 ? ",\"language\":" + quote(pick(LANGUAGES)) : "";
+        return "{\"query\":" + quote(pick(WORDS)) + language + ",\"pageSize\":20}";
+    }
+
+    private String filterSearch() {
+        return "{\"language\":" + quote(pick(LANGUAGES))
+                + ",\"mediaType\":" + quote(pick(MEDIA_TYPES))
+                + ",\"maxWords\":" + (1000 + random.nextInt(3000)) + ",\"pageSize\":20}";
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    // valorile sunt generate aici, deci ajunge escaparea ghilimelelor și a liniilor noi
+    private static String quote(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+}
@@ -0,0 +1,61 @@
+package com.newsprovenience.cli;
+
+import com.newsprovenience.service.implementation.RdfDumpService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Dump din linia de comandă, apoi oprește aplicația:
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none \
+ *     --dump.output=corpus.nq.zst [--dump.since=2026-10-01T00:00:00Z] [--dump.compression=gzip|zstd|none]
+ * </pre>
+ * Compresia implicită se deduce din extensie. Watermark-ul pentru următorul {@code --dump.since} apare în log.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "dump.output")
+public class DumpCommand implements ApplicationRunner {
+
+    private final RdfDumpService dumpService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${dump.output}")
+    private String output;
+
+    @Value("${dump.since:}")
+    private String since;
+
+    @Value("${dump.compression:}")
+    private String compression;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        RdfDumpService.Compression codec = compression.isBlank()
+                ? RdfDumpService.Compression.forFile(output)
+                : RdfDumpService.Compression.of(compression);
+        String watermark = dumpService.watermark().toString();
+
+        Path path = Path.of(output);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+            RdfDumpService.DumpStats stats = dumpService.dump(RdfDumpService.parseSince(since), codec, out);
+            log.info("Dump written to {}: {} graphs, {} quads; next --dump.since={}",
+                    path.toAbsolutePath(), stats.graphs(), stats.quads(), watermark);
+        }
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,52 @@
+package com.newsprovenience.cli;
+
+import com.newsprovenience.service.implementation.RdfImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Import RDF din linia de comandă, apoi oprește aplicația (cod 1 dacă importul eșuează):
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none \
+ *     --import.input=corpus.nq.zst [--import.format=nquads] [--import.resume=false]
+ * </pre>
+ * Un import întrerupt se reia de la checkpoint la următoarea rulare cu același fișier.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "import.input")
+public class ImportCommand implements ApplicationRunner {
+
+    private final RdfImportService importService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${import.input}")
+    private String input;
+
+    @Value("${import.format:}")
+    private String format;
+
+    @Value("${import.resume:true}")
+    private boolean resume;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            importService.run(Path.of(input), format, resume);
+        } catch (RuntimeException e) {
+            // detaliile sunt deja în log (RdfImportService)
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,88 @@
+package com.newsprovenience.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latență și volum pe operație pentru cererile HTTP către Fuseki (query, update, gsp-get, gsp-put, gsp-post...).
+ * Meter-ele Micrometer: {@code fuseki.client.requests} (timer, tag-uri operation/outcome),
+ * {@code fuseki.client.request.size} și {@code fuseki.client.response.size} (bytes pe fir, după compresie).
+ */
+public class FusekiTransportMetrics {
+
+    static final String REQUESTS = "fuseki.client.requests";
+    static final String REQUEST_SIZE = "fuseki.client.request.size";
+    static final String RESPONSE_SIZE = "fuseki.client.response.size";
+
+    private final MeterRegistry registry;
+
+    public FusekiTransportMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Până la header-ele răspunsului; corpul e măsurat separat, în {@link #responseBytes}. */
+    void request(String operation, int status, long nanos, long bytesSent) {
+        timer(operation, status / 100 + "xx").record(nanos, TimeUnit.NANOSECONDS);
+        if (bytesSent >= 0) summary(REQUEST_SIZE, operation).record(bytesSent);
+    }
+
+    void failure(String operation, long nanos) {
+        timer(operation, "IO_ERROR").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void responseBytes(String operation, long bytes) {
+        summary(RESPONSE_SIZE, operation).record(bytes);
+    }
+
+    /** Agregat pe operație, pentru /api/sparql/transport. */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> stats = new TreeMap<>();
+        for (Timer t : registry.find(REQUESTS).timers()) {
+            Map<String, Object> op = operation(stats, t.getId().getTag("operation"));
+            long count = t.count();
+            op.merge("requests", count, (a, b) -> (Long) a + (Long) b);
+            if (!t.getId().getTag("outcome").equals("2xx")) {
+                op.merge("errors", count, (a, b) -> (Long) a + (Long) b);
+            }
+            op.merge("totalMs", t.totalTime(TimeUnit.MILLISECONDS), (a, b) -> (Double) a + (Double) b);
+            op.merge("maxMs", t.max(TimeUnit.MILLISECONDS), (a, b) -> Math.max((Double) a, (Double) b));
+        }
+        for (DistributionSummary s : registry.find(REQUEST_SIZE).summaries()) {
+            operation(stats, s.getId().getTag("operation")).put("bytesSent", (long) s.totalAmount());
+        }
+        for (DistributionSummary s : registry.find(RESPONSE_SIZE).summaries()) {
+            operation(stats, s.getId().getTag("operation")).put("bytesReceived", (long) s.totalAmount());
+        }
+        return stats;
+    }
+
+    private static Map<String, Object> operation(Map<String, Map<String, Object>> stats, String name) {
+        return stats.computeIfAbsent(name, k -> {
+            Map<String, Object> op = new TreeMap<>();
+            op.put("requests", 0L);
+            op.put("errors", 0L);
+            op.put("totalMs", 0.0);
+            op.put("maxMs", 0.0);
+            return op;
+        });
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder(REQUESTS)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private DistributionSummary summary(String name, String operation) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
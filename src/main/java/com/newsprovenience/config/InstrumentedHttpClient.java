@@ -0,0 +1,340 @@
+package com.newsprovenience.config;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HttpClient-ul dat lui RDFConnectionRemote: deleagă la un client JDK și adaugă, per cerere,
+ * timeout, compresie (gzip pe upload-urile GSP, Accept-Encoding pe citiri), limita de cereri simultane și metrici.
+ *
+ * <p>Limita se aplică separat citirilor (query, gsp-get) și scrierilor (update, gsp-put/post/delete), ca un SELECT
+ * lent să nu blocheze outbox-ul. Permisul e ținut doar până la header-ele răspunsului: un client care citește încet
+ * un stream de rezultate nu ocupă locul altor cereri. Dacă nu se eliberează un permis în request-timeout,
+ * cererea eșuează cu {@link HttpTimeoutException} în loc să aștepte la nesfârșit.
+ */
+class InstrumentedHttpClient extends HttpClient {
+
+    private static final String UPDATE_CONTENT_TYPE = "application/sparql-update";
+
+    private final HttpClient delegate;
+    private final FusekiTransportMetrics metrics;
+    private final String queryUrl;
+    private final String updateUrl;
+    private final String gspUrl;
+    private final Duration requestTimeout;
+    private final Semaphore readPermits;
+    private final Semaphore writePermits;
+    private final boolean compressRequests;
+    private final boolean acceptCompressed;
+
+    InstrumentedHttpClient(HttpClient delegate, FusekiTransportMetrics metrics,
+                           String queryUrl, String updateUrl, String gspUrl,
+                           Duration requestTimeout, int maxConnections,
+                           boolean compressRequests, boolean acceptCompressed) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.queryUrl = queryUrl;
+        this.updateUrl = updateUrl;
+        this.gspUrl = gspUrl;
+        this.requestTimeout = requestTimeout;
+        this.readPermits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        this.writePermits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        this.compressRequests = compressRequests;
+        this.acceptCompressed = acceptCompressed;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        String operation = operation(request);
+        HttpRequest prepared = prepare(request, operation);
+        Permit permit = acquire(operation);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<T> response = delegate.send(prepared, counting(handler, operation, permit));
+            metrics.request(operation, response.statusCode(), System.nanoTime() - start, bytesSent(prepared));
+            return response;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            permit.release();
+            metrics.failure(operation, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        return sendAsync(request, handler, null);
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                                            HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+        String operation = operation(request);
+        HttpRequest prepared;
+        Permit permit;
+        try {
+            prepared = prepare(request, operation);
+            permit = acquire(operation);
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        return delegate.sendAsync(prepared, counting(handler, operation, permit), pushPromiseHandler)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        permit.release();
+                        metrics.failure(operation, System.nanoTime() - start);
+                    } else {
+                        metrics.request(operation, response.statusCode(), System.nanoTime() - start, bytesSent(prepared));
+                    }
+                });
+    }
+
+    /** query / update / gsp-get / gsp-put / gsp-post / gsp-delete, după endpoint-ul și metoda cererii. */
+    String operation(HttpRequest request) {
+        String uri = request.uri().toString();
+        int q = uri.indexOf('?');
+        String base = q < 0 ? uri : uri.substring(0, q);
+
+        if (base.equals(updateUrl)) return "update";
+        if (base.equals(queryUrl)) return "query";
+        if (base.equals(gspUrl)) return "gsp-" + request.method().toLowerCase(Locale.ROOT);
+        return "other";
+    }
+
+    private HttpRequest prepare(HttpRequest request, String operation) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request, (name, value) -> true);
+        if (requestTimeout != null && request.timeout().isEmpty()) builder.timeout(requestTimeout);
+
+        // HttpLib din Jena decomprimă singur răspunsurile gzip citite ca stream (rezultate, GET pe GSP)
+        if (acceptCompressed && (operation.equals("query") || operation.equals("gsp-get"))) {
+            builder.setHeader("Accept-Encoding", "gzip");
+        }
+
+        Optional<HttpRequest.BodyPublisher> body = request.bodyPublisher();
+        boolean upload = operation.equals("gsp-put") || operation.equals("gsp-post");
+        if (compressRequests && upload && body.isPresent() && !isUpdate(request.headers())) {
+            builder.method(request.method(), HttpRequest.BodyPublishers.ofByteArray(gzip(drain(body.get()))));
+            builder.setHeader("Content-Encoding", "gzip");
+        }
+        return builder.build();
+    }
+
+    private static boolean isUpdate(HttpHeaders headers) {
+        return headers.firstValue("Content-Type").map(t -> t.startsWith(UPDATE_CONTENT_TYPE)).orElse(false);
+    }
+
+    private Permit acquire(String operation) throws IOException, InterruptedException {
+        Semaphore permits = isWrite(operation) ? writePermits : readPermits;
+        if (permits == null) return new Permit(null);
+        if (requestTimeout == null) {
+            permits.acquire();
+        } else if (!permits.tryAcquire(requestTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new HttpTimeoutException("No free Fuseki connection for " + operation + " within " + requestTimeout);
+        }
+        return new Permit(permits);
+    }
+
+    private static boolean isWrite(String operation) {
+        return operation.equals("update") || operation.equals("gsp-put")
+                || operation.equals("gsp-post") || operation.equals("gsp-delete");
+    }
+
+    private static long bytesSent(HttpRequest request) {
+        return request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+    }
+
+    private <T> HttpResponse.BodyHandler<T> counting(HttpResponse.BodyHandler<T> handler, String operation, Permit permit) {
+        // header-ele au sosit: corpul se citește în ritmul consumatorului, fără permis
+        return info -> {
+            permit.release();
+            return new CountingSubscriber<>(handler.apply(info), operation);
+        };
+    }
+
+    /** Numără bytes-ii corpului (așa cum vin pe fir) și îi raportează o singură dată, la sfârșitul lui. */
+    private final class CountingSubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+        private final HttpResponse.BodySubscriber<T> delegate;
+        private final String operation;
+        private final AtomicBoolean reported = new AtomicBoolean();
+        private long bytes;
+
+        CountingSubscriber(HttpResponse.BodySubscriber<T> delegate, String operation) {
+            this.delegate = delegate;
+            this.operation = operation;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    // stream închis înainte de final (ex. ASK, LIMIT citit parțial)
+                    done();
+                    subscription.cancel();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            for (ByteBuffer b : item) bytes += b.remaining();
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done();
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done();
+            delegate.onComplete();
+        }
+
+        private void done() {
+            if (reported.compareAndSet(false, true)) metrics.responseBytes(operation, bytes);
+        }
+    }
+
+    private static final class Permit {
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        /** Idempotent: header-ele și eșecul cererii pot ajunge amândouă aici. */
+        void release() {
+            if (released.compareAndSet(false, true) && semaphore != null) semaphore.release();
+        }
+    }
+
+    // corpurile GSP vin din Jena deja serializate în memorie (ofByteArray), deci colectarea e imediată
+    private static byte[] drain(HttpRequest.BodyPublisher publisher) throws IOException, InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                publisher.contentLength() > 0 ? (int) Math.min(publisher.contentLength(), Integer.MAX_VALUE) : 8192);
+        CompletableFuture<byte[]> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] chunk = new byte[item.remaining()];
+                item.get(chunk);
+                out.write(chunk, 0, chunk.length);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(out.toByteArray());
+            }
+        });
+        try {
+            return done.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Cannot read request body", e.getCause());
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out, 8192)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return delegate.executor();
+    }
+}
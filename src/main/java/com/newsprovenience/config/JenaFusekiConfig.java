@@ -1,23 +1,174 @@
 package com.newsprovenience.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.fuseki.main.FusekiServer;
+import org.apache.jena.query.Dataset;
 import org.apache.jena.rdfconnection.RDFConnection;
 import org.apache.jena.rdfconnection.RDFConnectionRemote;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.tdb2.TDB2;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * fuseki.mode:
+ * - remote (implicit): RDFConnection HTTP către un Fuseki extern;
+ * - tdb2: dataset TDB2 local, persistent, la fuseki.tdb2.location;
+ * - memory: dataset TDB2 în memorie (teste, demo).
+ * În modurile locale, fuseki.embedded-server.enabled expune același dataset, doar pentru citire, printr-un Fuseki embedded.
+ * Transportul HTTP din modul remote (limită de cereri, timeout-uri, compresie, format pe fir) se configurează cu
+ * fuseki.transport.*. Pool-ul de conexiuni al clientului JDK are doar setări JVM-wide, citite o singură dată la încărcarea
+ * clasei, deci se dau ca flag-uri la pornire: -Djdk.httpclient.keepalive.timeout=30 (secunde) și
+ * -Djdk.httpclient.connectionPoolSize=32.
+ */
+@Slf4j
 @Configuration
 public class JenaFusekiConfig {
+
+    private static final String LOCAL_MODE = "'${fuseki.mode:remote}' == 'tdb2' or '${fuseki.mode:remote}' == 'memory'";
+
+    /**
+     * Formatul grafurilor pe fir pentru GSP (PUT/POST/GET) și încărcările de dataset.
+     * Thrift e binar și cel mai rapid de parsat de Fuseki; N-Triples e text, dar fără costul parser-ului Turtle.
+     */
+    enum GraphFormat {
+        THRIFT(RDFFormat.RDF_THRIFT, RDFFormat.RDF_THRIFT,
+                "application/rdf+thrift, application/n-triples;q=0.9, text/turtle;q=0.5, */*;q=0.1",
+                "application/rdf+thrift, application/n-quads;q=0.9, application/trig;q=0.5, */*;q=0.1"),
+        NTRIPLES(RDFFormat.NTRIPLES, RDFFormat.NQUADS,
+                "application/n-triples, text/turtle;q=0.5, */*;q=0.1",
+                "application/n-quads, application/trig;q=0.5, */*;q=0.1"),
+        TURTLE(RDFFormat.TURTLE_BLOCKS, RDFFormat.TRIG_BLOCKS,
+                "text/turtle, application/n-triples;q=0.9, */*;q=0.1",
+                "application/trig, application/n-quads;q=0.9, */*;q=0.1");
+
+        final RDFFormat triples;
+        final RDFFormat quads;
+        final String acceptGraph;
+        final String acceptDataset;
+
+        GraphFormat(RDFFormat triples, RDFFormat quads, String acceptGraph, String acceptDataset) {
+            this.triples = triples;
+            this.quads = quads;
+            this.acceptGraph = acceptGraph;
+            this.acceptDataset = acceptDataset;
+        }
+
+        static GraphFormat of(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported fuseki.transport.graph-format: " + value
+                        + " (thrift, ntriples, turtle)");
+            }
+        }
+    }
+
+    record TransportSettings(HttpClient.Version version, Duration connectTimeout, Duration requestTimeout,
+                             int maxConnections, boolean compressRequests, boolean acceptCompressed,
+                             GraphFormat graphFormat) {
+    }
+
+    /** Fără registry Micrometer în context, metricile rămân doar în /api/sparql/transport. */
+    @Bean
+    public FusekiTransportMetrics fusekiTransportMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new FusekiTransportMetrics(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
     @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "fuseki.mode", havingValue = "remote", matchIfMissing = true)
     public RDFConnection rdfConnection(
+            @Value("${fuseki.dataset-url:${fuseki.endpoint}/${fuseki.dataset}}") String datasetUrl,
             @Value("${fuseki.sparql-query-url}") String queryUrl,
             @Value("${fuseki.sparql-update-url}") String updateUrl,
-            @Value("${fuseki.graph-store-url}") String gspUrl
+            @Value("${fuseki.graph-store-url}") String gspUrl,
+            @Value("${fuseki.transport.http-version:HTTP_2}") String httpVersion,
+            @Value("${fuseki.transport.connect-timeout:PT5S}") Duration connectTimeout,
+            @Value("${fuseki.transport.request-timeout:PT60S}") Duration requestTimeout,
+            @Value("${fuseki.transport.max-connections:32}") int maxConnections,
+            @Value("${fuseki.transport.compress-requests:false}") boolean compressRequests,
+            @Value("${fuseki.transport.accept-compressed:true}") boolean acceptCompressed,
+            @Value("${fuseki.transport.graph-format:thrift}") String graphFormat,
+            FusekiTransportMetrics metrics
     ) {
+        TransportSettings settings = new TransportSettings(
+                HttpClient.Version.valueOf(httpVersion.trim().toUpperCase(Locale.ROOT)),
+                connectTimeout, requestTimeout, maxConnections, compressRequests, acceptCompressed,
+                GraphFormat.of(graphFormat));
+        log.info("Fuseki transport: {}", settings);
+        return remoteConnection(datasetUrl, queryUrl, updateUrl, gspUrl, settings, metrics);
+    }
+
+    static RDFConnection remoteConnection(String datasetUrl, String queryUrl, String updateUrl, String gspUrl,
+                                          TransportSettings settings, FusekiTransportMetrics metrics) {
+        HttpClient jdkClient = HttpClient.newBuilder()
+                .version(settings.version())
+                .connectTimeout(settings.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        HttpClient httpClient = new InstrumentedHttpClient(jdkClient, metrics, queryUrl, updateUrl, gspUrl,
+                settings.requestTimeout(), settings.maxConnections(),
+                settings.compressRequests(), settings.acceptCompressed());
+
+        GraphFormat format = settings.graphFormat();
+        // fără destination, loadDataset (POST N-Quads cu mai multe grafuri, pe endpoint-ul GSP) e refuzat de Jena
         return RDFConnectionRemote.create()
+                .destination(datasetUrl)
                 .queryEndpoint(queryUrl)
                 .updateEndpoint(updateUrl)
                 .gspEndpoint(gspUrl)
+                .httpClient(httpClient)
+                .triplesFormat(format.triples)
+                .quadsFormat(format.quads)
+                .acceptHeaderGraph(format.acceptGraph)
+                .acceptHeaderDataset(format.acceptDataset)
                 .build();
     }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression(LOCAL_MODE)
+    public Dataset localDataset(
+            @Value("${fuseki.mode}") String mode,
+            @Value("${fuseki.tdb2.location:data/tdb2}") String location,
+            @Value("${fuseki.union-default-graph:true}") boolean unionDefaultGraph
+    ) {
+        // TDB2 și pentru modul "memory": tranzacții reale + unionDefaultGraph, ca pe serverul Fuseki
+        Dataset dataset = "tdb2".equals(mode)
+                ? TDB2Factory.connectDataset(location)
+                : TDB2Factory.createDataset();
+        dataset.getContext().set(TDB2.symUnionDefaultGraph, unionDefaultGraph);
+        return dataset;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression(LOCAL_MODE)
+    public RDFConnection localRdfConnection(Dataset localDataset) {
+        return RDFConnection.connect(localDataset);
+    }
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(name = "fuseki.embedded-server.enabled", havingValue = "true")
+    public FusekiServer embeddedFusekiServer(
+            Dataset localDataset,
+            @Value("${fuseki.embedded-server.port:3030}") int port,
+            @Value("${fuseki.dataset}") String datasetName
+    ) {
+        return FusekiServer.create()
+                .port(port)
+                // doar citire: scrierile din afară ar ocoli versiunile din RDFService (cache-ul de rezultate, ETag-urile)
+                .add("/" + datasetName, localDataset, false)
+                .build()
+                .start();
+    }
 }
@@ -0,0 +1,33 @@
+package com.newsprovenience.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint al unui contor din ArticleAnalytics. Rândul TOTAL e rescris la fiecare checkpoint,
+ * deci updatedAt-ul lui e momentul ultimului checkpoint.
+ */
+@Entity
+@Table(name = "analytics_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_analytics_counters_bucket", columnNames = {"dimension", "bucket"})
+})
+@Data
+public class AnalyticsCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AnalyticsDimension dimension;
+
+    @Column(nullable = false, length = 1000)
+    private String bucket;
+
+    private long count;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,25 @@
+package com.newsprovenience.domain;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum AnalyticsDimension {
+    TOTAL,       // un singur bucket (""): numărul de articole
+    LANGUAGE,
+    MEDIA_TYPE,
+    TOPIC,       // un articol intră în bucket-ul fiecărui topic al lui
+    AUTHOR,
+    DAY;         // ziua publicării, yyyy-MM-dd
+
+    /** Numele din URL: language, media-type, topic, author, day. */
+    public String path() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public static AnalyticsDimension of(String path) {
+        return Arrays.stream(values())
+                .filter(d -> d != TOTAL && d.path().equalsIgnoreCase(path))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown dimension: " + path));
+    }
+}
@@ -5,17 +5,24 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+        // paginare keyset pentru căutare (vezi ArticleRepository.findPageWithFilters)
+        @Index(name = "idx_articles_published_id", columnList = "publishedDate DESC, id"),
+        // import RDF: articolele existente se recunosc după URI; unic, ca două articole să nu scrie același graf
+        @Index(name = "idx_articles_uri", columnList = "uri", unique = true)
+})
 @Data
 public class Article {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_seq")
+    @SequenceGenerator(name = "article_seq", sequenceName = "article_seq", allocationSize = 50)
+    private Long id; // pooled sequence -> permite JDBC batch inserts
 
     @NotBlank
     @Column(nullable = false)
@@ -66,17 +73,39 @@ public class Article {
     @Column(length = 500)
     private String originalUrl;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private EnrichmentStatus enrichmentStatus;
+
+    private Integer enrichmentAttempts;
+
+    @Column(length = 1000)
+    private String enrichmentError;
+
+    private LocalDateTime enrichedAt;
+
+    // graful curent e {uri}/graph/v{graphVersion}; versiunile anterioare rămân în Fuseki ca istoric
+    @Column(nullable = false)
+    private int graphVersion = 1;
+
+    private LocalDateTime versionedAt; // momentul în care a fost creată versiunea curentă (de la v2)
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // precizia coloanei TIMESTAMP (µs): entitatea recitită din bază produce aceleași triple (vezi diff-ul din GraphOutbox)
+    public static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = now();
+        updatedAt = createdAt;
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = now();
     }
 }
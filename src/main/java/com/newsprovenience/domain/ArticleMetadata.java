@@ -1,16 +1,24 @@
 package com.newsprovenience.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
 @Table(name = "article_metadata")
 @Data
 public class ArticleMetadata {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_metadata_seq")
+    @SequenceGenerator(name = "article_metadata_seq", sequenceName = "article_metadata_seq", allocationSize = 50)
     private Long id;
 
+    // referința înapoi la articol: Article.metadata -> article -> metadata ar cicla în hashCode/toString/JSON
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne
     @JoinColumn(name = "article_id", nullable = false)
     private Article article;
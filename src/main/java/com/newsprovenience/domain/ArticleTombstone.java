@@ -0,0 +1,38 @@
+package com.newsprovenience.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Urma unui articol șters. Rândul articolului dispare, așa că dump-urile incrementale citesc ștergerile de aici
+ * și le trimit partenerilor (vezi RdfDumpService).
+ */
+@Entity
+@Table(name = "article_tombstones", indexes = {
+        @Index(name = "idx_article_tombstones_deleted_id", columnList = "deletedAt, id")
+})
+@Data
+public class ArticleTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_tombstone_seq")
+    @SequenceGenerator(name = "article_tombstone_seq", sequenceName = "article_tombstone_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String articleUri;
+
+    // grafurile v1..graphVersion au fost șterse odată cu articolul
+    @Column(nullable = false)
+    private int graphVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        deletedAt = Article.now();
+    }
+}
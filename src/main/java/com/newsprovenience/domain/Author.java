@@ -1,7 +1,10 @@
 package com.newsprovenience.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -36,6 +39,10 @@ public class Author {
     @Column(length = 500)
     private String wikidataUri;
 
+    // partea inversă a relației: nu intră în JSON, toString, equals/hashCode (ar încărca lazy / ar cicla)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "author")
     private Set<Article> articles = new HashSet<>();
 }
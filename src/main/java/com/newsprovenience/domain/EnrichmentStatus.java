@@ -0,0 +1,8 @@
+package com.newsprovenience.domain;
+
+public enum EnrichmentStatus {
+    PENDING,   // în coadă, cu reîncercare programată sau în așteptarea sweep-ului
+    RUNNING,
+    DONE,
+    FAILED     // a epuizat toate reîncercările
+}
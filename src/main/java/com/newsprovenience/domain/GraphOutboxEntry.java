@@ -0,0 +1,52 @@
+package com.newsprovenience.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * O scriere de graf în Fuseki, salvată în aceeași tranzacție cu rândul din baza de date
+ * și aplicată după commit de GraphOutboxDispatcher. Pentru același graf, ordinea e cea a id-urilor.
+ */
+@Entity
+@Table(name = "graph_outbox", indexes = {
+        @Index(name = "idx_graph_outbox_graph_id", columnList = "graphUri, id")
+})
+@Data
+public class GraphOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "graph_outbox_seq")
+    @SequenceGenerator(name = "graph_outbox_seq", sequenceName = "graph_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 1000)
+    private String graphUri;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private GraphWriteOperation operation;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // N-Triples
+
+    @Column(columnDefinition = "TEXT")
+    private String removals; // N-Triples, doar pentru PATCH
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) nextAttemptAt = createdAt;
+    }
+}
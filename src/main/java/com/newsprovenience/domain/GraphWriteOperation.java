@@ -0,0 +1,7 @@
+package com.newsprovenience.domain;
+
+public enum GraphWriteOperation {
+    REPLACE, // graful devine exact payload-ul (PUT)
+    ADD,     // payload-ul se adaugă la graf (POST)
+    PATCH    // se șterg triplele din removals, apoi se adaugă payload-ul (DELETE DATA + INSERT DATA)
+}
@@ -1,7 +1,10 @@
 package com.newsprovenience.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -26,6 +29,10 @@ public class Topic {
     @Column(length = 500)
     private String dbpediaUri;
 
+    // lista inversă poate avea mii de articole: nu o serializăm și nu o folosim în equals/hashCode
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToMany(mappedBy = "topics")
     private Set<Article> articles = new HashSet<>();
 }
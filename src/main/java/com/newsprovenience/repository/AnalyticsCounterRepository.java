@@ -0,0 +1,7 @@
+package com.newsprovenience.repository;
+
+import com.newsprovenience.domain.AnalyticsCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AnalyticsCounterRepository extends JpaRepository<AnalyticsCounter, Long> {
+}
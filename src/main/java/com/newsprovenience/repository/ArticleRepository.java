@@ -1,11 +1,20 @@
 package com.newsprovenience.repository;
 
 import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.EnrichmentStatus;
+import com.newsprovenience.service.dto.ArticleSummaryDTO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,22 +22,51 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
 
     Optional<Article> findByUri(String uri);
 
+    // actualizările aceluiași articol se serializează: diff-ul grafului e calculat față de starea anterioară
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Article a WHERE a.id = :id")
+    Optional<Article> findByIdForUpdate(@Param("id") Long id);
+
     List<Article> findByLanguage(String language);
 
     List<Article> findByMediaType(String mediaType);
 
-    @Query("SELECT a FROM Article a WHERE " +
-            "LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(a.description) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Article> searchArticles(@Param("query") String query);
-
-    @Query("SELECT a FROM Article a WHERE " +
-            "(:language IS NULL OR a.language = :language) AND " +
+    String FILTERS = "(:language IS NULL OR a.language = :language) AND " +
             "(:mediaType IS NULL OR a.mediaType = :mediaType) AND " +
             "(:maxWords IS NULL OR a.wordCount <= :maxWords) AND " +
             "(:dateFrom IS NULL OR a.publishedDate >= :dateFrom) AND " +
-            "(:dateTo IS NULL OR a.publishedDate <= :dateTo)")
-    List<Article> findWithFilters(
+            "(:dateTo IS NULL OR a.publishedDate <= :dateTo)";
+
+    // proiecție pentru rezultate de căutare: fără content, autorul printr-un singur LEFT JOIN
+    String SUMMARY = "SELECT new com.newsprovenience.service.dto.ArticleSummaryDTO(" +
+            "a.id, a.uri, a.title, SUBSTRING(a.description, 1, 300), a.language, a.mediaType, " +
+            "a.wordCount, a.publishedDate, au.name) " +
+            "FROM Article a LEFT JOIN a.author au ";
+
+    /**
+     * Paginare keyset pe (publishedDate DESC, id); articolele fără dată vin la final.
+     * cursorMode: 0 = prima pagină, 1 = după un articol cu dată, 2 = după un articol fără dată.
+     */
+    @Query(SUMMARY + "WHERE " + FILTERS + " AND (" +
+            ":cursorMode = 0 OR " +
+            "(:cursorMode = 1 AND (a.publishedDate < :afterDate OR " +
+            "(a.publishedDate = :afterDate AND a.id > :afterId) OR a.publishedDate IS NULL)) OR " +
+            "(:cursorMode = 2 AND a.publishedDate IS NULL AND a.id > :afterId)) " +
+            "ORDER BY a.publishedDate DESC NULLS LAST, a.id")
+    List<ArticleSummaryDTO> findPageWithFilters(
+            @Param("language") String language,
+            @Param("mediaType") String mediaType,
+            @Param("maxWords") Integer maxWords,
+            @Param("dateFrom") LocalDateTime dateFrom,
+            @Param("dateTo") LocalDateTime dateTo,
+            @Param("cursorMode") int cursorMode,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    @Query("SELECT COUNT(a) FROM Article a WHERE " + FILTERS)
+    long countWithFilters(
             @Param("language") String language,
             @Param("mediaType") String mediaType,
             @Param("maxWords") Integer maxWords,
@@ -36,6 +74,93 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
             @Param("dateTo") LocalDateTime dateTo
     );
 
+    @Query(SUMMARY + "WHERE a.id IN :ids")
+    List<ArticleSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // [articleId, topicName] pentru o pagină întreagă de rezultate, într-un singur query
+    @Query("SELECT a.id, t.name FROM Article a JOIN a.topics t WHERE a.id IN :ids")
+    List<Object[]> findTopicNamesByArticleIdIn(@Param("ids") Collection<Long> ids);
+
+    // Încărcare în lot pentru conversia în RDF: câte un query per asociere (nu un singur JOIN FETCH pe toate,
+    // care ar produce produs cartezian). Toate rulează în aceeași sesiune și completează aceleași entități.
+    @Query("SELECT a FROM Article a LEFT JOIN FETCH a.author WHERE a.id IN :ids")
+    List<Article> fetchWithAuthor(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT a FROM Article a LEFT JOIN FETCH a.topics WHERE a.id IN :ids")
+    List<Article> fetchTopics(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT a FROM Article a LEFT JOIN FETCH a.metadata WHERE a.id IN :ids")
+    List<Article> fetchMetadata(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT a FROM Article a LEFT JOIN FETCH a.sources WHERE a.id IN :ids")
+    List<Article> fetchSources(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.uri FROM Article a WHERE a.uri IN :uris")
+    List<String> findExistingUris(@Param("uris") Collection<String> uris);
+
+    @Query("SELECT a.id FROM Article a WHERE a.id > :afterId ORDER BY a.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // dump: (id, uri, graphVersion) în ordinea id-ului; cu since != null doar articolele modificate sau îmbogățite după since
+    @Query("SELECT a.id, a.uri, a.graphVersion FROM Article a WHERE a.id > :afterId " +
+            "AND (:since IS NULL OR a.updatedAt > :since OR a.enrichedAt > :since) ORDER BY a.id")
+    List<Object[]> findGraphRefsAfter(@Param("afterId") Long afterId, @Param("since") LocalDateTime since,
+                                      Limit limit);
+
+    // reconstruirea contoarelor din analytics: [bucket, count], cu NULL pentru articolele fără valoare
+    @Query("SELECT a.language, COUNT(a) FROM Article a GROUP BY a.language")
+    List<Object[]> countByLanguage();
+
+    @Query("SELECT a.mediaType, COUNT(a) FROM Article a GROUP BY a.mediaType")
+    List<Object[]> countByMediaType();
+
+    @Query("SELECT t.name, COUNT(a) FROM Article a JOIN a.topics t GROUP BY t.name")
+    List<Object[]> countByTopic();
+
+    @Query("SELECT au.name, COUNT(a) FROM Article a LEFT JOIN a.author au GROUP BY au.name")
+    List<Object[]> countByAuthor();
+
+    @Query("SELECT CAST(a.publishedDate AS LocalDate), COUNT(a) FROM Article a GROUP BY CAST(a.publishedDate AS LocalDate)")
+    List<Object[]> countByPublishedDay();
+
+    boolean existsByUpdatedAtAfter(LocalDateTime time);
+
     @Query("SELECT a FROM Article a JOIN a.topics t WHERE t.name = :topicName")
     List<Article> findByTopicName(@Param("topicName") String topicName);
+
+    // import: o versiune mai nouă a grafului unui articol existent devine versiunea curentă
+    @Transactional
+    @Modifying
+    @Query("UPDATE Article a SET a.graphVersion = :version WHERE a.uri = :uri AND a.graphVersion < :version")
+    int raiseGraphVersion(@Param("uri") String uri, @Param("version") int version);
+
+    // reluarea îmbogățirii la pornire: (id, uri, title, graphVersion) în ordinea id-ului, până la maxId
+    @Query("SELECT a.id, a.uri, a.title, a.graphVersion FROM Article a WHERE a.enrichmentStatus IN :statuses " +
+            "AND a.id > :afterId AND a.id <= :maxId ORDER BY a.id")
+    List<Object[]> findEnrichmentRefsAfter(@Param("statuses") Collection<EnrichmentStatus> statuses,
+                                           @Param("afterId") Long afterId, @Param("maxId") Long maxId, Limit limit);
+
+    // rematerializare: articolele îmbogățite își pierd legăturile odată cu graful și reintră în coadă prin sweep
+    @Modifying
+    @Query("UPDATE Article a SET a.enrichmentStatus = :to, a.enrichmentAttempts = 0, a.enrichmentError = NULL " +
+            "WHERE a.id IN :ids AND a.enrichmentStatus = :from")
+    int resetEnrichmentStatus(@Param("ids") Collection<Long> ids, @Param("from") EnrichmentStatus from,
+                              @Param("to") EnrichmentStatus to);
+
+    @Query("SELECT MAX(a.id) FROM Article a")
+    Long findMaxId();
+
+    // Update direct (fără @PreUpdate): starea îmbogățirii nu e o modificare editorială a articolului.
+    // Tranzacție proprie: e apelat și din listener-e AFTER_COMMIT, unde tranzacția curentă e deja comisă
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE Article a SET a.enrichmentStatus = :status, a.enrichmentAttempts = :attempts, " +
+            "a.enrichmentError = :error, a.enrichedAt = :enrichedAt WHERE a.id = :id")
+    int updateEnrichmentState(
+            @Param("id") Long id,
+            @Param("status") EnrichmentStatus status,
+            @Param("attempts") Integer attempts,
+            @Param("error") String error,
+            @Param("enrichedAt") LocalDateTime enrichedAt
+    );
 }
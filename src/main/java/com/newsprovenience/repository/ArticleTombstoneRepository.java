@@ -0,0 +1,14 @@
+package com.newsprovenience.repository;
+
+import com.newsprovenience.domain.ArticleTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArticleTombstoneRepository extends JpaRepository<ArticleTombstone, Long> {
+
+    // dump incremental: ștergerile de după since, keyset pe id
+    List<ArticleTombstone> findByDeletedAtAfterAndIdGreaterThanOrderById(LocalDateTime since, Long afterId, Limit limit);
+}
@@ -0,0 +1,12 @@
+package com.newsprovenience.repository;
+
+import com.newsprovenience.domain.Author;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AuthorRepository extends JpaRepository<Author, Long> {
+
+    List<Author> findByUriIn(Collection<String> uris);
+}
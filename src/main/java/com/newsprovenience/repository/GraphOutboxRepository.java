@@ -0,0 +1,54 @@
+package com.newsprovenience.repository;
+
+import com.newsprovenience.domain.GraphOutboxEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface GraphOutboxRepository extends JpaRepository<GraphOutboxEntry, Long> {
+
+    /**
+     * Intrările scadente, în ordinea id-urilor. Un graf cu o intrare mai veche încă în backoff sau moartă
+     * (attempts >= max) e sărit cu totul, ca scrierile lui să nu se aplice în altă ordine: o intrare moartă
+     * blochează graful până e reluată ({@link #reviveDead}) sau aruncată ({@link #deleteDead}).
+     */
+    @Query("SELECT e FROM GraphOutboxEntry e WHERE e.nextAttemptAt <= :now AND e.attempts < :maxAttempts " +
+            "AND NOT EXISTS (SELECT 1 FROM GraphOutboxEntry b WHERE b.graphUri = e.graphUri AND b.id < e.id " +
+            "AND (b.nextAttemptAt > :now OR b.attempts >= :maxAttempts)) " +
+            "ORDER BY e.id")
+    List<GraphOutboxEntry> findDispatchable(@Param("now") LocalDateTime now,
+                                            @Param("maxAttempts") int maxAttempts,
+                                            Limit limit);
+
+    List<GraphOutboxEntry> findByGraphUriOrderById(String graphUri);
+
+    long countByAttemptsLessThan(int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+
+    @Query("SELECT MIN(e.createdAt) FROM GraphOutboxEntry e WHERE e.attempts < :maxAttempts")
+    LocalDateTime findOldestPending(@Param("maxAttempts") int maxAttempts);
+
+    // inclusiv intrările moarte: nici ele n-au ajuns în Fuseki
+    @Query("SELECT MIN(e.createdAt) FROM GraphOutboxEntry e")
+    LocalDateTime findOldestUndispatched();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE GraphOutboxEntry e SET e.attempts = 0, e.nextAttemptAt = :now WHERE e.attempts >= :maxAttempts")
+    int reviveDead(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts);
+
+    @Query("SELECT DISTINCT e.graphUri FROM GraphOutboxEntry e WHERE e.attempts >= :maxAttempts")
+    List<String> findDeadGraphUris(@Param("maxAttempts") int maxAttempts);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GraphOutboxEntry e WHERE e.attempts >= :maxAttempts")
+    int deleteDead(@Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,15 @@
+package com.newsprovenience.repository;
+
+import com.newsprovenience.domain.Topic;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TopicRepository extends JpaRepository<Topic, Long> {
+
+    List<Topic> findByUriIn(Collection<String> uris);
+
+    // numele e unic: un topic cu alt URI dar același nume e tot topicul existent
+    List<Topic> findByNameIn(Collection<String> names);
+}
@@ -0,0 +1,12 @@
+package com.newsprovenience.service.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ArticleSearchPage {
+    private List<ArticleSummaryDTO> items;
+    private String nextCursor; // null = ultima pagină
+    private Long total;        // doar dacă s-a cerut includeTotal
+}
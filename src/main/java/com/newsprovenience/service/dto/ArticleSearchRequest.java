@@ -14,4 +14,9 @@ public class ArticleSearchRequest {
     private String topic;
     private LocalDateTime dateFrom;
     private LocalDateTime dateTo;
+
+    // paginare keyset
+    private Integer pageSize;
+    private String cursor; // token opac primit ca nextCursor în pagina anterioară
+    private boolean includeTotal;
 }
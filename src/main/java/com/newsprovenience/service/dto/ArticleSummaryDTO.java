@@ -0,0 +1,40 @@
+package com.newsprovenience.service.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rând de rezultat pentru căutare: fără content și fără relații lazy.
+ * Construit direct din JPQL (vezi ArticleRepository); topic-urile se completează cu un query separat per pagină.
+ */
+@Data
+@NoArgsConstructor
+public class ArticleSummaryDTO {
+    private Long id;
+    private String uri;
+    private String title;
+    private String snippet; // începutul descrierii
+    private String language;
+    private String mediaType;
+    private Integer wordCount;
+    private LocalDateTime publishedDate;
+    private String authorName;
+    private List<String> topics = new ArrayList<>();
+
+    public ArticleSummaryDTO(Long id, String uri, String title, String snippet, String language, String mediaType,
+                             Integer wordCount, LocalDateTime publishedDate, String authorName) {
+        this.id = id;
+        this.uri = uri;
+        this.title = title;
+        this.snippet = snippet;
+        this.language = language;
+        this.mediaType = mediaType;
+        this.wordCount = wordCount;
+        this.publishedDate = publishedDate;
+        this.authorName = authorName;
+    }
+}
@@ -0,0 +1,13 @@
+package com.newsprovenience.service.dto;
+
+import lombok.Data;
+
+@Data
+public class ArticleUpdateResponse {
+    private Long articleId;
+    private String graphUri;
+    private Integer graphVersion;
+    private String previousGraphUri; // diferit de graphUri doar când s-a creat o versiune nouă
+    private Long triplesRemoved;
+    private Long triplesAdded;
+}
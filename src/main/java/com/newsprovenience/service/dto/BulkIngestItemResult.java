@@ -0,0 +1,27 @@
+package com.newsprovenience.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestItemResult {
+
+    public enum Status { CREATED, FAILED }
+
+    private int index; // poziția în fluxul de intrare (0-based)
+    private Status status;
+    private Long id;
+    private String uri;
+    private String error;
+
+    public static BulkIngestItemResult created(int index, Long id, String uri) {
+        return new BulkIngestItemResult(index, Status.CREATED, id, uri, null);
+    }
+
+    public static BulkIngestItemResult failed(int index, String error) {
+        return new BulkIngestItemResult(index, Status.FAILED, null, null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package com.newsprovenience.service.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkIngestResponse {
+    private int received;
+    private int created;
+    private int failed;
+    private List<BulkIngestItemResult> items = new ArrayList<>();
+
+    public void add(BulkIngestItemResult item) {
+        items.add(item);
+        received++;
+        if (item.getStatus() == BulkIngestItemResult.Status.CREATED) created++;
+        else failed++;
+    }
+}
@@ -0,0 +1,15 @@
+package com.newsprovenience.service.dto;
+
+import com.newsprovenience.domain.EnrichmentStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class EnrichmentStatusDTO {
+    private Long articleId;
+    private EnrichmentStatus status;
+    private Integer attempts;
+    private String error;
+    private LocalDateTime enrichedAt;
+}
@@ -0,0 +1,31 @@
+package com.newsprovenience.service.dto;
+
+import org.springframework.http.MediaType;
+
+public enum SparqlResultFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    XML(MediaType.valueOf("application/sparql-results+xml")),
+    CSV(MediaType.valueOf("text/csv")),
+    TSV(MediaType.valueOf("text/tab-separated-values"));
+
+    private final MediaType mediaType;
+
+    SparqlResultFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /** json (implicit), xml, csv, tsv - case-insensitive. */
+    public static SparqlResultFormat of(String format) {
+        if (format == null) return JSON;
+        return switch (format.toLowerCase()) {
+            case "xml" -> XML;
+            case "csv" -> CSV;
+            case "tsv" -> TSV;
+            default -> JSON;
+        };
+    }
+}
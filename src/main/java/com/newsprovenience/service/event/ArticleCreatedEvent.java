@@ -0,0 +1,14 @@
+package com.newsprovenience.service.event;
+
+import com.newsprovenience.domain.Article;
+
+/**
+ * Publicat după ce articolul și graful v1 (în outbox) au fost scrise; listenerii rulează după commit.
+ * bulk: articolul vine din ingestia în loturi, unde listenerii nu trebuie să blocheze firul cererii.
+ */
+public record ArticleCreatedEvent(Article article, String graphUri, boolean bulk) {
+
+    public ArticleCreatedEvent(Article article, String graphUri) {
+        this(article, graphUri, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.newsprovenience.service.event;
+
+/**
+ * Publicat după ce articolul a fost șters și DROP-ul grafurilor lui a intrat în outbox; listenerii rulează după commit.
+ */
+public record ArticleDeletedEvent(Long articleId, String articleUri, ArticleFacts facts) {
+}
@@ -0,0 +1,25 @@
+package com.newsprovenience.service.event;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.Topic;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Valorile după care e numărat un articol în analytics. Capturate în tranzacție (autorul și topic-urile
+ * trebuie să fie încărcate), ca listenerii de după commit să poată scădea starea veche a articolului.
+ *
+ * @param day ziua publicării (yyyy-MM-dd) sau null
+ */
+public record ArticleFacts(String language, String mediaType, String author, Set<String> topics, String day) {
+
+    public static ArticleFacts of(Article article) {
+        return new ArticleFacts(
+                article.getLanguage(),
+                article.getMediaType(),
+                article.getAuthor() == null ? null : article.getAuthor().getName(),
+                article.getTopics().stream().map(Topic::getName).collect(Collectors.toUnmodifiableSet()),
+                article.getPublishedDate() == null ? null : article.getPublishedDate().toLocalDate().toString());
+    }
+}
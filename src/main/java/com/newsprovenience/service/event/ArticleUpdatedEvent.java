@@ -0,0 +1,11 @@
+package com.newsprovenience.service.event;
+
+import com.newsprovenience.domain.Article;
+
+/**
+ * Publicat după ce modificarea articolului și a grafului (în outbox) au fost scrise; listenerii rulează după commit.
+ * {@code graphUri} e graful versiunii curente (nou, dacă actualizarea a creat o versiune);
+ * {@code previous} sunt valorile articolului dinaintea modificării.
+ */
+public record ArticleUpdatedEvent(Article article, String graphUri, ArticleFacts previous) {
+}
@@ -0,0 +1,301 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.AnalyticsCounter;
+import com.newsprovenience.domain.AnalyticsDimension;
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.repository.AnalyticsCounterRepository;
+import com.newsprovenience.repository.ArticleRepository;
+import com.newsprovenience.service.event.ArticleCreatedEvent;
+import com.newsprovenience.service.event.ArticleDeletedEvent;
+import com.newsprovenience.service.event.ArticleFacts;
+import com.newsprovenience.service.event.ArticleUpdatedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contoare de articole pe limbă, tip media, topic, autor și zi, ținute în memorie și actualizate
+ * după commit-ul fiecărei creări, modificări sau ștergeri. Citirile nu ating baza de date.
+ *
+ * <p>Bucket-urile modificate se salvează periodic în analytics_counters; la pornire contoarele se încarcă
+ * de acolo, iar dacă checkpoint-ul e în urma bazei (număr diferit de articole sau articole modificate după el)
+ * se reconstruiesc cu câte un GROUP BY per dimensiune.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleAnalytics {
+
+    static final String UNKNOWN = "unknown";
+    private static final String TOTAL_BUCKET = "";
+
+    private final ArticleRepository articleRepository;
+    private final AnalyticsCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<AnalyticsDimension, Map<String, LongAdder>> counters = newCounters();
+    private final Set<Bucket> dirty = ConcurrentHashMap.newKeySet();
+
+    // actualizările incrementale țin read lock-ul (rulează în paralel); rebuild-ul și load-ul țin write lock-ul
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean replaceCheckpoint;
+    private volatile LocalDateTime checkpointedAt;
+
+    record Bucket(AnalyticsDimension dimension, String key) {
+    }
+
+    // -------------------------
+    // Actualizare incrementală
+    // -------------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        created(List.of(event.article()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleUpdated(ArticleUpdatedEvent event) {
+        ArticleFacts current = ArticleFacts.of(event.article());
+        if (current.equals(event.previous())) return;
+        apply(event.previous(), -1);
+        apply(current, 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+        apply(event.facts(), -1);
+    }
+
+    /** Pentru articolele scrise fără eveniment (ex. importul RDF). */
+    public void created(Collection<Article> articles) {
+        for (Article article : articles) apply(ArticleFacts.of(article), 1);
+    }
+
+    void apply(ArticleFacts facts, int delta) {
+        lock.readLock().lock();
+        try {
+            add(AnalyticsDimension.TOTAL, TOTAL_BUCKET, delta);
+            add(AnalyticsDimension.LANGUAGE, bucket(facts.language()), delta);
+            add(AnalyticsDimension.MEDIA_TYPE, bucket(facts.mediaType()), delta);
+            add(AnalyticsDimension.AUTHOR, bucket(facts.author()), delta);
+            add(AnalyticsDimension.DAY, bucket(facts.day()), delta);
+            for (String topic : facts.topics()) add(AnalyticsDimension.TOPIC, topic, delta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(AnalyticsDimension dimension, String key, long delta) {
+        counters.get(dimension).computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        dirty.add(new Bucket(dimension, key));
+    }
+
+    private static String bucket(String value) {
+        return value == null || value.isBlank() ? UNKNOWN : value;
+    }
+
+    // -------------------------
+    // Citire
+    // -------------------------
+
+    public long total() {
+        return count(AnalyticsDimension.TOTAL, TOTAL_BUCKET);
+    }
+
+    public long count(AnalyticsDimension dimension, String key) {
+        LongAdder adder = counters.get(dimension).get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Bucket-urile nenule ale dimensiunii: zilele în ordine cronologică, restul descrescător după număr.
+     *
+     * @param limit null = toate
+     */
+    public Map<String, Long> counts(AnalyticsDimension dimension, Integer limit) {
+        Comparator<Map.Entry<String, Long>> order = dimension == AnalyticsDimension.DAY
+                ? Map.Entry.comparingByKey()
+                : Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.get(dimension).entrySet().stream()
+                .map(e -> Map.entry(e.getKey(), e.getValue().sum()))
+                .filter(e -> e.getValue() > 0)
+                .sorted(order)
+                .limit(limit == null ? Long.MAX_VALUE : Math.max(0, limit))
+                .forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalArticles", total());
+        Map<String, Integer> buckets = new LinkedHashMap<>();
+        for (AnalyticsDimension dimension : AnalyticsDimension.values()) {
+            if (dimension == AnalyticsDimension.TOTAL) continue;
+            buckets.put(dimension.path(), (int) counters.get(dimension).values().stream().filter(a -> a.sum() > 0).count());
+        }
+        stats.put("buckets", buckets);
+        stats.put("checkpointedAt", checkpointedAt);
+        stats.put("pendingCheckpoint", dirty.size());
+        return stats;
+    }
+
+    // -------------------------
+    // Checkpoint, încărcare și reconstruire
+    // -------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<Bucket, Long> saved = new HashMap<>();
+        LocalDateTime savedAt = null;
+        for (AnalyticsCounter c : counterRepository.findAll()) {
+            saved.put(new Bucket(c.getDimension(), c.getBucket()), c.getCount());
+            if (c.getDimension() == AnalyticsDimension.TOTAL) savedAt = c.getUpdatedAt();
+        }
+
+        Long savedTotal = saved.get(new Bucket(AnalyticsDimension.TOTAL, TOTAL_BUCKET));
+        if (savedAt == null || savedTotal != articleRepository.count() || articleRepository.existsByUpdatedAtAfter(savedAt)) {
+            rebuild();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            counters.values().forEach(Map::clear);
+            saved.forEach((b, count) -> counters.get(b.dimension()).computeIfAbsent(b.key(), k -> new LongAdder()).add(count));
+            dirty.clear();
+            checkpointedAt = savedAt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Analytics counters loaded from checkpoint of {} ({} articles)", savedAt, savedTotal);
+    }
+
+    /** Contoarele recalculate din baza de date; checkpoint-ul următor înlocuiește toate rândurile salvate. */
+    public Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            Map<AnalyticsDimension, Map<String, LongAdder>> fresh = newCounters();
+            fresh.get(AnalyticsDimension.TOTAL).computeIfAbsent(TOTAL_BUCKET, k -> new LongAdder()).add(articleRepository.count());
+            fill(fresh.get(AnalyticsDimension.LANGUAGE), articleRepository.countByLanguage());
+            fill(fresh.get(AnalyticsDimension.MEDIA_TYPE), articleRepository.countByMediaType());
+            fill(fresh.get(AnalyticsDimension.TOPIC), articleRepository.countByTopic());
+            fill(fresh.get(AnalyticsDimension.AUTHOR), articleRepository.countByAuthor());
+            fill(fresh.get(AnalyticsDimension.DAY), articleRepository.countByPublishedDay());
+
+            fresh.forEach((dimension, buckets) -> {
+                counters.get(dimension).clear();
+                counters.get(dimension).putAll(buckets);
+            });
+            dirty.clear();
+            replaceCheckpoint = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        checkpoint();
+
+        Map<String, Object> result = stats();
+        result.put("millis", System.currentTimeMillis() - start);
+        log.info("Analytics counters rebuilt: {} articles in {} ms", total(), result.get("millis"));
+        return result;
+    }
+
+    private static void fill(Map<String, LongAdder> buckets, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            String key = bucket(row[0] == null ? null : row[0].toString());
+            buckets.computeIfAbsent(key, k -> new LongAdder()).add((Long) row[1]);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.checkpoint-interval:PT30S}")
+    public void checkpoint() {
+        if (dirty.isEmpty() && !replaceCheckpoint) return;
+
+        boolean replace;
+        Map<Bucket, Long> values = new HashMap<>();
+        // snapshot sub write lock: bucket-urile scoase din dirty au exact valoarea salvată
+        lock.writeLock().lock();
+        try {
+            replace = replaceCheckpoint;
+            if (replace) {
+                counters.forEach((dimension, buckets) -> buckets.forEach((key, adder) -> values.put(new Bucket(dimension, key), adder.sum())));
+            } else {
+                for (Bucket b : dirty) values.put(b, count(b.dimension(), b.key()));
+            }
+            values.put(new Bucket(AnalyticsDimension.TOTAL, TOTAL_BUCKET), total());
+            dirty.clear();
+            replaceCheckpoint = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // rândurile sunt câte bucket-uri există (zile, autori...), nu câte articole
+                Map<Bucket, AnalyticsCounter> rows = new HashMap<>();
+                if (replace) {
+                    counterRepository.deleteAllInBatch();
+                } else {
+                    counterRepository.findAll().forEach(c -> rows.put(new Bucket(c.getDimension(), c.getBucket()), c));
+                }
+                values.forEach((b, count) -> save(rows.get(b), b, count, now));
+            });
+            checkpointedAt = now;
+        } catch (RuntimeException e) {
+            // bucket-urile rămân de salvat la următorul checkpoint
+            dirty.addAll(values.keySet());
+            if (replace) replaceCheckpoint = true;
+            log.warn("Analytics checkpoint failed: {}", e.getMessage());
+        }
+    }
+
+    private void save(AnalyticsCounter row, Bucket b, long count, LocalDateTime now) {
+        if (count == 0 && b.dimension() != AnalyticsDimension.TOTAL) {
+            if (row != null) counterRepository.delete(row);
+            return;
+        }
+        if (row == null) {
+            row = new AnalyticsCounter();
+            row.setDimension(b.dimension());
+            row.setBucket(b.key());
+        }
+        row.setCount(count);
+        row.setUpdatedAt(now);
+        counterRepository.save(row);
+    }
+
+    @PreDestroy
+    void flush() {
+        checkpoint();
+    }
+
+    private static Map<AnalyticsDimension, Map<String, LongAdder>> newCounters() {
+        Map<AnalyticsDimension, Map<String, LongAdder>> counters = new EnumMap<>(AnalyticsDimension.class);
+        for (AnalyticsDimension dimension : AnalyticsDimension.values()) counters.put(dimension, new ConcurrentHashMap<>());
+        return counters;
+    }
+}
@@ -0,0 +1,39 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Încarcă N articole cu tot ce citește {@link RDFService#articleToRDF} (autor, topics, metadata, surse)
+ * într-un număr fix de query-uri (4), indiferent de N. Entitățile întoarse nu mai au nimic lazy de încărcat.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleGraphLoader {
+
+    private final ArticleRepository articleRepository;
+
+    @Transactional(readOnly = true)
+    public List<Article> load(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, Article> byId = articleRepository.fetchWithAuthor(ids).stream()
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+        articleRepository.fetchTopics(ids);
+        articleRepository.fetchMetadata(ids);
+        articleRepository.fetchSources(ids);
+
+        // aceeași ordine ca ids
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,307 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.ArticleMetadata;
+import com.newsprovenience.domain.Author;
+import com.newsprovenience.domain.Topic;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Mapare Article -> RDF scrisă direct într-un {@link StreamRDF}: un Model/Graph, un fișier sau un upload.
+ * Aceleași triple ca varianta bazată pe Model, dar fără Resource/Property intermediare: termenii de vocabular
+ * vin din {@link RdfVocabulary}, deci per articol se alocă doar nodurile care depind de articol.
+ *
+ * <p>Cu {@code graph != null} emite quad-uri în graful respectiv (ex. dump N-Quads), altfel triple.
+ * Graful articolului conține doar triplele proprii articolului; topic-urile, autorul, organizația și agentul
+ * sistemului sunt doar referite, descrierea lor vine din {@link #emitReference}.
+ */
+final class ArticleRdfEmitter {
+
+    private static final Node MIME_OCTET_STREAM = NodeFactory.createLiteral("application/octet-stream");
+    private static final Node MIME_MPEG = NodeFactory.createLiteral("audio/mpeg");
+    private static final Node MIME_WAV = NodeFactory.createLiteral("audio/wav");
+    private static final Node MIME_MP4 = NodeFactory.createLiteral("video/mp4");
+    private static final Node MIME_WEBM = NodeFactory.createLiteral("video/webm");
+    private static final Node MIME_JPEG = NodeFactory.createLiteral("image/jpeg");
+    private static final Node MIME_PNG = NodeFactory.createLiteral("image/png");
+    private static final Node MIME_PDF = NodeFactory.createLiteral("application/pdf");
+    private static final Node MIME_PPTX = NodeFactory.createLiteral(
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation");
+
+    private final RdfVocabulary v;
+
+    ArticleRdfEmitter(RdfVocabulary vocabulary) {
+        this.v = vocabulary;
+    }
+
+    void emit(Article article, StreamRDF out) {
+        emit(article, null, out);
+    }
+
+    void emit(Article article, Node graph, StreamRDF out) {
+        Node a = NodeFactory.createURI(article.getUri());
+
+        emit(out, graph, a, v.rdfType, v.newsArticle);
+        emit(out, graph, a, v.rdfType, v.creativeWork);
+
+        String lang = hasText(article.getLanguage()) ? article.getLanguage() : null;
+
+        if (hasText(article.getTitle())) emit(out, graph, a, v.headline, text(article.getTitle(), lang));
+        if (hasText(article.getDescription())) emit(out, graph, a, v.description, text(article.getDescription(), lang));
+        if (hasText(article.getContent())) emit(out, graph, a, v.articleBody, text(article.getContent(), lang));
+
+        if (lang != null) emit(out, graph, a, v.inLanguage, NodeFactory.createLiteral(lang));
+
+        if (article.getWordCount() != null) {
+            emit(out, graph, a, v.wordCount,
+                    NodeFactory.createLiteral(article.getWordCount().toString(), XSDDatatype.XSDint));
+        }
+        if (article.getPublishedDate() != null) {
+            emit(out, graph, a, v.datePublished, NodeFactory.createLiteral(
+                    article.getPublishedDate().format(RDFService.XSD_DATE_TIME), XSDDatatype.XSDdateTime));
+        }
+
+        Node originalUrl = hasText(article.getOriginalUrl()) ? NodeFactory.createURI(article.getOriginalUrl()) : null;
+        if (originalUrl != null) {
+            emit(out, graph, a, v.url, originalUrl);
+            emit(out, graph, a, v.dcSource, originalUrl);
+        }
+        if (article.getSources() != null) {
+            for (String s : article.getSources()) {
+                if (hasText(s)) emit(out, graph, a, v.dcSource, NodeFactory.createURI(s));
+            }
+        }
+
+        if (hasText(article.getMediaType())) {
+            Node mediaType = NodeFactory.createLiteral(article.getMediaType());
+            emit(out, graph, a, v.genre, mediaType);
+            emit(out, graph, a, v.dcType, mediaType);
+        }
+
+        emitAuthor(article, a, graph, out);
+        emitTopics(article, a, graph, out);
+        emitMedia(article, a, graph, out);
+        emitProvenance(article, a, originalUrl, graph, out);
+        emitRevision(article, graph, out);
+    }
+
+    private void emitAuthor(Article article, Node a, Node graph, StreamRDF out) {
+        Author author = article.getAuthor();
+        if (author == null) return;
+
+        Node au = NodeFactory.createURI(author.getUri());
+        if (hasText(author.getAffiliation())) emit(out, graph, a, v.publisher, organization(author));
+        emit(out, graph, a, v.author, au);
+        emit(out, graph, a, v.wasAttributedTo, au);
+    }
+
+    private void emitTopics(Article article, Node a, Node graph, StreamRDF out) {
+        if (article.getTopics() == null) return;
+        for (Topic t : article.getTopics()) {
+            if (t == null || !hasText(t.getUri())) continue;
+            if (hasText(t.getName())) emit(out, graph, a, v.dcSubject, NodeFactory.createLiteral(t.getName()));
+            emit(out, graph, a, v.about, NodeFactory.createURI(t.getUri()));
+        }
+    }
+
+    /**
+     * Resursele la care trimite articolul și care sunt comune multor articole: schema de topic-uri și topic-urile,
+     * autorul și agentul sistemului, organizația autorului. Cu {@code sharedGraphs} emite quad-uri în grafurile
+     * partajate ({@link RdfVocabulary#topicsGraph} etc.), altfel triple. Etichetele nu au tag de limbă:
+     * același topic sau autor apare în articole în limbi diferite.
+     */
+    void emitReference(Article article, boolean sharedGraphs, StreamRDF out) {
+        Node topics = sharedGraphs ? v.topicsGraph : null;
+        Node agents = sharedGraphs ? v.agentsGraph : null;
+        Node organizations = sharedGraphs ? v.organizationsGraph : null;
+
+        emit(out, topics, v.topicScheme, v.rdfType, v.conceptScheme);
+        emit(out, topics, v.topicScheme, v.prefLabel, v.topicSchemeLabel);
+        if (article.getTopics() != null) {
+            for (Topic t : article.getTopics()) {
+                if (t == null || !hasText(t.getUri())) continue;
+                Node c = NodeFactory.createURI(t.getUri());
+                emit(out, topics, c, v.rdfType, v.concept);
+                emit(out, topics, c, v.inScheme, v.topicScheme);
+                if (hasText(t.getName())) emit(out, topics, c, v.prefLabel, NodeFactory.createLiteral(t.getName()));
+                if (hasText(t.getDbpediaUri())) {
+                    emit(out, topics, c, v.exactMatch, NodeFactory.createURI(t.getDbpediaUri()));
+                }
+            }
+        }
+
+        emit(out, agents, v.systemAgent, v.rdfType, v.agent);
+        emit(out, agents, v.systemAgent, v.name, v.systemAgentName);
+
+        Author author = article.getAuthor();
+        if (author == null) return;
+        Node au = NodeFactory.createURI(author.getUri());
+        emit(out, agents, au, v.rdfType, v.person);
+        emit(out, agents, au, v.rdfType, v.agent);
+        if (hasText(author.getName())) emit(out, agents, au, v.name, NodeFactory.createLiteral(author.getName()));
+        if (hasText(author.getNationality())) {
+            emit(out, agents, au, v.nationality, NodeFactory.createLiteral(author.getNationality()));
+        }
+
+        if (hasText(author.getAffiliation())) {
+            Node org = organization(author);
+            emit(out, organizations, org, v.rdfType, v.organization);
+            emit(out, organizations, org, v.name, NodeFactory.createLiteral(author.getAffiliation()));
+        }
+    }
+
+    private Node organization(Author author) {
+        return NodeFactory.createURI(v.base + "org/" + slug(author.getAffiliation()));
+    }
+
+    private void emitMedia(Article article, Node a, Node graph, StreamRDF out) {
+        if (hasText(article.getThumbnailUrl())) {
+            Node img = NodeFactory.createURI(article.getUri() + "/media/thumbnail");
+            emit(out, graph, img, v.rdfType, v.imageObject);
+            emit(out, graph, img, v.contentUrl, NodeFactory.createURI(article.getThumbnailUrl()));
+            emit(out, graph, img, v.encodingFormat, encodingFormat(article.getThumbnailUrl()));
+            emit(out, graph, a, v.associatedMedia, img);
+        }
+
+        if (article.getMetadata() == null) return;
+        for (ArticleMetadata m : article.getMetadata()) {
+            if (m == null || m.getMetadataKey() == null || m.getMetadataValue() == null) continue;
+            String value = m.getMetadataValue().trim();
+            if (value.isBlank()) continue;
+
+            // media din metadata (chei convenționale: audioUrl/videoUrl/presentationUrl/imageUrl)
+            String k = m.getMetadataKey().trim().toLowerCase();
+            Node mediaType = switch (k) {
+                case "audiourl", "podcasturl" -> v.audioObject;
+                case "videourl" -> v.videoObject;
+                case "imageurl" -> v.imageObject;
+                case "presentationurl", "slidesurl" -> v.mediaObject;
+                default -> null;
+            };
+            if (mediaType != null) {
+                Node media = NodeFactory.createURI(article.getUri() + "/media/" + k + "/" + metadataId(m));
+                emit(out, graph, media, v.rdfType, mediaType);
+                emit(out, graph, media, v.contentUrl, NodeFactory.createURI(value));
+                emit(out, graph, media, v.encodingFormat, encodingFormat(value));
+                emit(out, graph, a, v.associatedMedia, media);
+            }
+
+            // metadata structurat (schema:PropertyValue)
+            Node pv = NodeFactory.createURI(article.getUri() + "/meta/" + metadataId(m));
+            emit(out, graph, pv, v.rdfType, v.propertyValue);
+            emit(out, graph, pv, v.propertyID, NodeFactory.createLiteral(m.getMetadataKey()));
+            emit(out, graph, pv, v.value, NodeFactory.createLiteral(m.getMetadataValue()));
+            if (hasText(m.getStandard())) {
+                emit(out, graph, pv, v.description, NodeFactory.createLiteral("Standard=" + m.getStandard()));
+            }
+            emit(out, graph, a, v.additionalProperty, pv);
+        }
+    }
+
+    private void emitProvenance(Article article, Node a, Node originalUrl, Node graph, StreamRDF out) {
+        Node act = NodeFactory.createURI(article.getUri() + "/prov/activity/ingest/v1");
+        emit(out, graph, act, v.rdfType, v.activity);
+        emit(out, graph, act, v.wasAssociatedWith, v.systemAgent);
+
+        if (originalUrl != null) emit(out, graph, act, v.used, originalUrl);
+        if (article.getSources() != null) {
+            for (String s : article.getSources()) {
+                if (hasText(s)) emit(out, graph, act, v.used, NodeFactory.createURI(s));
+            }
+        }
+
+        if (article.getCreatedAt() != null) {
+            emit(out, graph, act, v.endedAtTime, timestamp(article.getCreatedAt()));
+        }
+
+        emit(out, graph, a, v.wasGeneratedBy, act);
+    }
+
+    // ISO_LOCAL_DATE_TIME scrie mereu secundele (toString() le omite când sunt 0)
+    private static Node timestamp(LocalDateTime time) {
+        return NodeFactory.createLiteral(time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), XSDDatatype.XSDdateTime);
+    }
+
+    /**
+     * De la v2: graful curent e o revizie a celui anterior (care rămâne în dataset, pentru istoric).
+     */
+    private void emitRevision(Article article, Node graph, StreamRDF out) {
+        int version = article.getGraphVersion();
+        if (version <= 1) return;
+
+        Node current = NodeFactory.createURI(RDFService.graphUri(article.getUri(), version));
+        Node previous = NodeFactory.createURI(RDFService.graphUri(article.getUri(), version - 1));
+        Node act = NodeFactory.createURI(article.getUri() + "/prov/activity/revision/v" + version);
+
+        emit(out, graph, current, v.rdfType, v.entity);
+        emit(out, graph, current, v.wasRevisionOf, previous);
+        emit(out, graph, current, v.wasGeneratedBy, act);
+
+        emit(out, graph, act, v.rdfType, v.activity);
+        emit(out, graph, act, v.used, previous);
+        emit(out, graph, act, v.wasAssociatedWith, v.systemAgent);
+
+        if (article.getVersionedAt() != null) {
+            Node at = timestamp(article.getVersionedAt());
+            emit(out, graph, current, v.generatedAtTime, at);
+            emit(out, graph, act, v.endedAtTime, at);
+        }
+    }
+
+    private static void emit(StreamRDF out, Node graph, Node s, Node p, Node o) {
+        if (graph == null) out.triple(Triple.create(s, p, o));
+        else out.quad(Quad.create(graph, s, p, o));
+    }
+
+    private static Node text(String value, String lang) {
+        return lang != null ? NodeFactory.createLiteral(value, lang) : NodeFactory.createLiteral(value);
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+
+    private static Object metadataId(ArticleMetadata m) {
+        return m.getId() != null ? m.getId() : System.currentTimeMillis();
+    }
+
+    /**
+     * Echivalent cu {@code s.replaceAll("\\s+", "-").toLowerCase()}, fără regex.
+     */
+    static String slug(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean inSpace = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            boolean space = c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+            if (space) {
+                if (!inSpace) sb.append('-');
+            } else {
+                sb.append(c);
+            }
+            inSpace = space;
+        }
+        return sb.toString().toLowerCase();
+    }
+
+    private static Node encodingFormat(String url) {
+        String u = url.toLowerCase();
+        if (u.endsWith(".mp3")) return MIME_MPEG;
+        if (u.endsWith(".wav")) return MIME_WAV;
+        if (u.endsWith(".mp4")) return MIME_MP4;
+        if (u.endsWith(".webm")) return MIME_WEBM;
+        if (u.endsWith(".jpg") || u.endsWith(".jpeg")) return MIME_JPEG;
+        if (u.endsWith(".png")) return MIME_PNG;
+        if (u.endsWith(".pdf")) return MIME_PDF;
+        if (u.endsWith(".ppt") || u.endsWith(".pptx")) return MIME_PPTX;
+        return MIME_OCTET_STREAM;
+    }
+}
@@ -0,0 +1,444 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.Topic;
+import com.newsprovenience.repository.ArticleRepository;
+import com.newsprovenience.service.dto.ArticleSearchRequest;
+import com.newsprovenience.service.event.ArticleCreatedEvent;
+import com.newsprovenience.service.event.ArticleDeletedEvent;
+import com.newsprovenience.service.event.ArticleUpdatedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.DelegatingAnalyzerWrapper;
+import org.apache.lucene.analysis.de.GermanAnalyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.it.ItalianAnalyzer;
+import org.apache.lucene.analysis.pt.PortugueseAnalyzer;
+import org.apache.lucene.analysis.ro.RomanianAnalyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Index full-text (Lucene, BM25) peste titlu, descriere, conținut și subiecte/etichete de concepte.
+ * Textul fiecărui articol e analizat cu analyzer-ul limbii lui (câmpuri {@code title_en}, {@code title_ro}, ...);
+ * indexul e actualizat incremental la ingestie și reconstruit din baza de date la pornire dacă e gol.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleSearchIndex {
+
+    static final String F_ID = "id";
+    static final String F_ID_SORT = "idSort";
+    static final String F_URI = "uri";
+    static final String F_LANGUAGE = "language";
+    static final String F_MEDIA_TYPE = "mediaType";
+    static final String F_WORD_COUNT = "wordCount";
+    static final String F_PUBLISHED = "published";
+
+    private static final int REBUILD_PAGE = 500;
+
+    // câmpuri text + boost la căutare
+    private static final Map<String, Float> TEXT_FIELDS = Map.of(
+            "title", 3.0f,
+            "subject", 2.0f,
+            "description", 1.5f,
+            "content", 1.0f
+    );
+
+    // limbă -> analyzer (stemming + stopwords); orice altă limbă cade pe "std"
+    private static final String DEFAULT_LANGUAGE = "std";
+    private static final Map<String, Analyzer> ANALYZERS = Map.of(
+            "en", new EnglishAnalyzer(),
+            "ro", new RomanianAnalyzer(),
+            "es", new SpanishAnalyzer(),
+            "fr", new FrenchAnalyzer(),
+            "de", new GermanAnalyzer(),
+            "it", new ItalianAnalyzer(),
+            "pt", new PortugueseAnalyzer(),
+            DEFAULT_LANGUAGE, new StandardAnalyzer()
+    );
+
+    private final ArticleRepository articleRepository;
+    private final ArticleGraphLoader graphLoader;
+
+    @Value("${search.index.path:}")
+    private String indexPath;
+
+    @Value("${search.index.top-k:100}")
+    private int defaultTopK;
+
+    @Value("${search.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${search.page.max-size:200}")
+    private int maxPageSize;
+
+    private final Analyzer analyzer = new PerLanguageAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public record Hit(Long id, String uri, float score) {
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = (indexPath == null || indexPath.isBlank())
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexPath));
+
+        // BM25 e și implicit în IndexSearcher; îl fixăm explicit la indexare (norms)
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setSimilarity(new BM25Similarity());
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // -------------------------
+    // Indexare
+    // -------------------------
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        index(List.of(event.article()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleUpdated(ArticleUpdatedEvent event) {
+        index(List.of(event.article()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleDeleted(ArticleDeletedEvent event) {
+        delete(event.articleId());
+    }
+
+    public void index(Collection<Article> articles) {
+        try {
+            for (Article article : articles) {
+                writer.updateDocument(new Term(F_ID, article.getId().toString()), toDocument(article));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Long articleId) {
+        try {
+            writer.deleteDocuments(new Term(F_ID, articleId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * La pornire: un index gol (în memorie sau director nou) e reconstruit din baza de date.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (writer.getDocStats().numDocs == 0 && articleRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // keyset pe id: fiecare articol o singură dată, chiar dacă tabela se schimbă în timpul reconstruirii;
+        // topic-urile vin cu loader-ul, într-un query per pagină
+        Long afterId = 0L;
+        List<Long> ids;
+        do {
+            ids = articleRepository.findIdsAfter(afterId, Limit.of(REBUILD_PAGE));
+            if (ids.isEmpty()) break;
+            index(graphLoader.load(ids));
+            afterId = ids.get(ids.size() - 1);
+        } while (ids.size() == REBUILD_PAGE);
+
+        commit();
+        log.info("Search index rebuilt: {} articles in {} ms", writer.getDocStats().numDocs, System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.commit-interval:PT1M}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) writer.commit();
+        } catch (IOException e) {
+            log.warn("Search index commit failed: {}", e.getMessage());
+        }
+    }
+
+    private Document toDocument(Article article) {
+        String lang = languageKey(article.getLanguage());
+
+        Document doc = new Document();
+        doc.add(new StringField(F_ID, article.getId().toString(), Field.Store.YES));
+        doc.add(new NumericDocValuesField(F_ID_SORT, article.getId()));
+        doc.add(new StoredField(F_URI, article.getUri()));
+
+        if (article.getLanguage() != null) {
+            doc.add(new StringField(F_LANGUAGE, article.getLanguage().toLowerCase(Locale.ROOT), Field.Store.NO));
+        }
+        if (article.getMediaType() != null) {
+            doc.add(new StringField(F_MEDIA_TYPE, article.getMediaType().toLowerCase(Locale.ROOT), Field.Store.NO));
+        }
+        if (article.getWordCount() != null) {
+            doc.add(new IntPoint(F_WORD_COUNT, article.getWordCount()));
+        }
+        if (article.getPublishedDate() != null) {
+            doc.add(new LongPoint(F_PUBLISHED, article.getPublishedDate().toEpochSecond(ZoneOffset.UTC)));
+        }
+
+        addText(doc, "title", lang, article.getTitle());
+        addText(doc, "description", lang, article.getDescription());
+        addText(doc, "content", lang, article.getContent());
+
+        // dc:subject și skos:prefLabel din graf = numele topic-urilor
+        if (article.getTopics() != null) {
+            addText(doc, "subject", lang, article.getTopics().stream()
+                    .map(Topic::getName)
+                    .filter(n -> n != null && !n.isBlank())
+                    .collect(Collectors.joining("\n")));
+        }
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String lang, String value) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new TextField(field + "_" + lang, value, Field.Store.NO));
+        }
+    }
+
+    // -------------------------
+    // Căutare
+    // -------------------------
+    public List<Hit> search(ArticleSearchRequest request) {
+        return search(request, defaultTopK);
+    }
+
+    /**
+     * Top-k articole după scorul BM25; filtrele din request (limbă, tip, număr de cuvinte, interval de date)
+     * se aplică în index, nu după.
+     */
+    public List<Hit> search(ArticleSearchRequest request, int topK) {
+        Query query = buildQuery(request);
+        if (query == null) return List.of();
+
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] docs = searcher.search(query, topK).scoreDocs;
+                List<Hit> hits = new ArrayList<>(docs.length);
+                for (ScoreDoc sd : docs) {
+                    Document doc = searcher.storedFields().document(sd.doc);
+                    hits.add(new Hit(Long.valueOf(doc.get(F_ID)), doc.get(F_URI), sd.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * O pagină de rezultate în ordinea (scor DESC, id), continuând după {@code after}.
+     * searchAfter păstrează doar {@code limit} documente în heap, deci paginile adânci costă cât prima.
+     */
+    public List<Hit> searchPage(ArticleSearchRequest request, int limit, SearchCursor after) {
+        Query query = buildQuery(request);
+        if (query == null) return List.of();
+
+        Sort sort = new Sort(SortField.FIELD_SCORE, new SortField(F_ID_SORT, SortField.Type.LONG));
+        float afterScore = 0;
+        long afterId = 0;
+        if (after != null) {
+            try {
+                afterScore = Float.parseFloat(after.key());
+                afterId = Long.parseLong(after.id());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // (scor, id) e unic; doc-ul din FieldDoc e doar ultima departajare: cu maxDoc - 1,
+                // documentul din cursor nu mai e considerat "după" el însuși
+                FieldDoc afterDoc = after == null ? null : new FieldDoc(
+                        Math.max(0, searcher.getIndexReader().maxDoc() - 1), afterScore, new Object[]{afterScore, afterId});
+                ScoreDoc[] docs = searcher.searchAfter(afterDoc, query, limit, sort, true).scoreDocs;
+                List<Hit> hits = new ArrayList<>(docs.length);
+                for (ScoreDoc sd : docs) {
+                    Document doc = searcher.storedFields().document(sd.doc);
+                    hits.add(new Hit(Long.valueOf(doc.get(F_ID)), doc.get(F_URI), sd.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long count(ArticleSearchRequest request) {
+        Query query = buildQuery(request);
+        if (query == null) return 0;
+
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.count(query);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Mărimea paginii cerute, limitată la search.page.max-size.
+     */
+    public int pageSize(ArticleSearchRequest request) {
+        Integer requested = request.getPageSize();
+        if (requested == null || requested <= 0) return defaultPageSize;
+        return Math.min(requested, maxPageSize);
+    }
+
+    private Query buildQuery(ArticleSearchRequest request) {
+        if (request == null || request.getQuery() == null || request.getQuery().isBlank()) return null;
+
+        // cu limbă cerută: doar câmpurile ei; altfel textul e analizat separat pentru fiecare limbă
+        List<String> languages = hasText(request.getLanguage())
+                ? List.of(languageKey(request.getLanguage()))
+                : List.copyOf(ANALYZERS.keySet());
+
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        BooleanQuery.Builder text = new BooleanQuery.Builder();
+        for (String lang : languages) {
+            for (Map.Entry<String, Float> field : TEXT_FIELDS.entrySet()) {
+                Query q = builder.createBooleanQuery(field.getKey() + "_" + lang, request.getQuery());
+                if (q != null) text.add(new BoostQuery(q, field.getValue()), BooleanClause.Occur.SHOULD);
+            }
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        query.add(text.build(), BooleanClause.Occur.MUST);
+
+        if (hasText(request.getLanguage())) {
+            query.add(new TermQuery(new Term(F_LANGUAGE, request.getLanguage().toLowerCase(Locale.ROOT))), BooleanClause.Occur.FILTER);
+        }
+        if (hasText(request.getMediaType())) {
+            query.add(new TermQuery(new Term(F_MEDIA_TYPE, request.getMediaType().toLowerCase(Locale.ROOT))), BooleanClause.Occur.FILTER);
+        }
+        if (request.getMaxWords() != null) {
+            query.add(IntPoint.newRangeQuery(F_WORD_COUNT, Integer.MIN_VALUE, request.getMaxWords()), BooleanClause.Occur.FILTER);
+        }
+        if (request.getDateFrom() != null || request.getDateTo() != null) {
+            long from = request.getDateFrom() == null ? Long.MIN_VALUE : request.getDateFrom().toEpochSecond(ZoneOffset.UTC);
+            long to = request.getDateTo() == null ? Long.MAX_VALUE : request.getDateTo().toEpochSecond(ZoneOffset.UTC);
+            query.add(LongPoint.newRangeQuery(F_PUBLISHED, from, to), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+
+    private static String languageKey(String language) {
+        if (language == null) return DEFAULT_LANGUAGE;
+        String key = language.toLowerCase(Locale.ROOT);
+        // "en-US" -> "en"
+        int dash = key.indexOf('-');
+        if (dash > 0) key = key.substring(0, dash);
+        return ANALYZERS.containsKey(key) ? key : DEFAULT_LANGUAGE;
+    }
+
+    /**
+     * Alege analyzer-ul după sufixul câmpului ({@code title_ro} -> RomanianAnalyzer).
+     */
+    private static final class PerLanguageAnalyzer extends DelegatingAnalyzerWrapper {
+
+        PerLanguageAnalyzer() {
+            super(PER_FIELD_REUSE_STRATEGY);
+        }
+
+        @Override
+        protected Analyzer getWrappedAnalyzer(String fieldName) {
+            int sep = fieldName.lastIndexOf('_');
+            Analyzer analyzer = sep < 0 ? null : ANALYZERS.get(fieldName.substring(sep + 1));
+            return analyzer != null ? analyzer : ANALYZERS.get(DEFAULT_LANGUAGE);
+        }
+    }
+}
@@ -1,17 +1,61 @@
 package com.newsprovenience.service.implementation;
 
 import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.ArticleTombstone;
+import com.newsprovenience.domain.EnrichmentStatus;
+import com.newsprovenience.domain.Topic;
 import com.newsprovenience.repository.ArticleRepository;
+import com.newsprovenience.repository.ArticleTombstoneRepository;
+import com.newsprovenience.repository.AuthorRepository;
+import com.newsprovenience.repository.TopicRepository;
 import com.newsprovenience.service.dto.ArticleDTO;
+import com.newsprovenience.service.dto.ArticleSearchPage;
 import com.newsprovenience.service.dto.ArticleSearchRequest;
+import com.newsprovenience.service.dto.ArticleSummaryDTO;
+import com.newsprovenience.service.dto.ArticleUpdateResponse;
+import com.newsprovenience.service.dto.BulkIngestItemResult;
+import com.newsprovenience.service.dto.BulkIngestResponse;
+import com.newsprovenience.service.dto.EnrichmentStatusDTO;
+import com.newsprovenience.service.event.ArticleCreatedEvent;
+import com.newsprovenience.service.event.ArticleDeletedEvent;
+import com.newsprovenience.service.event.ArticleFacts;
+import com.newsprovenience.service.event.ArticleUpdatedEvent;
 import com.newsprovenience.service.mapper.ArticleMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,75 +64,452 @@ public class ArticleService {
     private final ArticleRepository articleRepository;
     private final ArticleMapper articleMapper;
     private final RDFService rdfService;
-    private final EnrichmentService enrichmentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ArticleSearchIndex searchIndex;
+    private final ArticleGraphLoader graphLoader;
+    private final RdfExportCache exportCache;
+    private final EnrichmentQueue enrichmentQueue;
+    private final GraphOutbox graphOutbox;
+    private final AuthorRepository authorRepository;
+    private final TopicRepository topicRepository;
+    private final ArticleTombstoneRepository tombstoneRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ingest.bulk.batch-size:500}")
+    private int bulkBatchSize;
 
     @Transactional
     public Article createArticle(ArticleDTO dto) {
-        Article article = articleMapper.toEntity(dto);
+        Article article = prepareArticle(dto);
 
-        // Generate URI if not provided
-        if (article.getUri() == null) {
-            article.setUri(generateUri(article));
+        // Save to relational database
+        Article saved = ingestStage("db.save", "single").record(() -> articleRepository.saveAndFlush(article));
+
+        // Graful v1 intră în outbox în aceeași tranzacție; ajunge în Fuseki după commit (GraphOutboxDispatcher)
+        String graphUri = ingestStage("rdf.emit", "single").record(() -> graphOutbox.replaceArticleGraph(saved));
+        ingestedArticles("single").increment();
+
+        // Enrichment rulează asincron, după commit (vezi EnrichmentQueue)
+        eventPublisher.publishEvent(new ArticleCreatedEvent(saved, graphUri));
+
+        return saved;
+    }
+
+    /**
+     * Ingestie bulk: citește un flux NDJSON sau un array JSON element cu element și îl scrie în loturi
+     * de {@code ingest.bulk.batch-size}. Fiecare lot = o tranzacție cu articolele și grafurile lor în outbox.
+     */
+    public BulkIngestResponse ingestBulk(InputStream in) {
+        BulkIngestResponse response = new BulkIngestResponse();
+        List<ArticleDTO> batch = new ArrayList<>(bulkBatchSize);
+        int index = 0;
+        int batchStart = 0;
+
+        try (MappingIterator<ArticleDTO> it = objectMapper.readerFor(ArticleDTO.class).readValues(in)) {
+            while (it.hasNextValue()) {
+                ArticleDTO dto = it.nextValue();
+                String error = validateForIngest(dto);
+                if (error != null) {
+                    // item invalid: îl raportăm, dar nu oprim lotul
+                    flushBatch(batch, batchStart, response);
+                    response.add(BulkIngestItemResult.failed(index, error));
+                    batchStart = index + 1;
+                } else {
+                    batch.add(dto);
+                    if (batch.size() >= bulkBatchSize) {
+                        flushBatch(batch, batchStart, response);
+                        batchStart = index + 1;
+                    }
+                }
+                index++;
+            }
+        } catch (JacksonException e) {
+            // JSON stricat: nu mai putem continua fluxul, dar păstrăm ce s-a citit până aici
+            flushBatch(batch, batchStart, response);
+            response.add(BulkIngestItemResult.failed(index, "Malformed input: " + e.getOriginalMessage()));
+            return response;
         }
 
-        // Save to relational database
-        Article saved = articleRepository.save(article);
+        flushBatch(batch, batchStart, response);
+        return response;
+    }
 
-        // Convert to RDF
-        Model rdfModel = rdfService.articleToRDF(saved);
+    private void flushBatch(List<ArticleDTO> batch, int firstIndex, BulkIngestResponse response) {
+        if (batch.isEmpty()) return;
 
-        // Store in Fuseki as a named graph (v1)
-        String graphUri = rdfService.graphUriForV1(saved.getUri());
-        rdfService.putNamedGraph(graphUri, rdfModel);
+        List<Article> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<Article> articles = ingestStage("db.save", "bulk").record(() -> {
+                    List<Article> prepared = articleRepository.saveAll(batch.stream().map(this::prepareArticle).toList());
+                    articleRepository.flush();
+                    return prepared;
+                });
 
-        // Enrich (adds triples into the same named graph)
-        enrichmentService.enrichArticle(saved, graphUri);
+                ingestStage("rdf.emit", "bulk").record(() -> graphOutbox.replaceArticleGraphs(articles));
 
-        return saved;
+                for (Article a : articles) {
+                    eventPublisher.publishEvent(new ArticleCreatedEvent(a, rdfService.currentGraphUri(a), true));
+                }
+                return articles;
+            });
+        } catch (RuntimeException e) {
+            for (int i = 0; i < batch.size(); i++) {
+                response.add(BulkIngestItemResult.failed(firstIndex + i, e.getMessage()));
+            }
+            batch.clear();
+            return;
+        }
+
+        ingestedArticles("bulk").increment(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Article a = saved.get(i);
+            response.add(BulkIngestItemResult.created(firstIndex + i, a.getId(), a.getUri()));
+        }
+        batch.clear();
+    }
+
+    /**
+     * Actualizare parțială: câmpurile nenule din {@code patch} înlocuiesc valorile existente (sources/topicIds
+     * înlocuiesc mulțimea întreagă). Fără {@code newVersion}, graful curent primește doar triplele schimbate;
+     * cu {@code newVersion}, se creează graful v{N+1}, legat de cel anterior prin prov:wasRevisionOf.
+     *
+     * @throws IllegalArgumentException dacă authorId/topicIds nu există sau titlul devine gol
+     */
+    @Transactional
+    public Optional<ArticleUpdateResponse> updateArticle(Long id, ArticleDTO patch, boolean newVersion) {
+        if (articleRepository.findByIdForUpdate(id).isEmpty()) return Optional.empty();
+        Article article = graphLoader.load(List.of(id)).get(0);
+        String previousGraphUri = rdfService.currentGraphUri(article);
+        ArticleFacts previous = ArticleFacts.of(article);
+
+        applyPatch(article, patch);
+        if (newVersion) {
+            article.setGraphVersion(article.getGraphVersion() + 1);
+            article.setVersionedAt(Article.now());
+        }
+        GraphOutbox.GraphUpdate update = graphOutbox.updateArticleGraph(article, previousGraphUri);
+        eventPublisher.publishEvent(new ArticleUpdatedEvent(article, update.graphUri(), previous));
+
+        ArticleUpdateResponse response = new ArticleUpdateResponse();
+        response.setArticleId(article.getId());
+        response.setGraphUri(update.graphUri());
+        response.setGraphVersion(article.getGraphVersion());
+        response.setPreviousGraphUri(previousGraphUri);
+        response.setTriplesRemoved(update.removed());
+        response.setTriplesAdded(update.added());
+        return Optional.of(response);
+    }
+
+    /**
+     * Șterge articolul din baza de date; grafurile tuturor versiunilor lui sunt șterse din Fuseki prin outbox.
+     * Rămâne un {@link ArticleTombstone}, din care dump-urile incrementale află de ștergere.
+     *
+     * @return false dacă articolul nu există
+     */
+    @Transactional
+    public boolean deleteArticle(Long id) {
+        if (articleRepository.findByIdForUpdate(id).isEmpty()) return false;
+        Article article = graphLoader.load(List.of(id)).get(0);
+        ArticleFacts facts = ArticleFacts.of(article);
+
+        graphOutbox.dropArticleGraphs(article);
+        ArticleTombstone tombstone = new ArticleTombstone();
+        tombstone.setArticleUri(article.getUri());
+        tombstone.setGraphVersion(article.getGraphVersion());
+        tombstoneRepository.save(tombstone);
+        articleRepository.delete(article);
+        eventPublisher.publishEvent(new ArticleDeletedEvent(id, article.getUri(), facts));
+        return true;
+    }
+
+    private void applyPatch(Article article, ArticleDTO patch) {
+        if (patch.getTitle() != null) {
+            if (patch.getTitle().isBlank()) throw new IllegalArgumentException("title must not be blank");
+            article.setTitle(patch.getTitle());
+        }
+        if (patch.getDescription() != null) article.setDescription(patch.getDescription());
+        if (patch.getContent() != null) article.setContent(patch.getContent());
+        if (patch.getLanguage() != null) article.setLanguage(patch.getLanguage());
+        if (patch.getWordCount() != null) article.setWordCount(patch.getWordCount());
+        if (patch.getMediaType() != null) article.setMediaType(patch.getMediaType());
+        if (patch.getPublishedDate() != null) article.setPublishedDate(patch.getPublishedDate());
+        if (patch.getOriginalUrl() != null) article.setOriginalUrl(patch.getOriginalUrl());
+        if (patch.getThumbnailUrl() != null) article.setThumbnailUrl(patch.getThumbnailUrl());
+        if (patch.getSources() != null) {
+            article.getSources().clear();
+            article.getSources().addAll(patch.getSources());
+        }
+        if (patch.getAuthorId() != null) {
+            article.setAuthor(authorRepository.findById(patch.getAuthorId())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown author: " + patch.getAuthorId())));
+        }
+        if (patch.getTopicIds() != null) {
+            List<Topic> topics = topicRepository.findAllById(patch.getTopicIds());
+            if (topics.size() != patch.getTopicIds().size()) {
+                throw new IllegalArgumentException("Unknown topic in " + patch.getTopicIds());
+            }
+            article.getTopics().clear();
+            article.getTopics().addAll(topics);
+        }
+    }
+
+    // etapele sincrone ale ingestiei; scrierea în Fuseki (outbox.dispatch) și îmbogățirea (enrichment.article) sunt măsurate acolo unde rulează
+    private Timer ingestStage(String stage, String path) {
+        return Timer.builder("ingest.stage").tag("stage", stage).tag("path", path).register(meterRegistry);
+    }
+
+    private Counter ingestedArticles(String path) {
+        return Counter.builder("ingest.articles").tag("path", path).register(meterRegistry);
+    }
+
+    private String validateForIngest(ArticleDTO dto) {
+        if (dto == null) return "Empty item";
+        if (dto.getTitle() == null || dto.getTitle().isBlank()) return "title is required";
+        return null;
+    }
+
+    private Article prepareArticle(ArticleDTO dto) {
+        Article article = articleMapper.toEntity(dto);
+
+        // Generate URI if not provided
+        if (article.getUri() == null) {
+            article.setUri(generateUri(article));
+        }
+        article.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        article.setEnrichmentAttempts(0);
+        return article;
     }
 
+    /**
+     * O pagină de rezultate. Cu text liber: ordinea BM25 din indexul full-text, cursor pe (scor, id).
+     * Doar cu filtre: keyset în baza de date pe (publishedDate DESC, id).
+     */
     @Transactional(readOnly = true)
-    public List<Article> searchArticles(ArticleSearchRequest request) {
-        if (request.getQuery() != null && !request.getQuery().isEmpty()) {
-            return articleRepository.searchArticles(request.getQuery());
+    public ArticleSearchPage searchArticles(ArticleSearchRequest request) {
+        int pageSize = searchIndex.pageSize(request);
+        ArticleSearchPage page = new ArticleSearchPage();
+
+        if (request.getQuery() != null && !request.getQuery().isBlank()) {
+            SearchCursor after = SearchCursor.decode(request.getCursor(), SearchCursor.Kind.SCORE);
+            List<ArticleSearchIndex.Hit> hits = searchIndex.searchPage(request, pageSize + 1, after);
+            if (hits.size() > pageSize) {
+                hits = hits.subList(0, pageSize);
+                ArticleSearchIndex.Hit last = hits.get(pageSize - 1);
+                page.setNextCursor(new SearchCursor(SearchCursor.Kind.SCORE,
+                        Float.toString(last.score()), last.id().toString()).encode());
+            }
+
+            Map<Long, ArticleSummaryDTO> byId = articleRepository.findSummariesByIdIn(hits.stream().map(ArticleSearchIndex.Hit::id).toList())
+                    .stream()
+                    .collect(Collectors.toMap(ArticleSummaryDTO::getId, Function.identity()));
+            page.setItems(withTopics(hits.stream().map(h -> byId.get(h.id())).filter(Objects::nonNull).toList()));
+            if (request.isIncludeTotal()) page.setTotal(searchIndex.count(request));
+            return page;
+        }
+
+        SearchCursor after = SearchCursor.decode(request.getCursor(), SearchCursor.Kind.DATE);
+        int cursorMode = after == null ? 0 : after.hasKey() ? 1 : 2;
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+        if (after != null) {
+            try {
+                afterDate = after.hasKey() ? LocalDateTime.parse(after.key()) : null;
+                afterId = Long.valueOf(after.id());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
         }
 
-        return articleRepository.findWithFilters(
+        List<ArticleSummaryDTO> rows = articleRepository.findPageWithFilters(
                 request.getLanguage(),
                 request.getMediaType(),
                 request.getMaxWords(),
                 request.getDateFrom(),
-                request.getDateTo()
+                request.getDateTo(),
+                cursorMode, afterDate, afterId,
+                Limit.of(pageSize + 1)
         );
-    }
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ArticleSummaryDTO last = rows.get(pageSize - 1);
+            page.setNextCursor(new SearchCursor(SearchCursor.Kind.DATE,
+                    last.getPublishedDate() == null ? "" : last.getPublishedDate().toString(),
+                    last.getId().toString()).encode());
+        }
+        page.setItems(withTopics(rows));
 
-    public String exportArticleAsJsonLd(Long id) {
-        Optional<Article> article = findById(id);
-        if (article.isEmpty()) return null;
+        if (request.isIncludeTotal()) {
+            page.setTotal(articleRepository.countWithFilters(
+                    request.getLanguage(),
+                    request.getMediaType(),
+                    request.getMaxWords(),
+                    request.getDateFrom(),
+                    request.getDateTo()));
+        }
+        return page;
+    }
 
-        String graphUri = rdfService.graphUriForV1(article.get().getUri());
-        Model model = rdfService.getNamedGraph(graphUri);
+    // un singur query pentru topic-urile întregii pagini (în loc de câte un lazy load per articol)
+    private List<ArticleSummaryDTO> withTopics(List<ArticleSummaryDTO> items) {
+        if (items.isEmpty()) return items;
 
-        // fallback: dacă graful e gol din orice motiv
-        if (model == null || model.isEmpty()) {
-            model = rdfService.articleToRDF(article.get());
+        Map<Long, ArticleSummaryDTO> byId = items.stream()
+                .collect(Collectors.toMap(ArticleSummaryDTO::getId, Function.identity()));
+        for (Object[] row : articleRepository.findTopicNamesByArticleIdIn(byId.keySet())) {
+            byId.get((Long) row[0]).getTopics().add((String) row[1]);
         }
+        return items;
+    }
 
-        return rdfService.modelToJsonLd(model);
+    /**
+     * Exportul unui graf de articol: validatorii HTTP se calculează fără Fuseki, corpul doar la nevoie (nu pentru 304).
+     *
+     * @param lastModified epoch millis
+     * @param body         pregătește corpul (și comprimat, dacă s-a cerut gzip): graful e citit la apel, deci 404 și
+     *                     erorile Fuseki apar înaintea răspunsului; scrierea trece prin {@link RdfExportCache}
+     */
+    public record ArticleExport(String etag, long lastModified, Supplier<Consumer<OutputStream>> body) {
     }
 
-    public String exportArticleAsRdfXml(Long id) {
-        Optional<Article> article = findById(id);
-        if (article.isEmpty()) return null;
+    /**
+     * Graful versiunii curente a articolului în formatul cerut; gol dacă articolul nu există.
+     * ETag-ul vine din starea persistată a articolului ({@link #exportRevision}), deci rămâne valid între reporniri
+     * și între instanțe; graful e citit cu scrierile din outbox încă neaplicate, ca să corespundă aceleiași stări.
+     * Versiunea grafului din cheia cache-ului e citită înaintea grafului, așa că o scriere concurentă poate cel mult
+     * invalida intrarea, nu o poate învechi.
+     */
+    public Optional<ArticleExport> exportArticle(Long id, RdfExportFormat format, boolean gzip) {
+        return findById(id).map(article -> {
+            String graphUri = rdfService.currentGraphUri(article);
+            RDFService.GraphVersion version = rdfService.graphVersion(graphUri);
+            String revision = exportRevision(article);
+
+            String etag = "\"" + revision + "-" + format.name().toLowerCase() + (gzip ? "-gz" : "") + "\"";
+            long lastModified = Math.max(epochMillis(article.getUpdatedAt()),
+                    Math.max(epochMillis(article.getEnrichedAt()), epochMillis(article.getVersionedAt())));
+
+            RdfExportCache.CacheKey key = new RdfExportCache.CacheKey(graphUri, format, gzip, version.version(), revision);
+            Supplier<Consumer<OutputStream>> body = () -> {
+                byte[] cached = exportCache.getIfPresent(key);
+                if (cached != null) return out -> write(out, cached);
 
-        String graphUri = rdfService.graphUriForV1(article.get().getUri());
-        Model model = rdfService.getNamedGraph(graphUri);
+                Model model = articleGraph(article);
+                return out -> {
+                    try {
+                        exportCache.render(key, target -> render(graphUri, model, format, gzip, target), out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+            };
+            return new ArticleExport(etag, lastModified, body);
+        });
+    }
 
-        if (model == null || model.isEmpty()) {
-            model = rdfService.articleToRDF(article.get());
+    private void render(String graphUri, Model model, RdfExportFormat format, boolean gzip, OutputStream target) {
+        try (OutputStream out = gzip ? new GZIPOutputStream(target) : target) {
+            rdfService.writeGraph(graphUri, model, format, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
+
+    private static void write(OutputStream out, byte[] bytes) {
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tot ce schimbă graful exportat: editările (updatedAt, graphVersion) și îmbogățirea (starea și enrichedAt;
+     * rematerializarea șterge legăturile și trece articolul înapoi în PENDING).
+     */
+    static String exportRevision(Article article) {
+        return Long.toString(article.getId(), 36)
+                + "-v" + article.getGraphVersion()
+                + "-" + Long.toString(epochMillis(article.getUpdatedAt()), 36)
+                + "-" + (article.getEnrichmentStatus() == null ? "n" : article.getEnrichmentStatus().ordinal())
+                + "-" + Long.toString(epochMillis(article.getEnrichedAt()), 36);
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time == null ? 0 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private Model articleGraph(Article article) {
+        Model model = ModelFactory.createModelForGraph(graphOutbox.currentView(rdfService.currentGraphUri(article)));
+        Article loaded = graphLoader.load(List.of(article.getId())).stream().findFirst().orElse(article);
 
-        return rdfService.modelToRdfXml(model);
+        // fallback: dacă graful e gol din orice motiv, îl reconstruim cu asocierile încărcate dintr-o dată
+        if (model.isEmpty()) model = rdfService.articleToRDF(loaded);
+
+        // exportul rămâne autonom: descrierea topic-urilor și a autorului vine din grafurile partajate
+        rdfService.emitReference(loaded, false, StreamRDFLib.graph(model.getGraph()));
+        return model;
+    }
+
+    /**
+     * Reconstruiește grafurile versiunii curente din baza de date, în loturi de {@code ingest.bulk.batch-size}:
+     * per lot, 4 query-uri JPA și o tranzacție cu REPLACE-urile în outbox, aplicate după scrierile mai vechi
+     * ale acelorași grafuri. Fără {@code ids}, toate articolele.
+     * Triplele de enrichment se pierd odată cu graful vechi, așa că articolele deja îmbogățite redevin PENDING
+     * și sunt reluate de sweep-ul cozii de îmbogățire, pe măsură ce are loc.
+     */
+    public Map<String, Object> rematerializeGraphs(List<Long> ids) {
+        long start = System.currentTimeMillis();
+        int articles = 0;
+        int requeued = 0;
+
+        Long afterId = 0L;
+        List<Long> chunk;
+        int offset = 0;
+        do {
+            if (ids != null) {
+                chunk = ids.subList(offset, Math.min(offset + bulkBatchSize, ids.size()));
+                offset += chunk.size();
+            } else {
+                chunk = articleRepository.findIdsAfter(afterId, Limit.of(bulkBatchSize));
+                if (!chunk.isEmpty()) afterId = chunk.get(chunk.size() - 1);
+            }
+            if (chunk.isEmpty()) break;
+
+            List<Long> batchIds = chunk;
+            int[] counts = transactionTemplate.execute(status -> {
+                List<Article> batch = graphLoader.load(batchIds);
+                graphOutbox.replaceArticleGraphs(batch);
+                int reset = articleRepository.resetEnrichmentStatus(batchIds, EnrichmentStatus.DONE,
+                        EnrichmentStatus.PENDING);
+                return new int[]{batch.size(), reset};
+            });
+            articles += counts[0];
+            requeued += counts[1];
+        } while (chunk.size() == bulkBatchSize);
+
+        if (requeued > 0) enrichmentQueue.scheduleSweep();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("articles", articles);
+        result.put("enrichmentRequeued", requeued);
+        result.put("millis", System.currentTimeMillis() - start);
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EnrichmentStatusDTO> getEnrichmentStatus(Long id) {
+        return articleRepository.findById(id).map(a -> {
+            EnrichmentStatusDTO dto = new EnrichmentStatusDTO();
+            dto.setArticleId(a.getId());
+            dto.setStatus(a.getEnrichmentStatus());
+            dto.setAttempts(a.getEnrichmentAttempts());
+            dto.setError(a.getEnrichmentError());
+            dto.setEnrichedAt(a.getEnrichedAt());
+            return dto;
+        });
     }
 
     @Transactional(readOnly = true)
@@ -96,7 +517,7 @@ public class ArticleService {
         return articleRepository.findById(id);
     }
 
-    private String generateUri(Article article) {
+    static String generateUri(Article article) {
         String title = (article.getTitle() == null || article.getTitle().isBlank())
                 ? "article"
                 : article.getTitle();
@@ -107,8 +528,11 @@ public class ArticleService {
                 .replaceAll("-{2,}", "-");
 
         // FIX BUG: substring pe slug.length(), nu pe title.length()
-        slug = slug.substring(0, Math.min(50, slug.length()));
+        slug = slug.substring(0, Math.min(50, slug.length())).replaceAll("^-|-$", "");
+        // titlurile în alte alfabete (chirilic, grecesc etc.) nu lasă nimic în slug
+        if (slug.isEmpty()) slug = "article";
 
-        return "http://example.org/news/article/" + slug + "-" + System.currentTimeMillis();
+        // un lot bulk pregătește sute de articole în aceeași milisecundă, iar titlurile se pot repeta
+        return "http://example.org/news/article/" + slug + "-" + UUID.randomUUID();
     }
 }
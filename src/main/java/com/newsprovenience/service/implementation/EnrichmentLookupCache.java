@@ -0,0 +1,193 @@
+package com.newsprovenience.service.implementation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache pentru lookup-urile DBpedia/Wikidata, cheie = (endpoint, frază normalizată).
+ * Evicție W-TinyLFU mărginită ca număr de intrări, TTL separat pentru rezultatele goale (negative caching)
+ * și snapshot opțional pe disc, reîncărcat la pornire.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EnrichmentLookupCache {
+
+    private static final int SNAPSHOT_MAGIC = 0x4E50_4C43; // "NPLC"
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${enrichment.cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${enrichment.cache.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${enrichment.cache.negative-ttl:PT1H}")
+    private Duration negativeTtl;
+
+    @Value("${enrichment.cache.snapshot-path:}")
+    private String snapshotPath;
+
+    // ceas de perete (ms): vârsta intrărilor trebuie să supraviețuiască repornirii, prin snapshot
+    LongSupplier clock = System::currentTimeMillis;
+
+    private Cache<LookupKey, CachedLookup> cache;
+
+    record LookupKey(String endpoint, String phrase) {
+    }
+
+    record CachedLookup(List<String> uris, long writtenAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        long origin = clock.getAsLong();
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong() - origin))
+                .expireAfter(new Expiry<LookupKey, CachedLookup>() {
+                    @Override
+                    public long expireAfterCreate(LookupKey key, CachedLookup value, long currentTime) {
+                        // intrările din snapshot își păstrează vârsta: expiră la writtenAt + ttl
+                        Duration lifetime = value.uris().isEmpty() ? negativeTtl : ttl;
+                        long age = clock.getAsLong() - value.writtenAt();
+                        return Math.max(0, lifetime.toNanos() - Duration.ofMillis(age).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(LookupKey key, CachedLookup value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(LookupKey key, CachedLookup value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "enrichment.lookup"));
+        loadSnapshot();
+    }
+
+    /**
+     * Întoarce rezultatul din cache sau îl calculează o singură dată (apelurile concurente pe aceeași cheie așteaptă).
+     * O excepție din loader se propagă și nu se cache-uiește - doar rezultatele reale (inclusiv cele goale).
+     */
+    public List<String> get(String endpoint, String phrase, Supplier<List<String>> loader) {
+        LookupKey key = new LookupKey(endpoint, normalize(phrase));
+        return cache.get(key, k -> new CachedLookup(List.copyOf(loader.get()), clock.getAsLong())).uris();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = cache.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", cache.estimatedSize());
+        stats.put("hits", s.hitCount());
+        stats.put("misses", s.missCount());
+        stats.put("hitRate", s.hitRate());
+        stats.put("evictions", s.evictionCount());
+        stats.put("loadFailures", s.loadFailureCount());
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${enrichment.cache.snapshot-interval:PT10M}",
+            initialDelayString = "${enrichment.cache.snapshot-interval:PT10M}")
+    public void periodicSnapshot() {
+        saveSnapshot();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        saveSnapshot();
+    }
+
+    private static String normalize(String phrase) {
+        return phrase.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // -------------------------
+    // Snapshot pe disc (gzip, format binar simplu)
+    // -------------------------
+    void saveSnapshot() {
+        if (snapshotPath == null || snapshotPath.isBlank()) return;
+        Path target = Path.of(snapshotPath);
+        try {
+            if (target.getParent() != null) Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), "lookup-cache", ".tmp");
+            List<Map.Entry<LookupKey, CachedLookup>> entries = new ArrayList<>(cache.asMap().entrySet());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(entries.size());
+                for (Map.Entry<LookupKey, CachedLookup> e : entries) {
+                    out.writeUTF(e.getKey().endpoint());
+                    out.writeUTF(e.getKey().phrase());
+                    out.writeLong(e.getValue().writtenAt());
+                    out.writeInt(e.getValue().uris().size());
+                    for (String uri : e.getValue().uris()) out.writeUTF(uri);
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write enrichment cache snapshot to {}", target, e);
+        }
+    }
+
+    void loadSnapshot() {
+        if (snapshotPath == null || snapshotPath.isBlank()) return;
+        Path source = Path.of(snapshotPath);
+        if (!Files.isRegularFile(source)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(source))))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                log.warn("Ignoring enrichment cache snapshot {}: unknown format", source);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                LookupKey key = new LookupKey(in.readUTF(), in.readUTF());
+                long writtenAt = in.readLong();
+                int n = in.readInt();
+                List<String> uris = new ArrayList<>(n);
+                for (int j = 0; j < n; j++) uris.add(in.readUTF());
+                cache.put(key, new CachedLookup(List.copyOf(uris), writtenAt));
+            }
+            // intrările deja expirate sunt eliminate imediat de Expiry (durata rămasă <= 0)
+            cache.cleanUp();
+            log.info("Loaded {} enrichment lookups from {}", cache.estimatedSize(), source);
+        } catch (IOException e) {
+            log.warn("Could not read enrichment cache snapshot {}", source, e);
+        }
+    }
+}
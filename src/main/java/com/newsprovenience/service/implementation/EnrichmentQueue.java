@@ -0,0 +1,287 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.EnrichmentStatus;
+import com.newsprovenience.repository.ArticleRepository;
+import com.newsprovenience.service.event.ArticleCreatedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coadă mărginită de îmbogățire, decuplată de tranzacția de create.
+ * Articolele intră după commit; un pool fix de workeri le procesează, cu reîncercări și backoff exponențial.
+ * Coada e doar în memorie, iar starea de referință e cea din baza de date: un articol care nu încape în coadă
+ * rămâne PENDING și e preluat de sweep-ul periodic, iar la pornire sunt puse din nou în coadă toate articolele
+ * neterminate.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EnrichmentQueue {
+
+    private static final Set<EnrichmentStatus> UNFINISHED = EnumSet.of(EnrichmentStatus.PENDING, EnrichmentStatus.RUNNING);
+    private static final int RECOVERY_CHUNK = 500;
+
+    private final EnrichmentService enrichmentService;
+    private final ArticleRepository articleRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${enrichment.async.workers:4}")
+    private int workers;
+
+    @Value("${enrichment.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${enrichment.async.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${enrichment.async.retry-backoff-ms:2000}")
+    private long retryBackoffMs;
+
+    @Value("${enrichment.async.submit-timeout-ms:100}")
+    private long submitTimeoutMs;
+
+    private BlockingQueue<EnrichmentTask> queue;
+    private ScheduledExecutorService retryScheduler;
+    private final List<Thread> workerThreads = new ArrayList<>();
+    // articolele aflate în coadă sau cu o reîncercare programată, ca recuperarea să nu le dubleze
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    // există articole PENDING care n-au intrat în coadă
+    private final AtomicBoolean backlog = new AtomicBoolean();
+
+    record EnrichmentTask(Long articleId, String articleUri, String title, String graphUri, int attempt) {
+        EnrichmentTask nextAttempt() {
+            return new EnrichmentTask(articleId, articleUri, title, graphUri, attempt + 1);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "enrichment-retry");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < workers; i++) {
+            Thread t = new Thread(this::workLoop, "enrichment-worker-" + i);
+            t.setDaemon(true);
+            t.start();
+            workerThreads.add(t);
+        }
+        Gauge.builder("enrichment.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("enrichment.queue.remaining", queue, BlockingQueue::remainingCapacity).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        retryScheduler.shutdownNow();
+        workerThreads.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Reia îmbogățirea articolelor existente la pornire care n-au terminat-o (coada s-a pierdut la oprire).
+     * Rulează pe un fir separat care așteaptă loc în coadă, în loc să renunțe ca {@link #submit}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void requeueUnfinished() {
+        Long maxId = articleRepository.findMaxId();
+        if (maxId == null) return;
+        Thread t = new Thread(() -> {
+            try {
+                int requeued = requeueUnfinished(maxId, true);
+                if (requeued > 0) log.info("Re-queued {} articles with unfinished enrichment", requeued);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Could not re-queue unfinished enrichment", e);
+            }
+        }, "enrichment-recovery");
+        t.setDaemon(true);
+        t.start();
+        workerThreads.add(t);
+    }
+
+    /**
+     * Pune în coadă articolele rămase PENDING în afara ei (coadă plină la submit sau la reîncercare,
+     * rematerializare), cât timp are loc; restul așteaptă sweep-ul următor.
+     */
+    @Scheduled(fixedDelayString = "${enrichment.async.sweep-interval:PT30S}")
+    public void sweepBacklog() {
+        if (!backlog.getAndSet(false)) return;
+        Long maxId = articleRepository.findMaxId();
+        if (maxId == null) return;
+        try {
+            int requeued = requeueUnfinished(maxId, false);
+            if (requeued > 0) log.info("Queued {} articles from the enrichment backlog", requeued);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            backlog.set(true);
+            log.error("Could not queue the enrichment backlog", e);
+        }
+    }
+
+    /** Articolele marcate PENDING fără să fie trimise în coadă sunt preluate de următorul sweep. */
+    public void scheduleSweep() {
+        backlog.set(true);
+    }
+
+    /** Cu wait = false se oprește la prima poziție fără loc în coadă și lasă restul pentru sweep-ul următor. */
+    private int requeueUnfinished(long maxId, boolean wait) throws InterruptedException {
+        long afterId = 0;
+        int requeued = 0;
+        while (true) {
+            List<Object[]> refs = articleRepository.findEnrichmentRefsAfter(UNFINISHED, afterId, maxId,
+                    Limit.of(RECOVERY_CHUNK));
+            if (refs.isEmpty()) return requeued;
+            for (Object[] ref : refs) {
+                String uri = (String) ref[1];
+                EnrichmentTask task = new EnrichmentTask((Long) ref[0], uri, (String) ref[2],
+                        RDFService.graphUri(uri, (Integer) ref[3]), 1);
+                if (!queued.add(task.articleId())) continue;
+                if (wait) {
+                    queue.put(task);
+                } else if (!queue.offer(task)) {
+                    queued.remove(task.articleId());
+                    backlog.set(true);
+                    return requeued;
+                }
+                requeued++;
+            }
+            afterId = (Long) refs.get(refs.size() - 1)[0];
+        }
+    }
+
+    /** Ingestia bulk nu așteaptă loc în coadă: ce nu încape rămâne pentru sweep. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        submit(event.article(), event.graphUri(), event.bulk() ? 0 : submitTimeoutMs);
+    }
+
+    /**
+     * Backpressure: dacă coada e plină așteptăm cel mult {@code submit-timeout-ms}; articolul rămâne apoi PENDING
+     * și intră în coadă la următorul sweep.
+     */
+    public void submit(Article article, String graphUri) {
+        submit(article, graphUri, submitTimeoutMs);
+    }
+
+    private void submit(Article article, String graphUri, long timeoutMs) {
+        EnrichmentTask task = new EnrichmentTask(article.getId(), article.getUri(), article.getTitle(), graphUri, 1);
+        if (!queued.add(task.articleId())) return;
+        boolean accepted;
+        try {
+            accepted = queue.offer(task, timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            queued.remove(task.articleId());
+            backlog.set(true);
+            log.debug("Enrichment queue full, article {} left for the backlog sweep", article.getId());
+        }
+    }
+
+    public int pendingTasks() {
+        return queue.size();
+    }
+
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                process(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in enrichment worker", e);
+            }
+        }
+    }
+
+    private void process(EnrichmentTask task) {
+        boolean retrying = false;
+        try {
+            retrying = attempt(task);
+        } finally {
+            if (!retrying) queued.remove(task.articleId());
+        }
+    }
+
+    /** @return true dacă s-a programat o reîncercare */
+    private boolean attempt(EnrichmentTask task) {
+        if (articleRepository.updateEnrichmentState(task.articleId(), EnrichmentStatus.RUNNING, task.attempt(), null, null) == 0) {
+            return false; // articol șters între timp: nu mai scriem în graful lui
+        }
+        long start = System.nanoTime();
+        try {
+            enrichmentService.enrichArticle(task.articleUri(), task.title(), task.graphUri());
+            articleRepository.updateEnrichmentState(task.articleId(), EnrichmentStatus.DONE, task.attempt(), null,
+                    LocalDateTime.now());
+            enrichmentTimer("done").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return false;
+        } catch (RuntimeException e) {
+            String error = truncate(e.getMessage());
+            enrichmentTimer(task.attempt() >= maxAttempts ? "failed" : "retry")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (task.attempt() >= maxAttempts) {
+                log.warn("Enrichment failed for article {} after {} attempts", task.articleId(), task.attempt(), e);
+                articleRepository.updateEnrichmentState(task.articleId(), EnrichmentStatus.FAILED, task.attempt(),
+                        error, null);
+                return false;
+            }
+            articleRepository.updateEnrichmentState(task.articleId(), EnrichmentStatus.PENDING, task.attempt(),
+                    error, null);
+            long delay = retryBackoffMs << (task.attempt() - 1);
+            retryScheduler.schedule(() -> requeue(task.nextAttempt()), delay, TimeUnit.MILLISECONDS);
+            return true;
+        }
+    }
+
+    private Timer enrichmentTimer(String outcome) {
+        return Timer.builder("enrichment.article").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    // articolul e deja PENDING: dacă nu mai e loc, îl reia sweep-ul
+    private void requeue(EnrichmentTask task) {
+        if (!queue.offer(task)) {
+            queued.remove(task.articleId());
+            backlog.set(true);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
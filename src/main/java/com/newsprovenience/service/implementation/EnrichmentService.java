@@ -1,21 +1,41 @@
 package com.newsprovenience.service.implementation;
 
-import com.newsprovenience.domain.Article;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.jena.query.*;
 import org.apache.jena.rdf.model.*;
-import org.apache.jena.sparql.exec.http.QueryExecutionHTTP;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class EnrichmentService {
 
-    private final RDFService rdfService;
+    private final EnrichmentLookupCache lookupCache;
+    private final GraphOutbox graphOutbox;
+    private final MeterRegistry meterRegistry;
 
     @Value("${dbpedia.sparql-endpoint}")
     private String dbpediaEndpoint;
@@ -26,29 +46,150 @@ public class EnrichmentService {
     @Value("${rdf.namespaces.schema}")
     private String schemaNamespace;
 
+    @Value("${enrichment.endpoints.timeout:PT3S}")
+    private Duration endpointTimeout;
+
+    @Value("${enrichment.endpoints.max-concurrent:8}")
+    private int endpointMaxConcurrent;
+
+    @Value("${enrichment.endpoints.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${enrichment.endpoints.open-duration:PT30S}")
+    private Duration openDuration;
+
+    private SparqlEndpointClient dbpediaClient;
+    private SparqlEndpointClient wikidataClient;
+    private ExecutorService lookupExecutor;
+
+    @PostConstruct
+    void init() {
+        dbpediaClient = new SparqlEndpointClient("dbpedia", dbpediaEndpoint, endpointTimeout,
+                endpointMaxConcurrent, failureThreshold, openDuration);
+        wikidataClient = new SparqlEndpointClient("wikidata", wikidataEndpoint, endpointTimeout,
+                endpointMaxConcurrent, failureThreshold, openDuration);
+
+        for (SparqlEndpointClient client : List.of(dbpediaClient, wikidataClient)) {
+            // 0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN
+            Gauge.builder("enrichment.endpoint.state", client, c -> c.getState().ordinal())
+                    .tag("endpoint", client.getName())
+                    .register(meterRegistry);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        lookupExecutor = Executors.newFixedThreadPool(2 * endpointMaxConcurrent, r -> {
+            Thread t = new Thread(r, "enrichment-lookup-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
     /**
      * MVP: caută câteva URI-uri DBpedia/Wikidata după un keyphrase și scrie schema:about în graful articolului.
+     * Rulează pe workerii din {@link EnrichmentQueue}. Triplele trec prin outbox, după graful v1 al articolului,
+     * deci nu pot fi șterse de un PUT al grafului care încă n-a ajuns în Fuseki.
+     *
+     * @throws LookupFailedException dacă un endpoint a eșuat (eroare, timeout, circuit deschis); legăturile găsite
+     *                               de celălalt sunt scrise oricum, iar coada reîncearcă articolul
      */
-    public void enrichArticle(Article article, String graphUri) {
-        String phrase = extractKeyPhrase(article.getTitle());
+    public void enrichArticle(String articleUri, String title, String graphUri) {
+        String phrase = extractKeyPhrase(title);
         if (phrase.isBlank()) return;
 
-        List<String> dbpediaUris = queryDbpediaResources(phrase);
-        List<String> wikidataUris = queryWikidataItems(phrase);
+        // Ambele lookup-uri pornesc în paralel; fiecare are propriul deadline
+        CompletableFuture<List<String>> dbpedia = lookupAsync(dbpediaClient, phrase, this::dbpediaQuery, "resource");
+        CompletableFuture<List<String>> wikidata = lookupAsync(wikidataClient, phrase, this::wikidataQuery, "item");
 
-        if (dbpediaUris.isEmpty() && wikidataUris.isEmpty()) return;
+        List<String> failures = new ArrayList<>(2);
+        List<String> dbpediaUris = resultOf(dbpedia, dbpediaClient, failures);
+        List<String> wikidataUris = resultOf(wikidata, wikidataClient, failures);
 
-        Model additions = ModelFactory.createDefaultModel();
-        Resource a = additions.createResource(article.getUri());
-        Property about = additions.createProperty(schemaNamespace + "about");
+        if (!dbpediaUris.isEmpty() || !wikidataUris.isEmpty()) {
+            Model additions = ModelFactory.createDefaultModel();
+            Resource a = additions.createResource(articleUri);
+            Property about = additions.createProperty(schemaNamespace + "about");
 
-        for (String uri : dbpediaUris) a.addProperty(about, additions.createResource(uri));
-        for (String uri : wikidataUris) a.addProperty(about, additions.createResource(uri));
+            for (String uri : dbpediaUris) a.addProperty(about, additions.createResource(uri));
+            for (String uri : wikidataUris) a.addProperty(about, additions.createResource(uri));
+
+            // la reîncercare, lookup-ul reușit vine din cache și adaugă aceleași triple, fără efect
+            graphOutbox.addToGraph(graphUri, additions);
+        }
 
-        rdfService.addToNamedGraph(graphUri, additions);
+        if (!failures.isEmpty()) throw new LookupFailedException("Lookup failed: " + String.join("; ", failures));
     }
 
-    private List<String> queryDbpediaResources(String phrase) {
+    /** Cel puțin un endpoint n-a răspuns; diferit de un răspuns fără rezultate. */
+    public static class LookupFailedException extends RuntimeException {
+        public LookupFailedException(String message) {
+            super(message);
+        }
+    }
+
+    public Map<String, SparqlEndpointClient.State> endpointStates() {
+        return Map.of(dbpediaClient.getName(), dbpediaClient.getState(),
+                wikidataClient.getName(), wikidataClient.getState());
+    }
+
+    /**
+     * Un endpoint lent sau indisponibil nu blochează îmbogățirea: după deadline lookup-ul eșuează (fără să ajungă
+     * în cache). Dacă răspunsul vine totuși mai târziu, el e cache-uit pentru următorul articol.
+     */
+    private CompletableFuture<List<String>> lookupAsync(SparqlEndpointClient client, String phrase,
+                                                       Function<String, Query> queryBuilder, String var) {
+        // marjă peste timeout-ul HTTP, pentru așteptarea unui permis de concurență
+        long deadlineMs = 2 * endpointTimeout.toMillis();
+        return CompletableFuture
+                .supplyAsync(() -> lookupCache.get(client.getUrl(), phrase,
+                                () -> remoteCall(client, () -> client.selectUris(queryBuilder.apply(phrase), var))),
+                        lookupExecutor)
+                .orTimeout(deadlineMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Rezultatul lookup-ului; la eșec îl notează în {@code failures} și întoarce listă goală. */
+    private List<String> resultOf(CompletableFuture<List<String>> lookup, SparqlEndpointClient client,
+                                  List<String> failures) {
+        try {
+            return lookup.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                Counter.builder("enrichment.lookup.timeouts").tag("endpoint", client.getName())
+                        .register(meterRegistry).increment();
+            }
+            String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            log.debug("Lookup at {} failed: {}", client.getName(), message);
+            failures.add(client.getName() + ": " + message);
+            return List.of();
+        }
+    }
+
+    /** Doar apelurile care ajung la endpoint (cache miss); hit-urile sunt în metricile cache-ului enrichment.lookup. */
+    private List<String> remoteCall(SparqlEndpointClient client, Supplier<List<String>> call) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            List<String> uris = call.get();
+            outcome = uris.isEmpty() ? "empty" : "success";
+            return uris;
+        } catch (SparqlEndpointClient.EndpointUnavailableException e) {
+            outcome = "unavailable"; // circuit deschis sau limita de concurență
+            throw e;
+        } finally {
+            Timer.builder("enrichment.remote")
+                    .tag("endpoint", client.getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Query dbpediaQuery(String phrase) {
         ParameterizedSparqlString pss = new ParameterizedSparqlString("""
             PREFIX rdfs: <http://www.w3.org/2000/01/rdf-schema#>
             SELECT ?resource
@@ -60,11 +201,10 @@ public class EnrichmentService {
             LIMIT 5
         """);
         pss.setLiteral("PHRASE", phrase);
-
-        return execRemoteSelectUris(dbpediaEndpoint, pss.asQuery(), "resource");
+        return pss.asQuery();
     }
 
-    private List<String> queryWikidataItems(String phrase) {
+    private Query wikidataQuery(String phrase) {
         ParameterizedSparqlString pss = new ParameterizedSparqlString("""
             PREFIX rdfs: <http://www.w3.org/2000/01/rdf-schema#>
             PREFIX wikibase: <http://wikiba.se/ontology#>
@@ -80,23 +220,7 @@ public class EnrichmentService {
             LIMIT 5
         """);
         pss.setLiteral("PHRASE", phrase);
-
-        return execRemoteSelectUris(wikidataEndpoint, pss.asQuery(), "item");
-    }
-
-    private List<String> execRemoteSelectUris(String endpoint, Query query, String var) {
-        List<String> uris = new ArrayList<>();
-        try (QueryExecution qexec = QueryExecutionHTTP.service(endpoint).query(query).build()) {
-            ResultSet rs = qexec.execSelect();
-            while (rs.hasNext()) {
-                QuerySolution sol = rs.next();
-                if (sol.contains(var) && sol.get(var).isResource()) {
-                    uris.add(sol.getResource(var).getURI());
-                }
-            }
-        } catch (Exception ignored) {
-        }
-        return uris;
+        return pss.asQuery();
     }
 
     private String extractKeyPhrase(String text) {
@@ -0,0 +1,387 @@
+package com.newsprovenience.service.implementation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.GraphOutboxEntry;
+import com.newsprovenience.domain.GraphWriteOperation;
+import com.newsprovenience.domain.Topic;
+import com.newsprovenience.repository.GraphOutboxRepository;
+import com.newsprovenience.repository.TopicRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Scrierile de grafuri ale aplicației, înregistrate în tabela graph_outbox în tranzacția apelantului.
+ * Dacă tranzacția face rollback, nu rămâne niciun graf orfan în Fuseki; dacă Fuseki e lent, tranzacția nu-l așteaptă.
+ *
+ * <p>Topic-urile, autorii, organizațiile și agentul sistemului stau în grafurile partajate
+ * ({@link RDFService#referenceGraphUris()}), nu în graful fiecărui articol: la scrierea unui articol,
+ * grafurile partajate primesc un PATCH doar pentru subiectele ale căror triple s-au schimbat.
+ * Triplele scrise sunt ținute într-un cache mărginit; un subiect care lipsește din el e citit din Fuseki,
+ * cu intrările încă neaplicate puse peste. Tranzacțiile care schimbă același subiect se serializează.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GraphOutbox {
+
+    private final GraphOutboxRepository outboxRepository;
+    private final RDFService rdfService;
+    private final MeterRegistry meterRegistry;
+    private final TopicRepository topicRepository;
+
+    // triplele subiectelor din grafurile partajate, așa cum le lasă outbox-ul (actualizat după commit)
+    private Cache<ReferenceKey, Set<Triple>> referenceData;
+
+    // scrierile aceluiași subiect din grafurile partajate se serializează (vezi referenceEntries)
+    private final ReentrantLock[] subjectLocks = IntStream.range(0, 64)
+            .mapToObj(i -> new ReentrantLock()).toArray(ReentrantLock[]::new);
+
+    private record ReferenceKey(Node graph, Node subject) {
+    }
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.reference-cache.max-subjects:100000}")
+    private long maxReferenceSubjects;
+
+    @Value("${outbox.reference-lock-timeout:PT10S}")
+    private Duration referenceLockTimeout;
+
+    @PostConstruct
+    void init() {
+        referenceData = Caffeine.newBuilder().maximumSize(maxReferenceSubjects).build();
+
+        // citite din baza de date la fiecare scrape; tabela conține doar scrierile încă neaplicate
+        Gauge.builder("outbox.pending", () -> outboxRepository.countByAttemptsLessThan(maxAttempts))
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead", () -> outboxRepository.countByAttemptsGreaterThanEqual(maxAttempts))
+                .register(meterRegistry);
+    }
+
+    /** Rezultatul unei actualizări: graful scris și câte triple pleacă/vin față de graful anterior. */
+    public record GraphUpdate(String graphUri, long removed, long added) {
+    }
+
+    /** Graful versiunii curente a articolului, generat din entitate; întoarce URI-ul grafului. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String replaceArticleGraph(Article article) {
+        GraphOutboxEntry entry = articleEntry(article);
+        outboxRepository.save(entry);
+        outboxRepository.saveAll(referenceEntries(List.of(article)));
+        return entry.getGraphUri();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replaceArticleGraphs(Collection<Article> articles) {
+        List<GraphOutboxEntry> entries = new ArrayList<>(articles.size() + 3);
+        for (Article article : articles) entries.add(articleEntry(article));
+        entries.addAll(referenceEntries(articles));
+        outboxRepository.saveAll(entries);
+    }
+
+    /**
+     * Scrie articolul modificat. Dacă graful versiunii curente e același cu {@code previousGraphUri},
+     * se trimite doar diferența (DELETE DATA / INSERT DATA) față de graful așa cum îl va lăsa outbox-ul;
+     * altfel graful noii versiuni se creează complet, iar cel vechi rămâne neatins.
+     * Legăturile de îmbogățire (schema:about spre DBpedia/Wikidata) nu vin din entitate și se păstrează.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public GraphUpdate updateArticleGraph(Article article, String previousGraphUri) {
+        String graphUri = rdfService.currentGraphUri(article);
+        Graph previous = currentView(previousGraphUri);
+        Graph next = rdfService.articleToRDF(article).getGraph();
+        rdfService.enrichmentLinks(article.getUri(), previous, topicUris(article, previous))
+                .find().forEachRemaining(next::add);
+        outboxRepository.saveAll(referenceEntries(List.of(article)));
+
+        if (!graphUri.equals(previousGraphUri)) {
+            outboxRepository.save(entry(graphUri, GraphWriteOperation.REPLACE, ntriples(next)));
+            return new GraphUpdate(graphUri, 0, next.size());
+        }
+
+        Graph removals = GraphFactory.createDefaultGraph();
+        previous.find().filterDrop(next::contains).forEachRemaining(removals::add);
+        Graph additions = GraphFactory.createDefaultGraph();
+        next.find().filterDrop(previous::contains).forEachRemaining(additions::add);
+        if (removals.isEmpty() && additions.isEmpty()) return new GraphUpdate(graphUri, 0, 0);
+
+        GraphOutboxEntry entry = entry(graphUri, GraphWriteOperation.PATCH, ntriples(additions));
+        entry.setRemovals(ntriples(removals).toString(StandardCharsets.UTF_8));
+        outboxRepository.save(entry);
+        return new GraphUpdate(graphUri, removals.size(), additions.size());
+    }
+
+    /** Grafurile tuturor versiunilor articolului. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dropArticleGraphs(Article article) {
+        List<String> graphUris = new ArrayList<>(article.getGraphVersion());
+        for (int version = 1; version <= article.getGraphVersion(); version++) {
+            graphUris.add(RDFService.graphUri(article.getUri(), version));
+        }
+        dropGraphs(graphUris);
+    }
+
+    /** Un REPLACE cu payload gol e un DROP. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void dropGraphs(Collection<String> graphUris) {
+        List<GraphOutboxEntry> entries = new ArrayList<>(graphUris.size());
+        for (String graphUri : graphUris) {
+            entries.add(entry(graphUri, GraphWriteOperation.REPLACE, new ByteArrayOutputStream(0)));
+        }
+        outboxRepository.saveAll(entries);
+    }
+
+    /**
+     * Graful din Fuseki cu intrările încă neaplicate puse peste. Intrările se citesc înaintea grafului:
+     * una scrisă între cele două citiri apare de două ori, iar reaplicarea ei nu schimbă rezultatul.
+     */
+    Graph currentView(String graphUri) {
+        List<GraphOutboxEntry> pending = outboxRepository.findByGraphUriOrderById(graphUri);
+        Graph stored = rdfService.getNamedGraph(graphUri).getGraph();
+        if (pending.isEmpty()) return stored;
+
+        GraphWrites writes = new GraphWrites();
+        pending.forEach(writes::apply);
+        return writes.applyTo(graphUri, stored);
+    }
+
+    /** Grafuri încărcate aditiv (importul): câte un ADD per graf, aplicat după commit în ordinea outbox-ului. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addGraphs(Map<String, Graph> graphs) {
+        List<GraphOutboxEntry> entries = new ArrayList<>(graphs.size());
+        graphs.forEach((graphUri, graph) -> entries.add(entry(graphUri, GraphWriteOperation.ADD, ntriples(graph))));
+        outboxRepository.saveAll(entries);
+    }
+
+    @Transactional
+    public void addToGraph(String graphUri, Model additions) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RDFDataMgr.write(out, additions, RDFFormat.NTRIPLES);
+        outboxRepository.save(entry(graphUri, GraphWriteOperation.ADD, out));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", outboxRepository.countByAttemptsLessThan(maxAttempts));
+        stats.put("dead", outboxRepository.countByAttemptsGreaterThanEqual(maxAttempts));
+        stats.put("oldestPending", outboxRepository.findOldestPending(maxAttempts));
+        return stats;
+    }
+
+    /** Intrările care au epuizat reîncercările (ex. după o pană lungă de Fuseki) sunt reluate de la zero. */
+    public int retryDead() {
+        return outboxRepository.reviveDead(LocalDateTime.now(), maxAttempts);
+    }
+
+    /**
+     * Renunță la intrările moarte, ca grafurile lor să nu mai rămână blocate; scrierile pierdute
+     * se refac prin rematerializare. Subiectele grafurilor partajate atinse sunt scoase din cache,
+     * ca următoarea scriere să le compare cu ce e de fapt în Fuseki.
+     */
+    public int discardDead() {
+        Set<Node> graphs = outboxRepository.findDeadGraphUris(maxAttempts).stream()
+                .map(NodeFactory::createURI).collect(Collectors.toSet());
+        int discarded = outboxRepository.deleteDead(maxAttempts);
+        referenceData.asMap().keySet().removeIf(key -> graphs.contains(key.graph()));
+        return discarded;
+    }
+
+    /** Care dintre obiectele schema:about din graf sunt topic-uri (restul sunt legături de îmbogățire). */
+    private Set<String> topicUris(Article article, Graph graph) {
+        Set<String> about = rdfService.aboutObjects(article.getUri(), graph).stream()
+                .filter(Node::isURI).map(Node::getURI).collect(Collectors.toSet());
+        if (about.isEmpty()) return Set.of();
+        return topicRepository.findByUriIn(about).stream().map(Topic::getUri).collect(Collectors.toSet());
+    }
+
+    /**
+     * Intrările pentru grafurile partajate: câte un PATCH per graf, doar cu subiectele ale căror triple diferă
+     * de cele scrise deja. Subiectele schimbate sunt blocate până la sfârșitul tranzacției, iar diferența se
+     * calculează abia după blocare: o tranzacție concurentă care schimbă același subiect așteaptă commit-ul
+     * acesteia și pornește de la valorile ei, iar intrările ei primesc id-uri mai mari, deci se aplică după.
+     * Blocarea e în proces (baza de date e a procesului, iar dispatcher-ul rulează tot aici).
+     */
+    private List<GraphOutboxEntry> referenceEntries(Collection<Article> articles) {
+        Map<ReferenceKey, Set<Triple>> current = new LinkedHashMap<>();
+        StreamRDF collector = new StreamRDFBase() {
+            @Override
+            public void quad(Quad quad) {
+                current.computeIfAbsent(new ReferenceKey(quad.getGraph(), quad.getSubject()), k -> new HashSet<>())
+                        .add(quad.asTriple());
+            }
+        };
+        for (Article article : articles) rdfService.emitReference(article, true, collector);
+        // subiectele identice cu cache-ul nu se blochează: un articol nou cu un topic cunoscut nu așteaptă pe nimeni
+        current.entrySet().removeIf(e -> e.getValue().equals(referenceData.getIfPresent(e.getKey())));
+        if (current.isEmpty()) return List.of();
+
+        lockSubjects(current.keySet());
+        Map<ReferenceKey, Set<Triple>> cached = referenceData.getAllPresent(current.keySet());
+        Map<ReferenceKey, Set<Triple>> known = cached.size() < current.size()
+                ? withStored(current.keySet(), cached)
+                : cached;
+
+        Map<ReferenceKey, Set<Triple>> changed = new HashMap<>();
+        Map<Node, Graph> removals = new LinkedHashMap<>();
+        Map<Node, Graph> additions = new LinkedHashMap<>();
+        current.forEach((key, triples) -> {
+            Set<Triple> written = known.get(key);
+            if (triples.equals(written)) return;
+            changed.put(key, triples);
+            Graph add = additions.computeIfAbsent(key.graph(), g -> GraphFactory.createDefaultGraph());
+            Graph delete = removals.computeIfAbsent(key.graph(), g -> GraphFactory.createDefaultGraph());
+            for (Triple t : triples) if (written == null || !written.contains(t)) add.add(t);
+            if (written != null) for (Triple t : written) if (!triples.contains(t)) delete.add(t);
+        });
+        if (changed.isEmpty()) return List.of();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                referenceData.putAll(changed);
+            }
+        });
+
+        List<GraphOutboxEntry> entries = new ArrayList<>(additions.size());
+        additions.forEach((graph, add) -> {
+            Graph delete = removals.get(graph);
+            if (delete.isEmpty()) {
+                entries.add(entry(graph.getURI(), GraphWriteOperation.ADD, ntriples(add)));
+                return;
+            }
+            GraphOutboxEntry entry = entry(graph.getURI(), GraphWriteOperation.PATCH, ntriples(add));
+            entry.setRemovals(ntriples(delete).toString(StandardCharsets.UTF_8));
+            entries.add(entry);
+        });
+        return entries;
+    }
+
+    /**
+     * Blochează subiectele până la sfârșitul tranzacției (commit sau rollback). Lock-urile sunt pe benzi, luate
+     * în ordinea indicilor; o tranzacție care mai cere alte benzi după o primă scriere poate intra în conflict
+     * cu alta, caz în care așteptarea expiră și tranzacția eșuează în loc să rămână blocată.
+     */
+    private void lockSubjects(Set<ReferenceKey> keys) {
+        SortedSet<Integer> stripes = new TreeSet<>();
+        for (ReferenceKey key : keys) stripes.add(Math.floorMod(key.hashCode(), subjectLocks.length));
+        List<ReentrantLock> held = new ArrayList<>(stripes.size());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                held.forEach(ReentrantLock::unlock);
+            }
+        });
+        for (int stripe : stripes) {
+            ReentrantLock lock = subjectLocks[stripe];
+            boolean acquired;
+            try {
+                acquired = lock.tryLock(referenceLockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotAcquireLockException("Interrupted while locking reference subjects", e);
+            }
+            if (!acquired) throw new CannotAcquireLockException("Timed out locking reference subjects");
+            held.add(lock);
+        }
+    }
+
+    /**
+     * Completează {@code known} cu subiectele lipsă din cache, citite din Fuseki cu intrările neaplicate puse peste
+     * (un CONSTRUCT per graf). Un subiect fără triple e înregistrat ca gol. Dacă Fuseki nu răspunde, excepția
+     * ajunge la apelant și tranzacția face rollback: fără valorile vechi, un PATCH ar lăsa triplele lor în graf.
+     */
+    private Map<ReferenceKey, Set<Triple>> withStored(Set<ReferenceKey> keys, Map<ReferenceKey, Set<Triple>> known) {
+        Map<Node, Set<Node>> missing = new LinkedHashMap<>();
+        for (ReferenceKey key : keys) {
+            if (!known.containsKey(key) && key.subject().isURI()) {
+                missing.computeIfAbsent(key.graph(), g -> new HashSet<>()).add(key.subject());
+            }
+        }
+        Map<ReferenceKey, Set<Triple>> result = new HashMap<>(known);
+        missing.forEach((graph, subjects) -> {
+            Graph stored = rdfService.subjectTriples(graph.getURI(), subjects);
+            List<GraphOutboxEntry> pending = outboxRepository.findByGraphUriOrderById(graph.getURI());
+            if (!pending.isEmpty()) {
+                GraphWrites writes = new GraphWrites();
+                pending.forEach(writes::apply);
+                stored = writes.applyTo(graph.getURI(), stored);
+            }
+            Map<ReferenceKey, Set<Triple>> loaded = new HashMap<>();
+            for (Node subject : subjects) loaded.put(new ReferenceKey(graph, subject), new HashSet<>());
+            stored.find().forEachRemaining(t -> {
+                Set<Triple> triples = loaded.get(new ReferenceKey(graph, t.getSubject()));
+                if (triples != null) triples.add(t);
+            });
+            loaded.forEach(referenceData.asMap()::putIfAbsent);
+            result.putAll(loaded);
+        });
+        return result;
+    }
+
+    private GraphOutboxEntry articleEntry(Article article) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        StreamRDF stream = StreamRDFWriter.getWriterStream(out, RDFFormat.NTRIPLES);
+        stream.start();
+        rdfService.emitArticle(article, null, stream);
+        stream.finish();
+        return entry(rdfService.currentGraphUri(article), GraphWriteOperation.REPLACE, out);
+    }
+
+    private static ByteArrayOutputStream ntriples(Graph graph) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RDFDataMgr.write(out, graph, RDFFormat.NTRIPLES);
+        return out;
+    }
+
+    private static GraphOutboxEntry entry(String graphUri, GraphWriteOperation operation, ByteArrayOutputStream payload) {
+        GraphOutboxEntry entry = new GraphOutboxEntry();
+        entry.setGraphUri(graphUri);
+        entry.setOperation(operation);
+        entry.setPayload(payload.toString(StandardCharsets.UTF_8));
+        return entry;
+    }
+}
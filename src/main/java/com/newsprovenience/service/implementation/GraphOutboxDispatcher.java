@@ -0,0 +1,121 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.GraphOutboxEntry;
+import com.newsprovenience.repository.GraphOutboxRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Golește graph_outbox în Fuseki. Per lot: intrările scadente sunt coalescate pe graf ({@link GraphWrites})
+ * și trimise într-un singur request (vezi {@link RDFService#writeNamedGraphs}).
+ * Intrările se șterg doar după succes; reaplicarea după un crash e inofensivă (REPLACE, ADD și PATCH sunt idempotente).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GraphOutboxDispatcher {
+
+    // după atâtea eșecuri, graful din capul cozii pleacă singur: o intrare invalidă nu mai blochează tot lotul
+    private static final int ISOLATE_AFTER_ATTEMPTS = 3;
+
+    private final GraphOutboxRepository outboxRepository;
+    private final RDFService rdfService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retry-backoff:PT1S}")
+    private Duration retryBackoff;
+
+    @Value("${outbox.max-backoff:PT5M}")
+    private Duration maxBackoff;
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:PT0.2S}")
+    public void dispatch() {
+        // cât timp loturile reușesc, continuăm fără să așteptăm următorul tick
+        int written;
+        do {
+            written = dispatchBatch();
+        } while (written > 0);
+    }
+
+    /** @return numărul de intrări scrise cu succes */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<GraphOutboxEntry> entries = outboxRepository.findDispatchable(now, maxAttempts, Limit.of(batchSize));
+        if (entries.isEmpty()) return 0;
+
+        GraphOutboxEntry head = entries.get(0);
+        if (head.getAttempts() >= ISOLATE_AFTER_ATTEMPTS) {
+            entries = entries.stream().filter(e -> e.getGraphUri().equals(head.getGraphUri())).toList();
+        }
+
+        long start = System.nanoTime();
+        GraphWrites writes = new GraphWrites();
+        try {
+            entries.forEach(writes::apply);
+            rdfService.writeNamedGraphs(writes.replace, writes.delete, writes.add);
+        } catch (RuntimeException e) {
+            dispatchTimer("error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            failed(entries, e, now);
+            return 0;
+        }
+        long nanos = System.nanoTime() - start;
+        dispatchTimer("success").record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("outbox.dispatch.entries").register(meterRegistry).record(entries.size());
+
+        outboxRepository.deleteAllInBatch(entries);
+        log.debug("Graph outbox: {} entries -> {} replaced, {} changed graphs in {} ms", entries.size(),
+                writes.replace.size(), writes.add.size(), TimeUnit.NANOSECONDS.toMillis(nanos));
+        return entries.size();
+    }
+
+    // un lot = un request către Fuseki, deci și etapa "putNamedGraph" a ingestiei
+    private Timer dispatchTimer(String outcome) {
+        return Timer.builder("outbox.dispatch").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    private void failed(List<GraphOutboxEntry> entries, RuntimeException error, LocalDateTime now) {
+        String message = truncate(error.getMessage());
+        for (GraphOutboxEntry e : entries) {
+            int attempts = e.getAttempts() + 1;
+            e.setAttempts(attempts);
+            e.setLastError(message);
+            e.setNextAttemptAt(now.plus(backoff(attempts)));
+        }
+        outboxRepository.saveAll(entries);
+
+        int attempts = entries.get(0).getAttempts();
+        if (attempts >= maxAttempts) {
+            log.error("Graph outbox: giving up on {} entries after {} attempts", entries.size(), attempts, error);
+        } else {
+            log.warn("Graph outbox: write of {} entries failed (attempt {}): {}", entries.size(), attempts, message);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
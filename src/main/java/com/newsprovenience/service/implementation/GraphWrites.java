@@ -0,0 +1,74 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.GraphOutboxEntry;
+import com.newsprovenience.domain.GraphWriteOperation;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.sparql.graph.GraphFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Efectul net al unei secvențe de intrări din outbox, per graf. Un REPLACE anulează tot ce era înainte;
+ * altfel graful final e (graf − delete) ∪ add, iar o ștergere urmată de o adăugare a aceleiași triple o păstrează.
+ * Aplicarea repetată dă același rezultat, deci o intrare scrisă deja în Fuseki poate fi reaplicată fără efect.
+ */
+final class GraphWrites {
+
+    final Map<String, Graph> replace = new LinkedHashMap<>();
+    final Map<String, Graph> delete = new LinkedHashMap<>();
+    final Map<String, Graph> add = new LinkedHashMap<>();
+
+    void apply(GraphOutboxEntry entry) {
+        String g = entry.getGraphUri();
+        if (entry.getOperation() == GraphWriteOperation.REPLACE) {
+            delete.remove(g);
+            add.remove(g);
+            replace.put(g, parse(entry.getPayload()));
+            return;
+        }
+
+        Graph removals = entry.getOperation() == GraphWriteOperation.PATCH && entry.getRemovals() != null
+                ? parse(entry.getRemovals())
+                : GraphFactory.createDefaultGraph();
+        Graph additions = parse(entry.getPayload());
+
+        Graph replaced = replace.get(g);
+        if (replaced != null) {
+            removals.find().forEachRemaining(replaced::delete);
+            additions.find().forEachRemaining(replaced::add);
+            return;
+        }
+        Graph deletes = delete.computeIfAbsent(g, k -> GraphFactory.createDefaultGraph());
+        Graph adds = add.computeIfAbsent(g, k -> GraphFactory.createDefaultGraph());
+        removals.find().forEachRemaining(t -> {
+            adds.delete(t);
+            deletes.add(t);
+        });
+        additions.find().forEachRemaining(adds::add);
+    }
+
+    /** Graful {@code graphUri} după aplicarea scrierilor peste {@code base}; {@code base} nu e modificat. */
+    Graph applyTo(String graphUri, Graph base) {
+        Graph result = GraphFactory.createDefaultGraph();
+        Graph replaced = replace.get(graphUri);
+        if (replaced != null) {
+            replaced.find().forEachRemaining(result::add);
+            return result;
+        }
+        base.find().forEachRemaining(result::add);
+        Graph deletes = delete.get(graphUri);
+        if (deletes != null) deletes.find().forEachRemaining(result::delete);
+        Graph adds = add.get(graphUri);
+        if (adds != null) adds.find().forEachRemaining(result::add);
+        return result;
+    }
+
+    private static Graph parse(String ntriples) {
+        Graph graph = GraphFactory.createDefaultGraph();
+        RDFParser.fromString(ntriples).lang(Lang.NTRIPLES).parse(graph);
+        return graph;
+    }
+}
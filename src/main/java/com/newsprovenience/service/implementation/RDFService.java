@@ -1,21 +1,67 @@
 package com.newsprovenience.service.implementation;
 
 import com.newsprovenience.domain.Article;
-import org.apache.jena.datatypes.xsd.XSDDatatype;
+import jakarta.annotation.PostConstruct;
+import org.apache.jena.atlas.web.HttpException;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.query.*;
 import org.apache.jena.rdfconnection.RDFConnection;
 import org.apache.jena.rdf.model.*;
-import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.out.NodeFmtLib;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.apache.jena.sparql.modify.request.QuadDataAcc;
+import org.apache.jena.sparql.modify.request.UpdateDataDelete;
+import org.apache.jena.sparql.modify.request.UpdateDataInsert;
+import org.apache.jena.sparql.modify.request.UpdateDrop;
+import org.apache.jena.system.Txn;
+import org.apache.jena.update.UpdateRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.StringWriter;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Service
 public class RDFService {
 
     private final RDFConnection conn;
 
+    // incrementat la fiecare scriere; cache-urile de citire îl folosesc în cheie
+    private final AtomicLong datasetVersion = new AtomicLong();
+
+    // versiunea fiecărui graf scris de aplicație (din aceeași secvență ca datasetVersion)
+    private final Map<String, GraphVersion> graphVersions = new ConcurrentHashMap<>();
+
+    // versiunea grafurilor fără intrare proprie: ridicată de update-urile SPARQL arbitrare și la golirea hărții
+    private volatile GraphVersion untrackedGraphs = new GraphVersion(0, 0);
+
+    @Value("${rdf.graph-versions.max-entries:100000}")
+    private int maxTrackedGraphs;
+
+    // LocalDateTime.toString() omite secundele când sunt 0 ("2024-12-06T10:00"), formă invalidă pentru xsd:dateTime
+    static final DateTimeFormatter XSD_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private static final String GRAPH_VERSION_SEPARATOR = "/graph/v";
+
+    private RdfVocabulary vocabulary;
+    private ArticleRdfEmitter emitter;
+
     public RDFService(RDFConnection conn) {
         this.conn = conn;
     }
@@ -35,316 +81,301 @@ public class RDFService {
     @Value("${rdf.namespaces.skos}")
     private String skosNamespace;
 
+    @PostConstruct
+    void initVocabulary() {
+        vocabulary = new RdfVocabulary(baseNamespace, schemaNamespace, dcNamespace, provNamespace, skosNamespace);
+        emitter = new ArticleRdfEmitter(vocabulary);
+    }
+
     // -------------------------
     // SPARQL (SELECT/UPDATE)
     // -------------------------
-    public ResultSet executeSparqlQuery(String queryString) {
-        Query query = QueryFactory.create(queryString);
-        try (QueryExecution qexec = conn.query(query)) {
-            // Copiem rezultatul ca să nu depindă de QueryExecution închis.
-            return ResultSetFactory.copyResults(qexec.execSelect());
-        }
+    // Citirile rulează în tranzacție READ: pe un dataset local (TDB2) e obligatoriu,
+    // pe conexiunea remote e doar un lock local, fără cost de rețea.
+    // Scrierile GSP/UPDATE își deschid singure tranzacția WRITE în ambele moduri.
+    /**
+     * QueryExecution rămâne deschisă exact cât rulează consumer-ul,
+     * rândurile sunt citite din răspunsul Fuseki pe măsură ce consumer-ul le cere.
+     */
+    public void executeSparqlQuery(Query query, Consumer<ResultSet> consumer) {
+        Txn.executeRead(conn, () -> {
+            try (QueryExecution qexec = conn.query(query)) {
+                consumer.accept(qexec.execSelect());
+            }
+        });
     }
 
     public void executeSparqlUpdate(String updateString) {
-        conn.update(updateString);
+        try {
+            conn.update(updateString);
+        } finally {
+            // nu știm ce grafuri a atins update-ul -> se schimbă versiunea tuturor
+            untrackedGraphs = new GraphVersion(datasetVersion.incrementAndGet(), System.currentTimeMillis());
+        }
     }
 
-    // -------------------------
-    // Graph Store Protocol (GSP)
-    // -------------------------
-    public void putNamedGraph(String graphUri, Model model) {
-        conn.put(graphUri, model); // PUT = înlocuiește graful
+    /**
+     * Versiunea curentă a dataset-ului. Se incrementează DUPĂ fiecare scriere (și la eșec, scrierea poate fi parțială),
+     * deci un rezultat citit sub versiunea v nu mai e servit după o scriere.
+     */
+    public long datasetVersion() {
+        return datasetVersion.get();
     }
 
-    public void addToNamedGraph(String graphUri, Model model) {
-        conn.load(graphUri, model); // LOAD/POST = adaugă în graf
+    /**
+     * @param version    se schimbă la fiecare scriere a grafului; unic doar în cadrul procesului curent
+     * @param modifiedAt momentul scrierii (epoch millis); 0 = nescris de la pornire
+     */
+    public record GraphVersion(long version, long modifiedAt) {
     }
 
-    public Model getNamedGraph(String graphUri) {
-        return conn.fetch(graphUri);
+    /**
+     * Versiunea curentă a unui graf numit, fără acces la Fuseki. La fel ca {@link #datasetVersion()}, se schimbă
+     * DUPĂ scriere: un export citit sub versiunea v nu mai e servit după ce graful a fost rescris.
+     */
+    public GraphVersion graphVersion(String graphUri) {
+        GraphVersion tracked = graphVersions.get(graphUri);
+        GraphVersion untracked = untrackedGraphs;
+        return tracked != null && tracked.version() > untracked.version() ? tracked : untracked;
     }
 
-    public String graphUriForV1(String articleUri) {
-        return articleUri + "/graph/v1";
+    private void graphsChanged(Collection<String> graphUris) {
+        GraphVersion changed = new GraphVersion(datasetVersion.incrementAndGet(), System.currentTimeMillis());
+        if (graphVersions.size() + graphUris.size() > maxTrackedGraphs) {
+            // harta e plină (ex. după un import mare): toate grafurile primesc versiunea curentă, apoi o luăm de la zero
+            untrackedGraphs = changed;
+            graphVersions.clear();
+        }
+        for (String graphUri : graphUris) graphVersions.put(graphUri, changed);
     }
 
     // -------------------------
-    // RDF mapping (Article -> RDF)
+    // Graph Store Protocol (GSP)
     // -------------------------
-    public Model articleToRDF(Article article) {
-        Model model = ModelFactory.createDefaultModel();
-
-        model.setNsPrefix("schema", schemaNamespace);
-        model.setNsPrefix("dc", dcNamespace);
-        model.setNsPrefix("prov", provNamespace);
-        model.setNsPrefix("skos", skosNamespace);
-        model.setNsPrefix("", baseNamespace);
-
-        Resource articleRes = model.createResource(article.getUri());
-
-        // Types: NewsArticle + CreativeWork (explicit)
-        articleRes.addProperty(RDF.type, model.createResource(schemaNamespace + "NewsArticle"));
-        articleRes.addProperty(RDF.type, model.createResource(schemaNamespace + "CreativeWork"));
-
-        String lang = (article.getLanguage() == null || article.getLanguage().isBlank())
-                ? null
-                : article.getLanguage();
-
-        // schema:headline
-        Property headline = model.createProperty(schemaNamespace + "headline");
-        if (article.getTitle() != null && !article.getTitle().isBlank()) {
-            if (lang != null) articleRes.addLiteral(headline, model.createLiteral(article.getTitle(), lang));
-            else articleRes.addProperty(headline, article.getTitle());
-        }
-
-        // schema:description
-        Property description = model.createProperty(schemaNamespace + "description");
-        if (article.getDescription() != null && !article.getDescription().isBlank()) {
-            if (lang != null) articleRes.addLiteral(description, model.createLiteral(article.getDescription(), lang));
-            else articleRes.addProperty(description, article.getDescription());
-        }
-
-        // schema:articleBody
-        Property body = model.createProperty(schemaNamespace + "articleBody");
-        if (article.getContent() != null && !article.getContent().isBlank()) {
-            if (lang != null) articleRes.addLiteral(body, model.createLiteral(article.getContent(), lang));
-            else articleRes.addProperty(body, article.getContent());
-        }
-
-        // schema:inLanguage
-        if (article.getLanguage() != null && !article.getLanguage().isBlank()) {
-            articleRes.addProperty(model.createProperty(schemaNamespace + "inLanguage"), article.getLanguage());
+    public void putNamedGraph(String graphUri, Model model) {
+        try {
+            conn.put(graphUri, model); // PUT = înlocuiește graful
+        } finally {
+            graphsChanged(List.of(graphUri));
         }
+    }
 
-        // schema:wordCount (typed)
-        if (article.getWordCount() != null) {
-            articleRes.addLiteral(model.createProperty(schemaNamespace + "wordCount"),
-                    model.createTypedLiteral(article.getWordCount()));
+    public void addToNamedGraph(String graphUri, Model model) {
+        try {
+            conn.load(graphUri, model); // LOAD/POST = adaugă în graf
+        } finally {
+            graphsChanged(List.of(graphUri));
         }
+    }
 
-        // schema:datePublished (typed xsd:dateTime)
-        if (article.getPublishedDate() != null) {
-            articleRes.addLiteral(model.createProperty(schemaNamespace + "datePublished"),
-                    model.createTypedLiteral(article.getPublishedDate().toString(), XSDDatatype.XSDdateTime));
+    /**
+     * Scrie mai multe grafuri numite într-un singur request (POST pe dataset, N-Quads).
+     * Pentru grafuri noi e echivalent cu câte un PUT per graf, dar cu un singur round-trip.
+     */
+    public void loadNamedGraphs(Map<String, Model> graphs) {
+        if (graphs.isEmpty()) return;
+        Dataset dataset = DatasetFactory.create();
+        graphs.forEach(dataset::addNamedModel);
+        try {
+            conn.loadDataset(dataset);
+        } finally {
+            graphsChanged(graphs.keySet());
         }
+    }
 
-        // schema:url + dc:source (originalUrl + sources)
-        if (article.getOriginalUrl() != null && !article.getOriginalUrl().isBlank()) {
-            articleRes.addProperty(model.createProperty(schemaNamespace + "url"), model.createResource(article.getOriginalUrl()));
-            articleRes.addProperty(model.createProperty(dcNamespace + "source"), model.createResource(article.getOriginalUrl()));
-        }
-        if (article.getSources() != null) {
-            for (String s : article.getSources()) {
-                if (s != null && !s.isBlank()) {
-                    articleRes.addProperty(model.createProperty(dcNamespace + "source"), model.createResource(s));
-                }
-            }
+    /**
+     * Aplică scrierile coalescate ale unui lot într-un singur request: POST N-Quads dacă sunt doar adăugiri,
+     * altfel un update atomic: DROP SILENT pentru grafurile înlocuite, un DELETE DATA și un INSERT DATA comune.
+     */
+    public void writeNamedGraphs(Map<String, Graph> replace, Map<String, Graph> delete, Map<String, Graph> add) {
+        if (replace.isEmpty() && delete.values().stream().allMatch(Graph::isEmpty)) {
+            Map<String, Model> models = new LinkedHashMap<>();
+            add.forEach((g, graph) -> models.put(g, ModelFactory.createModelForGraph(graph)));
+            loadNamedGraphs(models);
+            return;
         }
 
-        // mediaType -> schema:genre + dc:type (ca să-ți iasă query-urile de tip editorial/investigation/documentary)
-        if (article.getMediaType() != null && !article.getMediaType().isBlank()) {
-            articleRes.addLiteral(model.createProperty(schemaNamespace + "genre"), article.getMediaType());
-            articleRes.addLiteral(model.createProperty(dcNamespace + "type"), article.getMediaType());
+        UpdateRequest update = new UpdateRequest();
+        replace.keySet().forEach(g -> update.add(new UpdateDrop(NodeFactory.createURI(g), true)));
+        QuadDataAcc removals = quads(delete);
+        if (!removals.getQuads().isEmpty()) update.add(new UpdateDataDelete(removals));
+        Map<String, Graph> inserts = new LinkedHashMap<>(replace);
+        inserts.putAll(add);
+        QuadDataAcc additions = quads(inserts);
+        if (!additions.getQuads().isEmpty()) update.add(new UpdateDataInsert(additions));
+
+        Set<String> changed = new LinkedHashSet<>(replace.keySet());
+        changed.addAll(delete.keySet());
+        changed.addAll(add.keySet());
+        try {
+            conn.update(update);
+        } finally {
+            graphsChanged(changed);
         }
+    }
 
-        // -------------------------
-        // AUTHOR + PROV Agent
-        // -------------------------
-        if (article.getAuthor() != null) {
-            Resource authorRes = model.createResource(article.getAuthor().getUri());
-            authorRes.addProperty(RDF.type, model.createResource(schemaNamespace + "Person"));
-            authorRes.addProperty(RDF.type, model.createResource(provNamespace + "Agent"));
-
-            if (article.getAuthor().getName() != null && !article.getAuthor().getName().isBlank()) {
-                if (lang != null) authorRes.addLiteral(model.createProperty(schemaNamespace + "name"),
-                        model.createLiteral(article.getAuthor().getName(), lang));
-                else authorRes.addProperty(model.createProperty(schemaNamespace + "name"), article.getAuthor().getName());
-            }
-
-            if (article.getAuthor().getNationality() != null && !article.getAuthor().getNationality().isBlank()) {
-                authorRes.addLiteral(model.createProperty(schemaNamespace + "nationality"), article.getAuthor().getNationality());
-            }
-
-            // publisher/affiliation ca Organization (opțional, dar util)
-            if (article.getAuthor().getAffiliation() != null && !article.getAuthor().getAffiliation().isBlank()) {
-                Resource orgRes = model.createResource(baseNamespace + "org/" + article.getAuthor().getAffiliation().replaceAll("\\s+", "-").toLowerCase());
-                orgRes.addProperty(RDF.type, model.createResource(schemaNamespace + "Organization"));
-                orgRes.addProperty(model.createProperty(schemaNamespace + "name"), article.getAuthor().getAffiliation());
-                articleRes.addProperty(model.createProperty(schemaNamespace + "publisher"), orgRes);
-            }
-
-            articleRes.addProperty(model.createProperty(schemaNamespace + "author"), authorRes);
+    private static QuadDataAcc quads(Map<String, Graph> graphs) {
+        QuadDataAcc acc = new QuadDataAcc();
+        graphs.forEach((g, graph) -> {
+            Node node = NodeFactory.createURI(g);
+            graph.find().forEachRemaining(t -> acc.addQuad(Quad.create(node, t)));
+        });
+        return acc;
+    }
 
-            // PROV attribution
-            articleRes.addProperty(model.createProperty(provNamespace + "wasAttributedTo"), authorRes);
+    public Model getNamedGraph(String graphUri) {
+        // pe un dataset local fetch întoarce o vedere peste dataset, validă doar în tranzacție -> copiem
+        try {
+            return Txn.calculateRead(conn, () -> ModelFactory.createDefaultModel().add(conn.fetch(graphUri)));
+        } catch (HttpException e) {
+            // Fuseki remote: 404 = graful nu există (încă), ex. scrierea lui e în outbox în spatele unei intrări moarte
+            if (e.getStatusCode() == 404) return ModelFactory.createDefaultModel();
+            throw e;
         }
+    }
 
-        // -------------------------
-        // THESAURUS (SKOS) + schema:about
-        // -------------------------
-        Property about = model.createProperty(schemaNamespace + "about");
-        Property subj = model.createProperty(dcNamespace + "subject");
-
-        Resource scheme = model.createResource(baseNamespace + "scheme/topics");
-        scheme.addProperty(RDF.type, model.createResource(skosNamespace + "ConceptScheme"));
-        scheme.addProperty(model.createProperty(skosNamespace + "prefLabel"), model.createLiteral("News Topics", "en"));
-
-        if (article.getTopics() != null) {
-            article.getTopics().forEach(t -> {
-                if (t == null || t.getUri() == null || t.getUri().isBlank()) return;
+    /** Triplele subiectelor date (URI-uri) din graf, într-un singur CONSTRUCT. */
+    Graph subjectTriples(String graphUri, Collection<Node> subjects) {
+        if (subjects.isEmpty()) return GraphFactory.createDefaultGraph();
+        StringBuilder query = new StringBuilder("CONSTRUCT { ?s ?p ?o } WHERE { GRAPH ")
+                .append(NodeFmtLib.strNT(NodeFactory.createURI(graphUri))).append(" { VALUES ?s {");
+        for (Node subject : subjects) query.append(' ').append(NodeFmtLib.strNT(subject));
+        query.append(" } ?s ?p ?o } }");
+        return Txn.calculateRead(conn, () -> {
+            Graph graph = GraphFactory.createDefaultGraph();
+            conn.queryConstruct(query.toString()).getGraph().find().forEachRemaining(graph::add);
+            return graph;
+        });
+    }
 
-                Resource concept = model.createResource(t.getUri());
-                concept.addProperty(RDF.type, model.createResource(skosNamespace + "Concept"));
-                concept.addProperty(model.createProperty(skosNamespace + "inScheme"), scheme);
+    /** Obiectele schema:about ale articolului din graf: topic-uri și legături de îmbogățire. */
+    Set<Node> aboutObjects(String articleUri, Graph graph) {
+        Set<Node> objects = new LinkedHashSet<>();
+        graph.find(NodeFactory.createURI(articleUri), vocabulary.about, Node.ANY)
+                .forEachRemaining(t -> objects.add(t.getObject()));
+        return objects;
+    }
 
-                if (t.getName() != null && !t.getName().isBlank()) {
-                    if (lang != null) concept.addProperty(model.createProperty(skosNamespace + "prefLabel"), model.createLiteral(t.getName(), lang));
-                    else concept.addProperty(model.createProperty(skosNamespace + "prefLabel"), t.getName());
+    /**
+     * Legăturile schema:about adăugate de îmbogățire (DBpedia/Wikidata), nu de maparea articolului:
+     * obiectul lor nu e un topic cunoscut ({@code topicUris}) și nici un skos:Concept descris în graf
+     * (grafurile scrise înainte de grafurile partajate conțin și descrierea topic-urilor).
+     */
+    Graph enrichmentLinks(String articleUri, Graph graph, Set<String> topicUris) {
+        Graph links = GraphFactory.createDefaultGraph();
+        graph.find(NodeFactory.createURI(articleUri), vocabulary.about, Node.ANY).forEachRemaining(t -> {
+            Node o = t.getObject();
+            if (o.isURI() && topicUris.contains(o.getURI())) return;
+            if (!graph.contains(o, vocabulary.rdfType, vocabulary.concept)) links.add(t);
+        });
+        return links;
+    }
 
-                    // păstrăm și dc:subject pentru compatibilitate cu query-uri simple
-                    articleRes.addProperty(subj, t.getName());
-                }
+    public String graphUriForV1(String articleUri) {
+        return graphUri(articleUri, 1);
+    }
 
-                if (t.getDbpediaUri() != null && !t.getDbpediaUri().isBlank()) {
-                    concept.addProperty(model.createProperty(skosNamespace + "exactMatch"), model.createResource(t.getDbpediaUri()));
-                }
+    /** Graful versiunii curente a articolului. */
+    public String currentGraphUri(Article article) {
+        return graphUri(article.getUri(), article.getGraphVersion());
+    }
 
-                articleRes.addProperty(about, concept);
-            });
-        }
+    public static String graphUri(String articleUri, int version) {
+        return articleUri + GRAPH_VERSION_SEPARATOR + version;
+    }
 
-        // -------------------------
-        // MULTIMEDIA (schema:MediaObject)
-        // -------------------------
-        Property associatedMedia = model.createProperty(schemaNamespace + "associatedMedia");
-        Property contentUrl = model.createProperty(schemaNamespace + "contentUrl");
-        Property encodingFormat = model.createProperty(schemaNamespace + "encodingFormat");
-
-        // Thumbnail ca ImageObject (minim, dar bifează explicit MediaObject)
-        if (article.getThumbnailUrl() != null && !article.getThumbnailUrl().isBlank()) {
-            Resource img = model.createResource(article.getUri() + "/media/thumbnail");
-            img.addProperty(RDF.type, model.createResource(schemaNamespace + "ImageObject"));
-            img.addProperty(contentUrl, model.createResource(article.getThumbnailUrl()));
-            img.addProperty(encodingFormat, guessEncodingFormat(model, article.getThumbnailUrl()));
-            articleRes.addProperty(associatedMedia, img);
-        }
+    /** Articolul căruia îi aparține graful .../graph/vN; null pentru alte URI-uri. */
+    public static String articleUriOf(String graphUri) {
+        int i = graphUri.lastIndexOf(GRAPH_VERSION_SEPARATOR);
+        return i > 0 && graphUri.substring(i + GRAPH_VERSION_SEPARATOR.length()).matches("\\d+")
+                ? graphUri.substring(0, i) : null;
+    }
 
-        // Media din metadata (chei convenționale: audioUrl/videoUrl/presentationUrl/imageUrl)
-        if (article.getMetadata() != null) {
-            for (var m : article.getMetadata()) {
-                if (m == null || m.getMetadataKey() == null || m.getMetadataValue() == null) continue;
-
-                String k = m.getMetadataKey().trim().toLowerCase();
-                String v = m.getMetadataValue().trim();
-                if (v.isBlank()) continue;
-
-                String mediaTypeUri = null;
-                if (k.equals("audiourl") || k.equals("podcasturl")) mediaTypeUri = schemaNamespace + "AudioObject";
-                if (k.equals("videourl")) mediaTypeUri = schemaNamespace + "VideoObject";
-                if (k.equals("imageurl")) mediaTypeUri = schemaNamespace + "ImageObject";
-                if (k.equals("presentationurl") || k.equals("slidesurl")) mediaTypeUri = schemaNamespace + "MediaObject";
-
-                if (mediaTypeUri != null) {
-                    Resource media = model.createResource(article.getUri() + "/media/" + k + "/" + (m.getId() != null ? m.getId() : System.currentTimeMillis()));
-                    media.addProperty(RDF.type, model.createResource(mediaTypeUri));
-                    media.addProperty(contentUrl, model.createResource(v));
-                    media.addProperty(encodingFormat, guessEncodingFormat(model, v));
-                    articleRes.addProperty(associatedMedia, media);
-                }
-            }
+    /** Inversul lui {@link #graphUri}: versiunea din URI-ul grafului, 1 dacă nu are forma .../graph/vN. */
+    public static int graphVersionOf(String graphUri) {
+        int i = graphUri.lastIndexOf(GRAPH_VERSION_SEPARATOR);
+        if (i < 0) return 1;
+        try {
+            return Math.max(1, Integer.parseInt(graphUri.substring(i + GRAPH_VERSION_SEPARATOR.length())));
+        } catch (NumberFormatException e) {
+            return 1;
         }
+    }
 
-        // -------------------------
-        // METADATA structurat (schema:PropertyValue)
-        // -------------------------
-        Property additionalProperty = model.createProperty(schemaNamespace + "additionalProperty");
-        Property propertyID = model.createProperty(schemaNamespace + "propertyID");
-        Property value = model.createProperty(schemaNamespace + "value");
-
-        if (article.getMetadata() != null) {
-            for (var m : article.getMetadata()) {
-                if (m == null || m.getMetadataKey() == null || m.getMetadataValue() == null) continue;
-                if (m.getMetadataValue().isBlank()) continue;
-
-                Resource pv = model.createResource(article.getUri() + "/meta/" + (m.getId() != null ? m.getId() : System.currentTimeMillis()));
-                pv.addProperty(RDF.type, model.createResource(schemaNamespace + "PropertyValue"));
-                pv.addProperty(propertyID, m.getMetadataKey());
-                pv.addProperty(value, m.getMetadataValue());
-
-                if (m.getStandard() != null && !m.getStandard().isBlank()) {
-                    pv.addProperty(model.createProperty(schemaNamespace + "description"), "Standard=" + m.getStandard());
-                }
+    // -------------------------
+    // RDF mapping (Article -> RDF)
+    // -------------------------
 
-                articleRes.addProperty(additionalProperty, pv);
-            }
+    /**
+     * Conversie în lot: graphUri (versiunea curentă) -> model, în ordinea articolelor.
+     * Articolele trebuie să aibă asocierile deja încărcate (vezi {@link ArticleGraphLoader}).
+     */
+    public Map<String, Model> articlesToRDF(Collection<Article> articles) {
+        Map<String, Model> graphs = new LinkedHashMap<>();
+        for (Article article : articles) {
+            graphs.put(currentGraphUri(article), articleToRDF(article));
         }
+        return graphs;
+    }
 
-        // -------------------------
-        // PROVENANCE (PROV-O) expresiv (ingest)
-        // -------------------------
-        Property wasGeneratedBy = model.createProperty(provNamespace + "wasGeneratedBy");
-        Property wasAssociatedWith = model.createProperty(provNamespace + "wasAssociatedWith");
-        Property used = model.createProperty(provNamespace + "used");
-        Property endedAtTime = model.createProperty(provNamespace + "endedAtTime");
-
-        Resource activity = model.createResource(article.getUri() + "/prov/activity/ingest/v1");
-        activity.addProperty(RDF.type, model.createResource(provNamespace + "Activity"));
-
-        // sistem agent
-        Resource systemAgent = model.createResource(baseNamespace + "agent/system");
-        systemAgent.addProperty(RDF.type, model.createResource(provNamespace + "Agent"));
-        systemAgent.addProperty(model.createProperty(schemaNamespace + "name"), "NewsProvenience Pipeline");
-
-        activity.addProperty(wasAssociatedWith, systemAgent);
-
-        // used: originalUrl + sources
-        if (article.getOriginalUrl() != null && !article.getOriginalUrl().isBlank()) {
-            activity.addProperty(used, model.createResource(article.getOriginalUrl()));
-        }
-        if (article.getSources() != null) {
-            for (String s : article.getSources()) {
-                if (s != null && !s.isBlank()) activity.addProperty(used, model.createResource(s));
-            }
-        }
+    public Model articleToRDF(Article article) {
+        Model model = withPrefixes(ModelFactory.createDefaultModel());
+        emitter.emit(article, StreamRDFLib.graph(model.getGraph()));
+        return model;
+    }
 
-        if (article.getCreatedAt() != null) {
-            activity.addLiteral(endedAtTime,
-                    model.createTypedLiteral(article.getCreatedAt().toString(), XSDDatatype.XSDdateTime));
-        }
+    // grafurile citite din Fuseki vin fără prefixe; Turtle/JSON-LD arată mult mai bine cu ele
+    private Model withPrefixes(Model model) {
+        model.setNsPrefix("schema", schemaNamespace);
+        model.setNsPrefix("dc", dcNamespace);
+        model.setNsPrefix("prov", provNamespace);
+        model.setNsPrefix("skos", skosNamespace);
+        model.setNsPrefix("", baseNamespace);
+        return model;
+    }
 
-        articleRes.addProperty(wasGeneratedBy, activity);
+    RdfVocabulary vocabulary() {
+        return vocabulary;
+    }
 
-        return model;
+    /**
+     * Scrie triplele articolului direct în {@code out} (fără Model intermediar);
+     * cu {@code graph != null}, ca quad-uri în graful respectiv.
+     */
+    public void emitArticle(Article article, Node graph, StreamRDF out) {
+        emitter.emit(article, graph, out);
     }
 
-    private Literal guessEncodingFormat(Model model, String url) {
-        String u = url.toLowerCase();
-        String mime = "application/octet-stream";
-        if (u.endsWith(".mp3")) mime = "audio/mpeg";
-        else if (u.endsWith(".wav")) mime = "audio/wav";
-        else if (u.endsWith(".mp4")) mime = "video/mp4";
-        else if (u.endsWith(".webm")) mime = "video/webm";
-        else if (u.endsWith(".jpg") || u.endsWith(".jpeg")) mime = "image/jpeg";
-        else if (u.endsWith(".png")) mime = "image/png";
-        else if (u.endsWith(".pdf")) mime = "application/pdf";
-        else if (u.endsWith(".ppt") || u.endsWith(".pptx")) mime = "application/vnd.openxmlformats-officedocument.presentationml.presentation";
-        return model.createLiteral(mime);
+    /**
+     * Datele de referință la care trimite articolul (topic-uri, autor, organizație, agentul sistemului);
+     * cu {@code sharedGraphs}, ca quad-uri în grafurile partajate ({@link #referenceGraphUris()}).
+     */
+    public void emitReference(Article article, boolean sharedGraphs, StreamRDF out) {
+        emitter.emitReference(article, sharedGraphs, out);
     }
 
+    /** Grafurile partajate cu datele de referință: topic-uri, agenți, organizații. */
+    public List<String> referenceGraphUris() {
+        return List.of(vocabulary.topicsGraph.getURI(), vocabulary.agentsGraph.getURI(),
+                vocabulary.organizationsGraph.getURI());
+    }
 
     // -------------------------
     // Serializări
     // -------------------------
-    public String modelToJsonLd(Model model) {
-        StringWriter writer = new StringWriter();
-        model.write(writer, "JSON-LD");
-        return writer.toString();
-    }
 
-    public String modelToRdfXml(Model model) {
-        StringWriter writer = new StringWriter();
-        model.write(writer, "RDF/XML");
-        return writer.toString();
+    /**
+     * Scrie graful direct în {@code out}, fără String intermediar. Stream-ul nu e închis.
+     */
+    public void writeGraph(String graphUri, Model model, RdfExportFormat format, OutputStream out) {
+        if (!format.isQuads()) {
+            RDFDataMgr.write(out, withPrefixes(model), format.rdfFormat());
+            return;
+        }
+        Node graph = NodeFactory.createURI(graphUri);
+        StreamRDF stream = StreamRDFWriter.getWriterStream(out, format.rdfFormat());
+        stream.start();
+        model.getGraph().find().forEachRemaining(t -> stream.quad(Quad.create(graph, t)));
+        stream.finish();
     }
 }
@@ -0,0 +1,194 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.ArticleMetadata;
+import com.newsprovenience.domain.Author;
+import com.newsprovenience.domain.Topic;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inversul lui {@link ArticleRdfEmitter}: reface un {@link Article} din graful unui articol (import RDF).
+ * Autorul și topic-urile sunt entități noi, neatașate, identificate doar prin URI; apelantul le înlocuiește
+ * cu cele existente în baza de date.
+ */
+final class RdfArticleReader {
+
+    private static final String THUMBNAIL_SUFFIX = "/media/thumbnail";
+    private static final String STANDARD_PREFIX = "Standard=";
+
+    private final RdfVocabulary v;
+
+    RdfArticleReader(RdfVocabulary vocabulary) {
+        this.v = vocabulary;
+    }
+
+    /**
+     * @param enriched graful conține deja legături de enrichment (schema:about către resurse care nu sunt topic-uri)
+     */
+    record Mapped(Article article, boolean enriched) {
+    }
+
+    /** Primul schema:NewsArticle cu headline din graf; null dacă nu există. */
+    Mapped read(Graph graph) {
+        Node a = firstSubject(graph, v.rdfType, v.newsArticle);
+        if (a == null || !a.isURI()) return null;
+
+        Node headline = object(graph, a, v.headline);
+        String title = lexical(headline);
+        if (title == null || title.isBlank()) return null;
+
+        Article article = new Article();
+        article.setUri(a.getURI());
+        article.setTitle(title);
+        article.setDescription(lexical(object(graph, a, v.description)));
+        article.setContent(lexical(object(graph, a, v.articleBody)));
+
+        String language = lexical(object(graph, a, v.inLanguage));
+        if (language == null && headline.isLiteral() && !headline.getLiteralLanguage().isEmpty()) {
+            language = headline.getLiteralLanguage();
+        }
+        article.setLanguage(language);
+
+        article.setWordCount(integer(object(graph, a, v.wordCount)));
+        article.setPublishedDate(dateTime(object(graph, a, v.datePublished)));
+
+        Node url = object(graph, a, v.url);
+        if (url != null && url.isURI()) article.setOriginalUrl(url.getURI());
+        for (Node source : objects(graph, a, v.dcSource)) {
+            if (source.isURI() && !source.getURI().equals(article.getOriginalUrl())) {
+                article.getSources().add(source.getURI());
+            }
+        }
+
+        String mediaType = lexical(object(graph, a, v.genre));
+        article.setMediaType(mediaType != null ? mediaType : lexical(object(graph, a, v.dcType)));
+
+        article.setAuthor(author(graph, a));
+        boolean enriched = readTopics(graph, a, article);
+        readMedia(graph, a, article);
+        return new Mapped(article, enriched);
+    }
+
+    private Author author(Graph graph, Node a) {
+        Node au = object(graph, a, v.author);
+        if (au == null || !au.isURI()) return null;
+        String name = lexical(object(graph, au, v.name));
+        if (name == null || name.isBlank()) return null;
+
+        Author author = new Author();
+        author.setUri(au.getURI());
+        author.setName(name);
+        author.setNationality(lexical(object(graph, au, v.nationality)));
+
+        Node org = object(graph, a, v.publisher);
+        if (org != null) author.setAffiliation(lexical(object(graph, org, v.name)));
+        return author;
+    }
+
+    private boolean readTopics(Graph graph, Node a, Article article) {
+        boolean enriched = false;
+        for (Node about : objects(graph, a, v.about)) {
+            if (!about.isURI()) continue;
+            if (!graph.contains(about, v.rdfType, v.concept)) {
+                // DBpedia/Wikidata adăugate de enrichment: rămân doar în graf
+                enriched = true;
+                continue;
+            }
+            Topic topic = new Topic();
+            topic.setUri(about.getURI());
+            String name = lexical(object(graph, about, v.prefLabel));
+            topic.setName(name != null && !name.isBlank() ? name : about.getLocalName());
+            Node match = object(graph, about, v.exactMatch);
+            if (match != null && match.isURI()) topic.setDbpediaUri(match.getURI());
+            article.getTopics().add(topic);
+        }
+        return enriched;
+    }
+
+    private void readMedia(Graph graph, Node a, Article article) {
+        for (Node media : objects(graph, a, v.associatedMedia)) {
+            if (media.isURI() && media.getURI().endsWith(THUMBNAIL_SUFFIX)) {
+                Node content = object(graph, media, v.contentUrl);
+                if (content != null && content.isURI()) article.setThumbnailUrl(content.getURI());
+            }
+        }
+
+        for (Node pv : objects(graph, a, v.additionalProperty)) {
+            String key = lexical(object(graph, pv, v.propertyID));
+            String value = lexical(object(graph, pv, v.value));
+            if (key == null || value == null) continue;
+
+            ArticleMetadata m = new ArticleMetadata();
+            m.setArticle(article);
+            m.setMetadataKey(key);
+            m.setMetadataValue(value);
+            String description = lexical(object(graph, pv, v.description));
+            if (description != null && description.startsWith(STANDARD_PREFIX)) {
+                m.setStandard(description.substring(STANDARD_PREFIX.length()));
+            }
+            article.getMetadata().add(m);
+        }
+    }
+
+    private static Node firstSubject(Graph graph, Node p, Node o) {
+        ExtendedIterator<Triple> it = graph.find(Node.ANY, p, o);
+        try {
+            return it.hasNext() ? it.next().getSubject() : null;
+        } finally {
+            it.close();
+        }
+    }
+
+    private static Node object(Graph graph, Node s, Node p) {
+        ExtendedIterator<Triple> it = graph.find(s, p, Node.ANY);
+        try {
+            return it.hasNext() ? it.next().getObject() : null;
+        } finally {
+            it.close();
+        }
+    }
+
+    private static List<Node> objects(Graph graph, Node s, Node p) {
+        List<Node> result = new ArrayList<>();
+        graph.find(s, p, Node.ANY).forEachRemaining(t -> result.add(t.getObject()));
+        return result;
+    }
+
+    private static String lexical(Node node) {
+        return node != null && node.isLiteral() ? node.getLiteralLexicalForm() : null;
+    }
+
+    private static Integer integer(Node node) {
+        String s = lexical(node);
+        if (s == null) return null;
+        try {
+            return Integer.valueOf(s.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // xsd:dateTime cu sau fără fus orar; păstrăm ora locală, ca la export
+    private static LocalDateTime dateTime(Node node) {
+        String s = lexical(node);
+        if (s == null) return null;
+        try {
+            return LocalDateTime.parse(s);
+        } catch (DateTimeParseException e) {
+            try {
+                return OffsetDateTime.parse(s).toLocalDateTime();
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+}
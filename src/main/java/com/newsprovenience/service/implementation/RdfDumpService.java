@@ -0,0 +1,249 @@
+package com.newsprovenience.service.implementation;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.newsprovenience.domain.ArticleTombstone;
+import com.newsprovenience.repository.ArticleRepository;
+import com.newsprovenience.repository.ArticleTombstoneRepository;
+import com.newsprovenience.repository.GraphOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Dump-ul întregului corpus (sau doar al grafurilor schimbate după un moment dat) ca N-Quads comprimat.
+ * Memorie constantă: articolele sunt parcurse keyset în loturi de {@code dump.chunk-size}, iar pentru fiecare lot
+ * grafurile v1 (cu tot cu triplele de enrichment) vin dintr-un singur SELECT citit streaming și scris quad cu quad.
+ *
+ * <p>Un dump incremental se încheie cu graful {@code graph/deleted}: pentru fiecare articol șters după {@code since},
+ * articolul și grafurile tuturor versiunilor lui, fiecare cu {@code prov:invalidatedAtTime}. Cine aplică delta
+ * trebuie să șteargă aceste resurse și grafuri (importul o face).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RdfDumpService {
+
+    private static final Var G = Var.alloc("g");
+    private static final Var S = Var.alloc("s");
+    private static final Var P = Var.alloc("p");
+    private static final Var O = Var.alloc("o");
+
+    private final ArticleRepository articleRepository;
+    private final RDFService rdfService;
+    private final SparqlQueryRegistry queryRegistry;
+    private final GraphOutboxRepository outboxRepository;
+    private final ArticleTombstoneRepository tombstoneRepository;
+
+    @Value("${dump.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${dump.zstd-level:3}")
+    private int zstdLevel;
+
+    @Value("${dump.watermark-slack:PT5S}")
+    private Duration watermarkSlack;
+
+    public enum Compression {
+        GZIP(".nq.gz", "application/gzip"),
+        ZSTD(".nq.zst", "application/zstd"),
+        NONE(".nq", "application/n-quads");
+
+        public final String extension;
+        public final String contentType;
+
+        Compression(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public static Compression of(String value) {
+            try {
+                return value == null || value.isBlank() ? GZIP : valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported compression: " + value + " (gzip, zstd, none)");
+            }
+        }
+
+        /** După extensia fișierului de ieșire (CLI); implicit gzip. */
+        public static Compression forFile(String path) {
+            if (path.endsWith(".zst")) return ZSTD;
+            if (path.endsWith(".nq")) return NONE;
+            return GZIP;
+        }
+    }
+
+    public record DumpStats(long graphs, long quads, long millis) {
+    }
+
+    /**
+     * Acceptă un moment cu offset/UTC ({@code 2026-10-01T00:00:00Z}), o dată-oră locală sau doar o dată.
+     * Momentele cu offset sunt convertite în fusul serverului, în care sunt scrise updatedAt/enrichedAt.
+     */
+    public static LocalDateTime parseSince(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException ignored) {
+            // fără offset
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ignored) {
+            // doar data
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid since: " + value);
+        }
+    }
+
+    /**
+     * Momentul de trimis ca {@code since} la următoarea sincronizare, luat înainte de citire.
+     * Cât timp outbox-ul are intrări netrimise, e plafonat la cea mai veche dintre ele (minus {@code dump.watermark-slack},
+     * pentru updatedAt scris puțin înaintea intrării): rândul e deja comis, dar graful din Fuseki e încă cel vechi,
+     * așa că sincronizarea următoare trebuie să-l mai ceară o dată.
+     */
+    public OffsetDateTime watermark() {
+        OffsetDateTime now = OffsetDateTime.now();
+        LocalDateTime oldest = outboxRepository.findOldestUndispatched();
+        if (oldest == null) return now;
+        OffsetDateTime cap = oldest.minus(watermarkSlack).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+        return cap.isBefore(now) ? cap : now;
+    }
+
+    /**
+     * Scrie în {@code out} grafurile articolelor modificate după {@code since} (toate, dacă e null),
+     * precedate mereu de grafurile partajate; cu {@code since}, urmate de ștergerile de după el.
+     * Stream-ul primit nu e închis; compresorul e finalizat la sfârșit.
+     */
+    public DumpStats dump(LocalDateTime since, Compression compression, OutputStream out) {
+        long start = System.currentTimeMillis();
+        long graphs = 0;
+        long quads = 0;
+
+        // close() pe compresor scrie finalul (trailer gzip / ultimul frame zstd), dar nu închide stream-ul apelantului
+        try (OutputStream target = compress(CloseShieldOutputStream.wrap(out), compression)) {
+            // grafurile partajate (topic-uri, agenți, organizații) primele: importul le citește înaintea articolelor
+            List<String> referenceGraphs = rdfService.referenceGraphUris();
+            quads += writeGraphs(target, referenceGraphs);
+            graphs += referenceGraphs.size();
+
+            long afterId = 0;
+            while (true) {
+                List<Object[]> refs = articleRepository.findGraphRefsAfter(afterId, since, Limit.of(chunkSize));
+                if (refs.isEmpty()) break;
+
+                List<String> graphUris = new ArrayList<>(refs.size());
+                // toate versiunile grafului: cele vechi sunt istoricul legat prin prov:wasRevisionOf
+                for (Object[] ref : refs) {
+                    for (int version = 1; version <= (Integer) ref[2]; version++) {
+                        graphUris.add(RDFService.graphUri((String) ref[1], version));
+                    }
+                }
+                afterId = (Long) refs.get(refs.size() - 1)[0];
+
+                quads += writeGraphs(target, graphUris);
+                graphs += graphUris.size();
+            }
+
+            if (since != null) {
+                long deleted = writeTombstones(target, since);
+                if (deleted > 0) graphs++;
+                quads += deleted;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        DumpStats stats = new DumpStats(graphs, quads, System.currentTimeMillis() - start);
+        log.info("RDF dump (since={}, {}): {} graphs, {} quads in {} ms",
+                since, compression, stats.graphs(), stats.quads(), stats.millis());
+        return stats;
+    }
+
+    /** Un lot de grafuri: un query, un bloc N-Quads, un flush. Întoarce numărul de quad-uri scrise. */
+    private long writeGraphs(OutputStream target, List<String> graphUris) throws IOException {
+        long[] quads = {0};
+        // writer-ul N-Quads are buffer propriu, golit doar de finish(): câte unul per lot
+        StreamRDF stream = StreamRDFWriter.getWriterStream(target, RDFFormat.NQUADS);
+        stream.start();
+        rdfService.executeSparqlQuery(queryRegistry.graphContents(graphUris), results -> {
+            while (results.hasNext()) {
+                Binding row = results.nextBinding();
+                stream.quad(Quad.create(row.get(G), row.get(S), row.get(P), row.get(O)));
+                quads[0]++;
+            }
+        });
+        stream.finish();
+
+        // un lot = un bloc decomprimabil imediat de client (gzip cu sync flush, zstd golește blocul curent)
+        target.flush();
+        return quads[0];
+    }
+
+    /** Graful {@code graph/deleted} cu ștergerile de după {@code since}, în loturi de chunk-size. */
+    private long writeTombstones(OutputStream target, LocalDateTime since) throws IOException {
+        RdfVocabulary v = rdfService.vocabulary();
+        long quads = 0;
+        long afterId = 0;
+        while (true) {
+            List<ArticleTombstone> tombstones = tombstoneRepository.findByDeletedAtAfterAndIdGreaterThanOrderById(
+                    since, afterId, Limit.of(chunkSize));
+            if (tombstones.isEmpty()) break;
+
+            StreamRDF stream = StreamRDFWriter.getWriterStream(target, RDFFormat.NQUADS);
+            stream.start();
+            for (ArticleTombstone tombstone : tombstones) {
+                Node at = NodeFactory.createLiteral(
+                        tombstone.getDeletedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), XSDDatatype.XSDdateTime);
+                stream.quad(Quad.create(v.deletedGraph, NodeFactory.createURI(tombstone.getArticleUri()),
+                        v.invalidatedAtTime, at));
+                for (int version = 1; version <= tombstone.getGraphVersion(); version++) {
+                    String graphUri = RDFService.graphUri(tombstone.getArticleUri(), version);
+                    stream.quad(Quad.create(v.deletedGraph, NodeFactory.createURI(graphUri), v.invalidatedAtTime, at));
+                }
+                quads += 1 + tombstone.getGraphVersion();
+            }
+            stream.finish();
+            target.flush();
+            afterId = tombstones.get(tombstones.size() - 1).getId();
+        }
+        return quads;
+    }
+
+    private OutputStream compress(OutputStream out, Compression compression) throws IOException {
+        return switch (compression) {
+            case GZIP -> new GZIPOutputStream(out, 64 * 1024, true);
+            case ZSTD -> new ZstdOutputStream(out, zstdLevel);
+            case NONE -> out;
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.newsprovenience.service.implementation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Exporturile serializate ale grafurilor de articol, mărginite în bytes.
+ * Cheia conține versiunea grafului (vezi {@link RDFService#graphVersion(String)}) și revizia articolului din baza de
+ * date (aceeași ca în ETag), deci o rescriere a grafului sau a articolului face intrarea veche inaccesibilă;
+ * ea iese din cache prin evicție, fără invalidare explicită.
+ * Doar exporturile care pot intra în cache sunt ținute în memorie; celelalte sunt scrise direct în răspuns.
+ */
+@Service
+@RequiredArgsConstructor
+public class RdfExportCache {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${export.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${export.cache.max-bytes:32MB}")
+    private DataSize maxBytes;
+
+    @Value("${export.cache.max-entry-bytes:1MB}")
+    private DataSize maxEntryBytes;
+
+    private Cache<CacheKey, byte[]> cache;
+
+    record CacheKey(String graphUri, RdfExportFormat format, boolean gzip, long graphVersion, String revision) {
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes.toBytes())
+                .weigher((CacheKey k, byte[] v) -> v.length + 2 * k.graphUri().length())
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "rdf.export"));
+    }
+
+    /** Exportul din cache; null dacă lipsește sau dacă cache-ul e dezactivat. */
+    public byte[] getIfPresent(CacheKey key) {
+        return enabled ? cache.getIfPresent(key) : null;
+    }
+
+    /**
+     * Scrie în {@code out} exportul produs de {@code renderer}. Cât timp încape în max-entry-bytes e ținut în memorie
+     * și intră în cache la final; peste prag, ce s-a adunat pleacă în {@code out} și restul e scris direct, fără cache.
+     * Cu cache-ul dezactivat, totul merge direct în {@code out}. Stream-ul primit nu e închis.
+     */
+    public void render(CacheKey key, Consumer<OutputStream> renderer, OutputStream out) throws IOException {
+        if (!enabled) {
+            renderer.accept(CloseShieldOutputStream.wrap(out));
+            return;
+        }
+        BoundedBuffer buffer = new BoundedBuffer(out, maxEntryBytes.toBytes());
+        renderer.accept(buffer);
+        if (buffer.spilled()) return;
+
+        byte[] rendered = buffer.toByteArray();
+        cache.put(key, rendered);
+        out.write(rendered);
+    }
+
+    /** Ține în memorie până la {@code limit} bytes; la depășire se golește în {@code target} și devine transparent. */
+    private static final class BoundedBuffer extends OutputStream {
+
+        private final OutputStream target;
+        private final long limit;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        BoundedBuffer(OutputStream target, long limit) {
+            this.target = target;
+            this.limit = limit;
+        }
+
+        boolean spilled() {
+            return buffer == null;
+        }
+
+        byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (buffer == null) {
+                target.write(b, off, len);
+                return;
+            }
+            if (buffer.size() + (long) len <= limit) {
+                buffer.write(b, off, len);
+                return;
+            }
+            buffer.writeTo(target);
+            buffer = null;
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (buffer == null) target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush(); // renderer-ul (ex. GZIPOutputStream) închide stream-ul primit; răspunsul rămâne deschis
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.newsprovenience.service.implementation;
+
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Formatele de export RDF pentru un graf de articol, alese după header-ul Accept.
+ * RDF Thrift/Protobuf sunt formate binare compacte, mult mai rapide la parsare decât RDF/XML.
+ */
+public enum RdfExportFormat {
+
+    TURTLE(Lang.TURTLE, RDFFormat.TURTLE_PRETTY, "application/x-turtle"),
+    N_TRIPLES(Lang.NTRIPLES, RDFFormat.NTRIPLES),
+    N_QUADS(Lang.NQUADS, RDFFormat.NQUADS),
+    JSON_LD(Lang.JSONLD, RDFFormat.JSONLD_PRETTY, "application/json"),
+    RDF_XML(Lang.RDFXML, RDFFormat.RDFXML_PLAIN, "application/xml", "text/xml"),
+    RDF_THRIFT(Lang.RDFTHRIFT, RDFFormat.RDF_THRIFT),
+    RDF_PROTO(Lang.RDFPROTO, RDFFormat.RDF_PROTO);
+
+    // fără Accept sau cu */*
+    public static final RdfExportFormat DEFAULT = TURTLE;
+
+    private final MediaType mediaType;
+    private final List<MediaType> accepted;
+    private final RDFFormat rdfFormat;
+
+    RdfExportFormat(Lang lang, RDFFormat rdfFormat, String... aliases) {
+        this.mediaType = MediaType.parseMediaType(lang.getContentType().getContentTypeStr());
+        this.rdfFormat = rdfFormat;
+        this.accepted = new ArrayList<>();
+        accepted.add(mediaType);
+        for (String alias : aliases) accepted.add(MediaType.parseMediaType(alias));
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    RDFFormat rdfFormat() {
+        return rdfFormat;
+    }
+
+    /** N-Quads poartă și numele grafului; celelalte formate scriu doar triplele. */
+    boolean isQuads() {
+        return this == N_QUADS;
+    }
+
+    /**
+     * Primul format acceptat de client, în ordinea q-value (la egalitate, ordinea din header).
+     * Gol dacă niciun tip din Accept nu e suportat (-> 406).
+     */
+    public static Optional<RdfExportFormat> negotiate(String accept) {
+        if (accept == null || accept.isBlank()) return Optional.of(DEFAULT);
+
+        List<MediaType> requested;
+        try {
+            requested = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return Optional.empty();
+        }
+        requested.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        for (MediaType type : requested) {
+            if (type.getQualityValue() <= 0) continue;
+            if (type.isWildcardType()) return Optional.of(DEFAULT);
+            for (RdfExportFormat format : values()) {
+                for (MediaType candidate : format.accepted) {
+                    if (type.includes(candidate)) return Optional.of(format);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
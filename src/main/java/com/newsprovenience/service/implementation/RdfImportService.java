@@ -0,0 +1,643 @@
+package com.newsprovenience.service.implementation;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.Author;
+import com.newsprovenience.domain.EnrichmentStatus;
+import com.newsprovenience.domain.Topic;
+import com.newsprovenience.repository.ArticleRepository;
+import com.newsprovenience.repository.AuthorRepository;
+import com.newsprovenience.repository.TopicRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jena.atlas.iterator.IteratorCloseable;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.compose.Union;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.AsyncParser;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Import RDF în masă (N-Quads/TriG, Turtle/N-Triples/JSON-LD/RDF-XML, opțional .gz/.zst) în baza de date și Fuseki.
+ *
+ * <p>Pipeline: parserul rulează pe firul lui ({@link AsyncParser}), quad-urile consecutive din același graf formează
+ * o unitate; loturile de {@code import.batch-size} unități sunt mapate în paralel pe {@code import.workers} fire
+ * ({@link RdfArticleReader}), iar scrierea rămâne în ordine: per lot o tranzacție DB care pune grafurile în outbox
+ * ({@link GraphOutbox#addGraphs}), trimise apoi în Fuseki după commit, în ordine cu celelalte scrieri ale grafului.
+ * După fiecare lot se scrie un checkpoint (unități terminate), de unde un import întrerupt se reia.
+ *
+ * <p>Importul e aditiv și idempotent: articolele deja existente (după URI) nu se duplică, grafurile se încarcă
+ * aditiv (reluarea unui lot nu strică nimic). Singura excepție e graful {@code graph/deleted} al unui dump
+ * incremental: articolele listate acolo sunt șterse. Formatele fără grafuri numite se parsează întâi în memorie;
+ * pentru volume mari folosiți N-Quads (formatul dump-ului).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RdfImportService {
+
+    private final ArticleRepository articleRepository;
+    private final AuthorRepository authorRepository;
+    private final TopicRepository topicRepository;
+    private final RDFService rdfService;
+    private final GraphOutbox graphOutbox;
+    private final ArticleService articleService;
+    private final ArticleSearchIndex searchIndex;
+    private final ArticleAnalytics analytics;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${import.workers:4}")
+    private int workers;
+
+    @Value("${import.checkpoint-dir:data/import}")
+    private String checkpointDir;
+
+    private final AtomicReference<ImportProgress> current = new AtomicReference<>();
+    private ExecutorService mappers;
+    private ExecutorService jobs;
+    private RdfArticleReader reader;
+
+    private record Unit(String graphUri, Graph graph) {
+    }
+
+    private record MappedBatch(List<Unit> units, List<RdfArticleReader.Mapped> articles) {
+    }
+
+    /**
+     * Progresul importului curent (sau al ultimului); contoarele se actualizează după fiecare lot scris.
+     */
+    public static final class ImportProgress {
+        private final String input;
+        private final String format;
+        private final long inputBytes;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong graphs = new AtomicLong();
+        private final AtomicLong triples = new AtomicLong();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong existing = new AtomicLong();
+        private final AtomicLong withoutArticle = new AtomicLong();
+        private final AtomicLong deleted = new AtomicLong();
+        private volatile String state = "RUNNING";
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        ImportProgress(Path input, Lang lang, long inputBytes) {
+            this.input = input.toString();
+            this.format = lang.getName();
+            this.inputBytes = inputBytes;
+        }
+
+        public boolean isRunning() {
+            return "RUNNING".equals(state);
+        }
+
+        public Map<String, Object> snapshot() {
+            long millis = (finishedAt != null ? finishedAt : Instant.now()).toEpochMilli() - startedAt.toEpochMilli();
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("state", state);
+            s.put("input", input);
+            s.put("format", format);
+            s.put("bytesRead", bytesRead.get());
+            s.put("inputBytes", inputBytes);
+            s.put("percent", inputBytes > 0 ? Math.min(100.0, 100.0 * bytesRead.get() / inputBytes) : null);
+            s.put("resumedAfterGraphs", skipped.get());
+            s.put("graphs", graphs.get());
+            s.put("triples", triples.get());
+            s.put("articlesCreated", created.get());
+            s.put("articlesExisting", existing.get());
+            s.put("graphsWithoutArticle", withoutArticle.get());
+            s.put("articlesDeleted", deleted.get());
+            s.put("millis", millis);
+            s.put("triplesPerSecond", millis > 0 ? triples.get() * 1000 / millis : null);
+            s.put("startedAt", startedAt.toString());
+            if (finishedAt != null) s.put("finishedAt", finishedAt.toString());
+            if (error != null) s.put("error", error);
+            return s;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        reader = new RdfArticleReader(rdfService.vocabulary());
+        AtomicInteger n = new AtomicInteger();
+        mappers = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "rdf-import-" + n.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        jobs = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "rdf-import-job");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        jobs.shutdownNow();
+        mappers.shutdownNow();
+    }
+
+    public ImportProgress progress() {
+        return current.get();
+    }
+
+    /**
+     * Pornește importul în fundal; progresul se citește cu {@link #progress()}.
+     *
+     * @throws IllegalStateException    dacă un import rulează deja
+     * @throws IllegalArgumentException fișier inexistent sau format necunoscut
+     */
+    public ImportProgress start(Path input, String format, boolean resume) {
+        Lang lang = resolveLang(input, format);
+        ImportProgress progress = begin(input, lang);
+        jobs.submit(() -> {
+            try {
+                execute(input, lang, resume, progress);
+            } catch (RuntimeException e) {
+                log.error("RDF import of {} failed", input, e);
+            }
+        });
+        return progress;
+    }
+
+    /** Import sincron (CLI). */
+    public ImportProgress run(Path input, String format, boolean resume) {
+        Lang lang = resolveLang(input, format);
+        ImportProgress progress = begin(input, lang);
+        execute(input, lang, resume, progress);
+        return progress;
+    }
+
+    private ImportProgress begin(Path input, Lang lang) {
+        ImportProgress progress;
+        try {
+            progress = new ImportProgress(input, lang, Files.size(input));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ImportProgress previous = current.get();
+        if ((previous != null && previous.isRunning()) || !current.compareAndSet(previous, progress)) {
+            throw new IllegalStateException("An import is already running");
+        }
+        return progress;
+    }
+
+    private void execute(Path input, Lang lang, boolean resume, ImportProgress progress) {
+        Path checkpoint = checkpointFile(input);
+        long done = resume ? readCheckpoint(checkpoint, input) : 0;
+        progress.skipped.set(done);
+        if (done > 0) log.info("Resuming import of {} after {} graphs", input, done);
+
+        try (InputStream in = open(input, progress)) {
+            Iterator<Unit> units = RDFLanguages.isQuads(lang) ? quadUnits(in, lang) : tripleUnits(in, lang);
+            Set<String> referenceGraphs = Set.copyOf(rdfService.referenceGraphUris());
+            Graph reference = GraphFactory.createDefaultGraph();
+            for (long i = 0; i < done && units.hasNext(); i++) {
+                Unit unit = units.next();
+                if (referenceGraphs.contains(unit.graphUri())) reference = withReference(reference, unit);
+            }
+
+            // loturile se mapează în paralel, dar se scriu în ordine: checkpoint-ul rămâne un prefix al fișierului
+            Deque<Future<MappedBatch>> inFlight = new ArrayDeque<>();
+            List<Unit> batch = new ArrayList<>(batchSize);
+            while (units.hasNext()) {
+                Unit unit = units.next();
+                if (referenceGraphs.contains(unit.graphUri())) reference = withReference(reference, unit);
+                batch.add(unit);
+                if (batch.size() >= batchSize) {
+                    List<Unit> toMap = batch;
+                    Graph ref = reference;
+                    inFlight.add(mappers.submit(() -> map(toMap, ref)));
+                    batch = new ArrayList<>(batchSize);
+                    if (inFlight.size() >= workers) done = write(await(inFlight.poll()), done, checkpoint, input, progress);
+                }
+            }
+            if (!batch.isEmpty()) {
+                List<Unit> toMap = batch;
+                Graph ref = reference;
+                inFlight.add(mappers.submit(() -> map(toMap, ref)));
+            }
+            while (!inFlight.isEmpty()) done = write(await(inFlight.poll()), done, checkpoint, input, progress);
+
+            Files.deleteIfExists(checkpoint);
+            progress.state = "DONE";
+        } catch (IOException | RuntimeException e) {
+            progress.state = "FAILED";
+            progress.error = e.getMessage();
+            throw e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+        } finally {
+            progress.finishedAt = Instant.now();
+            log.info("RDF import {}: {}", progress.state, progress.snapshot());
+        }
+    }
+
+    // -------------------------
+    // Citire: unități = (graf, triple)
+    // -------------------------
+
+    /**
+     * Quad-urile consecutive din același graf numit; cele din graful implicit sunt ignorate.
+     * Fișierul trebuie să aibă quad-urile grupate pe graf, cum le scrie dump-ul: un graf întrerupt de altul
+     * ar deveni două unități, fiecare cu o parte din articol.
+     */
+    private Iterator<Unit> quadUnits(InputStream in, Lang lang) {
+        IteratorCloseable<Quad> quads = AsyncParser.asyncParseQuads(in, lang, null);
+        return new Iterator<>() {
+            private Quad pending = nextNamed();
+
+            private Quad nextNamed() {
+                while (quads.hasNext()) {
+                    Quad q = quads.next();
+                    if (!q.isDefaultGraph()) return q;
+                }
+                quads.close();
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return pending != null;
+            }
+
+            @Override
+            public Unit next() {
+                if (pending == null) throw new NoSuchElementException();
+                Node g = pending.getGraph();
+                Graph graph = GraphFactory.createDefaultGraph();
+                while (pending != null && pending.getGraph().equals(g)) {
+                    graph.add(pending.asTriple());
+                    pending = nextNamed();
+                }
+                return new Unit(g.getURI(), graph);
+            }
+        };
+    }
+
+    /**
+     * Formate fără grafuri: tot fișierul în memorie, apoi câte un graf v1 per schema:NewsArticle, cu descrierea lui
+     * până la adâncimea 2 (autor, organizație, topic-uri + schema, media, activitatea PROV + agentul).
+     */
+    private Iterator<Unit> tripleUnits(InputStream in, Lang lang) {
+        Graph source = GraphFactory.createDefaultGraph();
+        RDFParser.source(in).lang(lang).parse(source);
+
+        RdfVocabulary v = rdfService.vocabulary();
+        List<Node> articles = source.find(Node.ANY, v.rdfType, v.newsArticle).mapWith(t -> t.getSubject()).toList();
+        Iterator<Node> it = articles.stream().filter(Node::isURI).iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Unit next() {
+                Node article = it.next();
+                return new Unit(rdfService.graphUriForV1(article.getURI()), describe(source, article, v));
+            }
+        };
+    }
+
+    private static Graph describe(Graph source, Node article, RdfVocabulary v) {
+        Graph graph = GraphFactory.createDefaultGraph();
+        Set<Node> visited = new HashSet<>(List.of(article));
+        List<Node> level = List.of(article);
+        for (int depth = 0; depth <= 2 && !level.isEmpty(); depth++) {
+            List<Node> next = new ArrayList<>();
+            for (Node s : level) {
+                source.find(s, Node.ANY, Node.ANY).forEachRemaining(t -> {
+                    graph.add(t);
+                    Node o = t.getObject();
+                    if ((o.isURI() || o.isBlank()) && visited.add(o)
+                            && !source.contains(o, v.rdfType, v.newsArticle)) {
+                        next.add(o);
+                    }
+                });
+            }
+            level = next;
+        }
+        return graph;
+    }
+
+    // -------------------------
+    // Mapare (paralel) și scriere (în ordine)
+    // -------------------------
+
+    /**
+     * Grafurile partajate (topic-uri, agenți, organizații) din dump, adunate pe măsură ce apar: dump-ul le scrie
+     * primele. Copie nouă la fiecare graf partajat, ca loturile deja trimise la mapare să nu vadă modificări.
+     */
+    private static Graph withReference(Graph reference, Unit unit) {
+        Graph merged = GraphFactory.createDefaultGraph();
+        reference.find().forEachRemaining(merged::add);
+        unit.graph().find().forEachRemaining(merged::add);
+        return merged;
+    }
+
+    /** Graful articolului e citit împreună cu grafurile partajate; dump-urile mai vechi le au în graful articolului. */
+    private MappedBatch map(List<Unit> units, Graph reference) {
+        List<RdfArticleReader.Mapped> articles = new ArrayList<>(units.size());
+        for (Unit unit : units) {
+            Graph graph = reference.isEmpty() ? unit.graph() : new Union(unit.graph(), reference);
+            RdfArticleReader.Mapped mapped = reader.read(graph);
+            if (mapped == null) continue;
+            mapped.article().setGraphVersion(RDFService.graphVersionOf(unit.graphUri()));
+            articles.add(mapped);
+        }
+        return new MappedBatch(units, articles);
+    }
+
+    private long write(MappedBatch batch, long done, Path checkpoint, Path input, ImportProgress progress) {
+        String deletedGraph = rdfService.vocabulary().deletedGraph.getURI();
+        List<Article> created = transactionTemplate.execute(status -> {
+            List<Article> fresh = newArticles(batch.articles());
+            resolveAuthors(fresh);
+            resolveTopics(fresh);
+            articleRepository.saveAll(fresh);
+            articleRepository.flush();
+
+            Map<String, Graph> graphs = new LinkedHashMap<>();
+            for (Unit unit : batch.units()) {
+                if (deletedGraph.equals(unit.graphUri())) progress.deleted.addAndGet(applyDeletions(unit.graph()));
+                else graphs.put(unit.graphUri(), unit.graph());
+            }
+            graphOutbox.addGraphs(graphs);
+            return fresh;
+        });
+        searchIndex.index(created);
+        analytics.created(created);
+
+        long triples = batch.units().stream().mapToLong(u -> u.graph().size()).sum();
+        progress.graphs.addAndGet(batch.units().size());
+        progress.triples.addAndGet(triples);
+        progress.created.addAndGet(created.size());
+        progress.existing.addAndGet(batch.articles().size() - created.size());
+        progress.withoutArticle.addAndGet(batch.units().size() - batch.articles().size());
+
+        long nowDone = done + batch.units().size();
+        writeCheckpoint(checkpoint, input, nowDone);
+        return nowDone;
+    }
+
+    /**
+     * Graful {@code graph/deleted} al unui dump incremental: articolele existente se șterg (cu grafurile lor),
+     * iar grafurile listate ale articolelor necunoscute aici doar din Fuseki. Întoarce numărul de articole șterse.
+     */
+    private int applyDeletions(Graph deletions) {
+        Set<String> articleUris = new LinkedHashSet<>();
+        List<String> graphUris = new ArrayList<>();
+        deletions.find(Node.ANY, rdfService.vocabulary().invalidatedAtTime, Node.ANY).forEachRemaining(t -> {
+            if (!t.getSubject().isURI()) return;
+            String uri = t.getSubject().getURI();
+            if (RDFService.articleUriOf(uri) == null) articleUris.add(uri);
+            else graphUris.add(uri);
+        });
+
+        Set<String> deleted = new HashSet<>();
+        for (String uri : articleUris) {
+            articleRepository.findByUri(uri)
+                    .filter(article -> articleService.deleteArticle(article.getId()))
+                    .ifPresent(article -> deleted.add(uri));
+        }
+        graphUris.removeIf(g -> deleted.contains(RDFService.articleUriOf(g)));
+        graphOutbox.dropGraphs(graphUris);
+        return deleted.size();
+    }
+
+    /**
+     * Articolele care nu există încă (după URI), fără duplicate în lot. Un dump conține toate versiunile grafului
+     * unui articol: se păstrează cea mai mare, iar articolelor existente li se ridică versiunea curentă dacă e cazul.
+     */
+    private List<Article> newArticles(List<RdfArticleReader.Mapped> mapped) {
+        if (mapped.isEmpty()) return List.of();
+        Map<String, RdfArticleReader.Mapped> latest = new LinkedHashMap<>();
+        for (RdfArticleReader.Mapped m : mapped) {
+            latest.merge(m.article().getUri(), m, (a, b) ->
+                    b.article().getGraphVersion() > a.article().getGraphVersion() ? b : a);
+        }
+        Set<String> existing = new HashSet<>(articleRepository.findExistingUris(latest.keySet()));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Article> fresh = new ArrayList<>();
+        for (RdfArticleReader.Mapped m : latest.values()) {
+            Article a = m.article();
+            if (existing.contains(a.getUri())) {
+                if (a.getGraphVersion() > 1) articleRepository.raiseGraphVersion(a.getUri(), a.getGraphVersion());
+                continue;
+            }
+            // enrichment-ul importat e păstrat în graf; restul rămân PENDING, fără a inunda coada de enrichment
+            a.setEnrichmentStatus(m.enriched() ? EnrichmentStatus.DONE : EnrichmentStatus.PENDING);
+            a.setEnrichmentAttempts(0);
+            if (m.enriched()) a.setEnrichedAt(now);
+            fresh.add(a);
+        }
+        return fresh;
+    }
+
+    private void resolveAuthors(List<Article> articles) {
+        Map<String, Author> byUri = new HashMap<>();
+        for (Article a : articles) {
+            if (a.getAuthor() != null) byUri.putIfAbsent(a.getAuthor().getUri(), a.getAuthor());
+        }
+        if (byUri.isEmpty()) return;
+
+        Map<String, Author> managed = authorRepository.findByUriIn(byUri.keySet()).stream()
+                .collect(Collectors.toMap(Author::getUri, Function.identity()));
+        List<Author> missing = byUri.values().stream().filter(au -> !managed.containsKey(au.getUri())).toList();
+        authorRepository.saveAll(missing).forEach(au -> managed.put(au.getUri(), au));
+
+        for (Article a : articles) {
+            if (a.getAuthor() != null) a.setAuthor(managed.get(a.getAuthor().getUri()));
+        }
+    }
+
+    private void resolveTopics(List<Article> articles) {
+        Map<String, Topic> byUri = new HashMap<>();
+        for (Article a : articles) {
+            for (Topic t : a.getTopics()) byUri.putIfAbsent(t.getUri(), t);
+        }
+        if (byUri.isEmpty()) return;
+
+        Map<String, Topic> managedByUri = new HashMap<>();
+        Map<String, Topic> managedByName = new HashMap<>();
+        for (Topic t : topicRepository.findByUriIn(byUri.keySet())) {
+            managedByUri.put(t.getUri(), t);
+            managedByName.put(t.getName(), t);
+        }
+        Set<String> names = byUri.values().stream().filter(t -> !managedByUri.containsKey(t.getUri()))
+                .map(Topic::getName).collect(Collectors.toSet());
+        if (!names.isEmpty()) topicRepository.findByNameIn(names).forEach(t -> managedByName.put(t.getName(), t));
+
+        List<Topic> missing = new ArrayList<>();
+        for (Topic t : byUri.values()) {
+            if (managedByUri.containsKey(t.getUri())) continue;
+            Topic sameName = managedByName.get(t.getName());
+            if (sameName == null) {
+                missing.add(t);
+                managedByName.put(t.getName(), t);
+                sameName = t;
+            }
+            managedByUri.put(t.getUri(), sameName);
+        }
+        topicRepository.saveAll(missing);
+
+        for (Article a : articles) {
+            Set<Topic> resolved = new HashSet<>();
+            for (Topic t : a.getTopics()) resolved.add(managedByUri.get(t.getUri()));
+            a.setTopics(resolved);
+        }
+    }
+
+    private static MappedBatch await(Future<MappedBatch> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        }
+    }
+
+    // -------------------------
+    // Intrare și checkpoint
+    // -------------------------
+
+    /** Formatul explicit (nume sau extensie Jena) sau cel dedus din extensie, ignorând .gz/.zst. */
+    static Lang resolveLang(Path input, String format) {
+        if (!Files.isRegularFile(input)) throw new IllegalArgumentException("No such file: " + input);
+        Lang lang;
+        if (format == null || format.isBlank()) {
+            lang = RDFLanguages.filenameToLang(uncompressedName(input.getFileName().toString()));
+        } else {
+            lang = RDFLanguages.nameToLang(format);
+            if (lang == null) lang = RDFLanguages.fileExtToLang(format);
+        }
+        if (lang == null || !RDFLanguages.isTriples(lang) && !RDFLanguages.isQuads(lang)) {
+            throw new IllegalArgumentException("Unknown RDF format for " + input
+                    + (format != null && !format.isBlank() ? " (" + format + ")" : ""));
+        }
+        return lang;
+    }
+
+    private static String uncompressedName(String name) {
+        if (name.endsWith(".gz")) return name.substring(0, name.length() - 3);
+        if (name.endsWith(".zst")) return name.substring(0, name.length() - 4);
+        return name;
+    }
+
+    private static InputStream open(Path input, ImportProgress progress) throws IOException {
+        // contorizăm bytes din fișier (înainte de decompresie), pentru procentul din progres
+        InputStream raw = new FilterInputStream(new BufferedInputStream(Files.newInputStream(input), 1 << 16)) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) progress.bytesRead.incrementAndGet();
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) progress.bytesRead.addAndGet(n);
+                return n;
+            }
+        };
+        String name = input.getFileName().toString();
+        if (name.endsWith(".gz")) return new GZIPInputStream(raw, 1 << 16);
+        if (name.endsWith(".zst")) return new BufferedInputStream(new ZstdInputStream(raw), 1 << 16);
+        return raw;
+    }
+
+    private Path checkpointFile(Path input) {
+        Path absolute = input.toAbsolutePath().normalize();
+        return Path.of(checkpointDir).resolve(absolute.getFileName() + "-"
+                + Integer.toHexString(absolute.toString().hashCode()) + ".checkpoint");
+    }
+
+    // checkpoint-ul e valid doar pentru același fișier (mărime + dată modificare)
+    private static long readCheckpoint(Path checkpoint, Path input) {
+        if (!Files.exists(checkpoint)) return 0;
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(checkpoint)) {
+            p.load(in);
+            boolean sameFile = Long.parseLong(p.getProperty("size", "-1")) == Files.size(input)
+                    && Long.parseLong(p.getProperty("modified", "-1")) == Files.getLastModifiedTime(input).toMillis();
+            if (sameFile) return Long.parseLong(p.getProperty("graphs", "0"));
+            log.warn("Ignoring checkpoint {}: input file changed", checkpoint);
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable checkpoint {}", checkpoint, e);
+        }
+        return 0;
+    }
+
+    private static void writeCheckpoint(Path checkpoint, Path input, long graphs) {
+        Properties p = new Properties();
+        try {
+            p.setProperty("input", input.toAbsolutePath().toString());
+            p.setProperty("size", Long.toString(Files.size(input)));
+            p.setProperty("modified", Long.toString(Files.getLastModifiedTime(input).toMillis()));
+            p.setProperty("graphs", Long.toString(graphs));
+
+            Files.createDirectories(checkpoint.getParent());
+            Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                p.store(out, "RDF import checkpoint");
+            }
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // importul continuă; la o eventuală reluare se repetă câteva loturi (idempotent)
+            log.warn("Could not write import checkpoint {}", checkpoint, e);
+        }
+    }
+}
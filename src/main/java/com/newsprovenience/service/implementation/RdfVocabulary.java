@@ -0,0 +1,168 @@
+package com.newsprovenience.service.implementation;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.vocabulary.RDF;
+
+/**
+ * Termenii de vocabular folosiți la maparea Article -> RDF, construiți o singură dată din namespace-urile
+ * configurate (rdf.namespaces.*). Per articol nu se mai concatenează și nu se mai alocă URI-uri de proprietăți.
+ */
+final class RdfVocabulary {
+
+    // grafurile partajate cu datele de referință și cel al ștergerilor, relative la namespace-ul de bază
+    static final String TOPICS_GRAPH = "graph/topics";
+    static final String AGENTS_GRAPH = "graph/agents";
+    static final String ORGANIZATIONS_GRAPH = "graph/organizations";
+    static final String DELETED_GRAPH = "graph/deleted";
+
+    final String base;
+    final String schema;
+    final String dc;
+    final String prov;
+    final String skos;
+
+    final Node rdfType = RDF.type.asNode();
+
+    // schema.org
+    final Node newsArticle;
+    final Node creativeWork;
+    final Node person;
+    final Node organization;
+    final Node imageObject;
+    final Node audioObject;
+    final Node videoObject;
+    final Node mediaObject;
+    final Node propertyValue;
+    final Node headline;
+    final Node description;
+    final Node articleBody;
+    final Node inLanguage;
+    final Node wordCount;
+    final Node datePublished;
+    final Node url;
+    final Node genre;
+    final Node name;
+    final Node nationality;
+    final Node publisher;
+    final Node author;
+    final Node about;
+    final Node associatedMedia;
+    final Node contentUrl;
+    final Node encodingFormat;
+    final Node additionalProperty;
+    final Node propertyID;
+    final Node value;
+
+    // Dublin Core
+    final Node dcSource;
+    final Node dcType;
+    final Node dcSubject;
+
+    // PROV-O
+    final Node agent;
+    final Node activity;
+    final Node entity;
+    final Node wasAttributedTo;
+    final Node wasGeneratedBy;
+    final Node wasAssociatedWith;
+    final Node used;
+    final Node endedAtTime;
+    final Node wasRevisionOf;
+    final Node generatedAtTime;
+    final Node invalidatedAtTime;
+
+    // SKOS
+    final Node concept;
+    final Node conceptScheme;
+    final Node inScheme;
+    final Node prefLabel;
+    final Node exactMatch;
+
+    // resurse fixe, comune tuturor articolelor
+    final Node topicScheme;
+    final Node topicSchemeLabel;
+    final Node systemAgent;
+    final Node systemAgentName;
+
+    // grafurile partajate: topic-uri (+ schema), agenți (autori + agentul sistemului), organizații
+    final Node topicsGraph;
+    final Node agentsGraph;
+    final Node organizationsGraph;
+
+    // ștergerile din dump-ul incremental: articolul și grafurile lui, cu prov:invalidatedAtTime
+    final Node deletedGraph;
+
+    RdfVocabulary(String base, String schema, String dc, String prov, String skos) {
+        this.base = base;
+        this.schema = schema;
+        this.dc = dc;
+        this.prov = prov;
+        this.skos = skos;
+
+        newsArticle = uri(schema, "NewsArticle");
+        creativeWork = uri(schema, "CreativeWork");
+        person = uri(schema, "Person");
+        organization = uri(schema, "Organization");
+        imageObject = uri(schema, "ImageObject");
+        audioObject = uri(schema, "AudioObject");
+        videoObject = uri(schema, "VideoObject");
+        mediaObject = uri(schema, "MediaObject");
+        propertyValue = uri(schema, "PropertyValue");
+        headline = uri(schema, "headline");
+        description = uri(schema, "description");
+        articleBody = uri(schema, "articleBody");
+        inLanguage = uri(schema, "inLanguage");
+        wordCount = uri(schema, "wordCount");
+        datePublished = uri(schema, "datePublished");
+        url = uri(schema, "url");
+        genre = uri(schema, "genre");
+        name = uri(schema, "name");
+        nationality = uri(schema, "nationality");
+        publisher = uri(schema, "publisher");
+        author = uri(schema, "author");
+        about = uri(schema, "about");
+        associatedMedia = uri(schema, "associatedMedia");
+        contentUrl = uri(schema, "contentUrl");
+        encodingFormat = uri(schema, "encodingFormat");
+        additionalProperty = uri(schema, "additionalProperty");
+        propertyID = uri(schema, "propertyID");
+        value = uri(schema, "value");
+
+        dcSource = uri(dc, "source");
+        dcType = uri(dc, "type");
+        dcSubject = uri(dc, "subject");
+
+        agent = uri(prov, "Agent");
+        activity = uri(prov, "Activity");
+        entity = uri(prov, "Entity");
+        wasAttributedTo = uri(prov, "wasAttributedTo");
+        wasGeneratedBy = uri(prov, "wasGeneratedBy");
+        wasAssociatedWith = uri(prov, "wasAssociatedWith");
+        used = uri(prov, "used");
+        endedAtTime = uri(prov, "endedAtTime");
+        wasRevisionOf = uri(prov, "wasRevisionOf");
+        generatedAtTime = uri(prov, "generatedAtTime");
+        invalidatedAtTime = uri(prov, "invalidatedAtTime");
+
+        concept = uri(skos, "Concept");
+        conceptScheme = uri(skos, "ConceptScheme");
+        inScheme = uri(skos, "inScheme");
+        prefLabel = uri(skos, "prefLabel");
+        exactMatch = uri(skos, "exactMatch");
+
+        topicScheme = uri(base, "scheme/topics");
+        topicSchemeLabel = NodeFactory.createLiteral("News Topics", "en");
+        systemAgent = uri(base, "agent/system");
+        systemAgentName = NodeFactory.createLiteral("NewsProvenience Pipeline");
+
+        topicsGraph = uri(base, TOPICS_GRAPH);
+        agentsGraph = uri(base, AGENTS_GRAPH);
+        organizationsGraph = uri(base, ORGANIZATIONS_GRAPH);
+        deletedGraph = uri(base, DELETED_GRAPH);
+    }
+
+    private static Node uri(String namespace, String localName) {
+        return NodeFactory.createURI(namespace + localName);
+    }
+}
@@ -1,186 +1,210 @@
 package com.newsprovenience.service.implementation;
 
 import com.newsprovenience.service.dto.ArticleSearchRequest;
+import com.newsprovenience.service.dto.SparqlResultFormat;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.query.ResultSetFormatter;
-import org.apache.jena.query.ParameterizedSparqlString;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.ResultSetStream;
+import org.apache.jena.sparql.engine.binding.Binding;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class SPARQLService {
 
     private final RDFService rdfService;
+    private final SparqlResultCache resultCache;
+    private final SparqlQueryRegistry queryRegistry;
+    private final ArticleSearchIndex searchIndex;
+    private final MeterRegistry meterRegistry;
+
+    // tag-ul template pentru query-urile trimise de client (nu din SparqlQueryRegistry)
+    public static final String ADHOC = "adhoc";
+    // paginarea keyset fără text: pagina și totalul sunt query-uri separate, citite în memorie
+    private static final String SEARCH_PAGE = "search-page";
+    private static final String SEARCH_COUNT = "search-count";
+
+    /**
+     * Parsare separată de execuție, ca erorile de sintaxă să poată fi raportate înainte de a începe răspunsul.
+     */
+    public Query parseQuery(String queryString) {
+        return QueryFactory.create(queryString);
+    }
 
-    public String executeQuery(String queryString, String format) {
-        ResultSet results = rdfService.executeSparqlQuery(queryString);
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        String f = (format == null) ? "json" : format.toLowerCase();
+    /**
+     * Scrie rezultatele direct în {@code out}, rând cu rând, fără a materializa ResultSet-ul.
+     * Query-urile repetate pe aceeași versiune a dataset-ului sunt servite din {@link SparqlResultCache}.
+     *
+     * @param template numele din {@link SparqlQueryRegistry} sau {@link #ADHOC}; tag în metricile sparql.query
+     */
+    public void streamQuery(String template, Query query, SparqlResultFormat format, OutputStream out) {
+        CountingOutputStream counted = new CountingOutputStream(out);
+        AtomicLong rows = new AtomicLong(-1);
+        measure(template, format, counted, rows, () ->
+                // Query.toString() = forma serializată canonic: spațiile/comentariile din textul original nu contează
+                resultCache.serve(rdfService.datasetVersion(), query.toString(), format, counted,
+                        target -> rdfService.executeSparqlQuery(query, results -> {
+                            ResultSet counting = counting(results, rows);
+                            switch (format) {
+                                case XML -> ResultSetFormatter.outputAsXML(target, counting);
+                                case CSV -> ResultSetFormatter.outputAsCSV(target, counting);
+                                case TSV -> ResultSetFormatter.outputAsTSV(target, counting);
+                                default -> ResultSetFormatter.outputAsJSON(target, counting);
+                            }
+                        })));
+    }
 
-        switch (f) {
-            case "xml" -> ResultSetFormatter.outputAsXML(out, results);
-            case "csv" -> ResultSetFormatter.outputAsCSV(out, results);
-            default -> ResultSetFormatter.outputAsJSON(out, results);
+    /**
+     * Timer sparql.query (template, format, outcome, cache) plus rândurile (doar la execuție, nu din cache)
+     * și bytes-ii scriși. {@code rows} rămâne -1 dacă rezultatul a venit din cache;
+     * fără {@code out} (rezultat citit în memorie) nu se înregistrează bytes.
+     */
+    private void measure(String template, SparqlResultFormat format, CountingOutputStream out, AtomicLong rows,
+                         Runnable execution) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            execution.run();
+            outcome = "success";
+        } finally {
+            String formatTag = format.name().toLowerCase(Locale.ROOT);
+            Timer.builder("sparql.query")
+                    .tag("template", template)
+                    .tag("format", formatTag)
+                    .tag("outcome", outcome)
+                    .tag("cache", rows.get() < 0 && outcome.equals("success") ? "hit" : "miss")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (rows.get() >= 0) {
+                DistributionSummary.builder("sparql.query.rows").tag("template", template)
+                        .register(meterRegistry).record(rows.get());
+            }
+            if (out != null) {
+                DistributionSummary.builder("sparql.query.bytes").baseUnit("bytes")
+                        .tag("template", template).tag("format", formatTag)
+                        .register(meterRegistry).record(out.getByteCount());
+            }
         }
-
-        return out.toString(StandardCharsets.UTF_8);
     }
 
-    public String buildSearchQuery(ArticleSearchRequest request) {
-        ParameterizedSparqlString pss = new ParameterizedSparqlString();
-        pss.setNsPrefix("schema", "http://schema.org/");
-        pss.setNsPrefix("dc", "http://purl.org/dc/elements/1.1/");
-        pss.setNsPrefix("skos", "http://www.w3.org/2004/02/skos/core#");
-        pss.setNsPrefix("xsd", "http://www.w3.org/2001/XMLSchema#");
-
-        pss.append("""
-        SELECT ?article ?title ?description ?language ?wordCount ?published ?genre
-        WHERE {
-            ?article a schema:NewsArticle ;
-                     schema:headline ?title .
-            OPTIONAL { ?article schema:description ?description . }
-            OPTIONAL { ?article schema:inLanguage ?language . }
-            OPTIONAL { ?article schema:wordCount ?wordCount . }
-            OPTIONAL { ?article schema:datePublished ?published . }
-            OPTIONAL { ?article schema:genre ?genre . }
-            OPTIONAL { ?article dc:subject ?subject . }
-            OPTIONAL {
-              ?article schema:about ?c .
-              OPTIONAL { ?c skos:prefLabel ?cLabel . }
+    // aceleași rânduri, numărate pe măsură ce formatter-ul le consumă
+    static ResultSet counting(ResultSet results, AtomicLong rows) {
+        rows.set(0);
+        Iterator<Binding> it = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return results.hasNext();
             }
-    """);
-
-        if (request != null && request.getQuery() != null && !request.getQuery().isBlank()) {
-            pss.append("""
-              FILTER(
-                CONTAINS(LCASE(STR(?title)), LCASE(?Q)) ||
-                (BOUND(?description) && CONTAINS(LCASE(STR(?description)), LCASE(?Q))) ||
-                (BOUND(?subject) && CONTAINS(LCASE(STR(?subject)), LCASE(?Q))) ||
-                (BOUND(?cLabel) && CONTAINS(LCASE(STR(?cLabel)), LCASE(?Q)))
-              )
-            """);
-            pss.setLiteral("Q", request.getQuery());
-        }
 
-        if (request != null && request.getLanguage() != null && !request.getLanguage().isBlank()) {
-            pss.append(" FILTER(!BOUND(?language) || ?language = ?LANG) ");
-            pss.setLiteral("LANG", request.getLanguage());
-        }
+            @Override
+            public Binding next() {
+                rows.incrementAndGet();
+                return results.nextBinding();
+            }
+        };
+        return ResultSetStream.create(Var.varList(results.getResultVars()), it);
+    }
 
-        if (request != null && request.getMaxWords() != null) {
-            pss.append(" FILTER(!BOUND(?wordCount) || ?wordCount <= ?MAXW) ");
-            pss.setLiteral("MAXW", request.getMaxWords());
+    /**
+     * O pagină din căutarea semantică, în format SPARQL JSON; cursorul și totalul merg separat (în headere).
+     *
+     * @param writer scrie pagina; apelat de controller după ce headerele au fost trimise
+     */
+    public record SearchPage(String nextCursor, Long total, Consumer<OutputStream> writer) {
+    }
+
+    /**
+     * Cu text liber, indexul full-text decide pagina (ordinea BM25, cursor pe scor + id), iar SPARQL doar aduce
+     * rândurile acelor articole, streamed și cache-uite. Doar cu filtre, pagina e un keyset în SPARQL pe
+     * (?published DESC, ?article), citită cu un rând în plus ca să știm dacă urmează alta.
+     */
+    public SearchPage searchPage(ArticleSearchRequest request) {
+        int pageSize = searchIndex.pageSize(request);
+
+        if (request.getQuery() != null && !request.getQuery().isBlank()) {
+            SearchCursor after = SearchCursor.decode(request.getCursor(), SearchCursor.Kind.SCORE);
+            List<ArticleSearchIndex.Hit> hits = searchIndex.searchPage(request, pageSize + 1, after);
+            String nextCursor = null;
+            if (hits.size() > pageSize) {
+                hits = hits.subList(0, pageSize);
+                ArticleSearchIndex.Hit last = hits.get(pageSize - 1);
+                nextCursor = new SearchCursor(SearchCursor.Kind.SCORE,
+                        Float.toString(last.score()), last.id().toString()).encode();
+            }
+            Query query = queryRegistry.search(request, hits.stream().map(ArticleSearchIndex.Hit::uri).toList());
+            Long total = request.isIncludeTotal() ? searchIndex.count(request) : null;
+            return new SearchPage(nextCursor, total,
+                    out -> streamQuery(SparqlQueryRegistry.SEARCH, query, SparqlResultFormat.JSON, out));
         }
 
-        if (request != null && request.getMediaType() != null && !request.getMediaType().isBlank()) {
-            pss.append(" FILTER(!BOUND(?genre) || LCASE(STR(?genre)) = LCASE(?MT)) ");
-            pss.setLiteral("MT", request.getMediaType());
+        SearchCursor after = SearchCursor.decode(request.getCursor(), SearchCursor.Kind.GRAPH);
+        Query query = queryRegistry.searchPage(request, after, pageSize + 1);
+
+        List<String> vars = new ArrayList<>();
+        List<Binding> rows = new ArrayList<>(pageSize + 1);
+        AtomicLong rowCount = new AtomicLong();
+        measure(SEARCH_PAGE, SparqlResultFormat.JSON, null, rowCount, () -> rdfService.executeSparqlQuery(query, results -> {
+                    vars.addAll(results.getResultVars());
+                    while (results.hasNext() && rows.size() <= pageSize) {
+                        rows.add(results.nextBinding());
+                    }
+                    rowCount.set(rows.size());
+                }));
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows.remove(pageSize);
+            Binding last = rows.get(pageSize - 1);
+            Node published = last.get(Var.alloc("published"));
+            nextCursor = new SearchCursor(SearchCursor.Kind.GRAPH,
+                    published != null && published.isLiteral() ? published.getLiteralLexicalForm() : "",
+                    last.get(Var.alloc("article")).getURI()).encode();
         }
 
-        pss.append("""
-            }
-            ORDER BY DESC(?published)
-            LIMIT 100
-        """);
+        Long total = null;
+        if (request.isIncludeTotal()) {
+            AtomicLong count = new AtomicLong();
+            measure(SEARCH_COUNT, SparqlResultFormat.JSON, null, new AtomicLong(1), () ->
+                    rdfService.executeSparqlQuery(queryRegistry.searchCount(request), results -> {
+                        if (results.hasNext()) count.set(results.next().getLiteral("total").getLong());
+                    }));
+            total = count.get();
+        }
 
-        return pss.toString();
+        // pagina e mărginită (search.page.max-size), deci o putem ține în memorie până la scriere
+        return new SearchPage(nextCursor, total, out ->
+                ResultSetFormatter.outputAsJSON(out, ResultSetStream.create(Var.varList(vars), rows.iterator())));
     }
 
-    // Examples aligned with named graphs + model (genre/type/topic)
-    public String getFreshEditorialsQuery(String topic, String dateFrom) {
-        return String.format("""
-            PREFIX schema: <http://schema.org/>
-            PREFIX dc: <http://purl.org/dc/elements/1.1/>
-            PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>
-
-            SELECT ?article ?title ?published ?description
-            WHERE {
-              GRAPH ?g {
-                ?article a schema:NewsArticle ;
-                         schema:headline ?title .
-                OPTIONAL { ?article schema:description ?description . }
-                OPTIONAL { ?article schema:datePublished ?published . }
-                OPTIONAL { ?article schema:genre ?genre . }
-                OPTIONAL { ?article dc:type ?dcType . }
-                OPTIONAL { ?article dc:subject ?subject . }
-
-                FILTER( (BOUND(?genre) && LCASE(STR(?genre))="editorial")
-                     || (BOUND(?dcType) && LCASE(STR(?dcType))="editorial") )
-
-                FILTER( !BOUND(?subject) || CONTAINS(LCASE(STR(?subject)), LCASE("%s")) )
-
-                FILTER( !BOUND(?published) || ?published >= "%sT00:00:00"^^xsd:dateTime )
-              }
-            }
-            ORDER BY DESC(?published)
-            LIMIT 50
-        """, topic, dateFrom);
+    public Query getFreshEditorialsQuery(String topic, LocalDate dateFrom) {
+        return queryRegistry.freshEditorials(topic, dateFrom);
     }
 
-    public String getArticlesByLanguageAndWords(String lang1, String lang2, int maxWords, String topic) {
-        return String.format("""
-        PREFIX schema: <http://schema.org/>
-        PREFIX dc: <http://purl.org/dc/elements/1.1/>
-        PREFIX skos: <http://www.w3.org/2004/02/skos/core#>
-
-        SELECT ?article ?title ?language ?wordCount ?description
-        WHERE {
-          GRAPH ?g {
-            ?article a schema:NewsArticle ;
-                     schema:headline ?title ;
-                     schema:inLanguage ?language ;
-                     schema:wordCount ?wordCount .
-            OPTIONAL { ?article schema:description ?description . }
-            OPTIONAL { ?article dc:subject ?subject . }
-            OPTIONAL {
-              ?article schema:about ?c .
-              OPTIONAL { ?c skos:prefLabel ?cLabel . }
-            }
-          }
-
-          FILTER(?language = "%s" || ?language = "%s")
-          FILTER(?wordCount < %d)
-
-          FILTER(
-            (BOUND(?subject) && CONTAINS(LCASE(STR(?subject)), LCASE("%s"))) ||
-            (BOUND(?cLabel) && CONTAINS(LCASE(STR(?cLabel)), LCASE("%s"))) ||
-            CONTAINS(LCASE(STR(?title)), LCASE("%s"))
-          )
-        }
-        ORDER BY ?wordCount
-        LIMIT 100
-        """, lang1, lang2, maxWords, topic, topic, topic);
+    public Query getArticlesByLanguageAndWords(String lang1, String lang2, int maxWords, String topic) {
+        return queryRegistry.articlesByLanguage(lang1, lang2, maxWords, topic);
     }
 
-    public String getRomanianInvestigationsQuery() {
-        return """
-        PREFIX schema: <http://schema.org/>
-
-        SELECT ?article ?title ?description ?author ?published ?genre
-        WHERE {
-          GRAPH ?g {
-            ?article a schema:NewsArticle ;
-                     schema:headline ?title ;
-                     schema:author ?authorNode .
-            OPTIONAL { ?article schema:description ?description . }
-            OPTIONAL { ?article schema:datePublished ?published . }
-            OPTIONAL { ?article schema:genre ?genre . }
-
-            ?authorNode schema:name ?author .
-            OPTIONAL { ?authorNode schema:nationality ?nat . }
-          }
-
-          FILTER(BOUND(?nat) && CONTAINS(LCASE(STR(?nat)), "roman"))
-          FILTER(BOUND(?genre) && (LCASE(STR(?genre)) = "investigation" || LCASE(STR(?genre)) = "documentary"))
-        }
-        ORDER BY DESC(?published)
-        LIMIT 100
-        """;
+    public Query getRomanianInvestigationsQuery() {
+        return queryRegistry.romanianInvestigations();
     }
 
 }
@@ -0,0 +1,46 @@
+package com.newsprovenience.service.implementation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor de paginare keyset: cheia de sortare a ultimului rând din pagină.
+ * Pentru client e un token opac (base64url); tipul lui trebuie să corespundă ordinii căutării care l-a emis.
+ *
+ * @param kind ordinea căutării
+ * @param key  valoarea de sortare principală (scor / dată); gol = fără dată
+ * @param id   departajarea: id-ul articolului (SCORE, DATE) sau URI-ul lui (GRAPH)
+ */
+record SearchCursor(Kind kind, String key, String id) {
+
+    enum Kind {
+        SCORE, // căutare full-text: (scor DESC, id)
+        DATE,  // căutare pe filtre, JPA: (publishedDate DESC, id)
+        GRAPH  // căutare pe filtre, SPARQL: (?published DESC, ?article)
+    }
+
+    private static final String SEP = "\n";
+
+    String encode() {
+        String raw = kind.name() + SEP + (key == null ? "" : key) + SEP + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean hasKey() {
+        return key != null && !key.isEmpty();
+    }
+
+    static SearchCursor decode(String token, Kind expected) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEP, 3);
+            if (parts.length == 3 && Kind.valueOf(parts[0]) == expected && !parts[2].isEmpty()) {
+                return new SearchCursor(expected, parts[1], parts[2]);
+            }
+        } catch (IllegalArgumentException ignored) {
+            // base64 sau tip invalid: raportăm mai jos
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
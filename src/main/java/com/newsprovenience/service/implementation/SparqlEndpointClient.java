@@ -0,0 +1,165 @@
+package com.newsprovenience.service.implementation;
+
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.sparql.exec.http.QueryExecutionHTTP;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client pentru un endpoint SPARQL public (DBpedia/Wikidata) cu:
+ * - timeout per request (connect + răspuns),
+ * - limită de concurență (bulkhead),
+ * - circuit breaker: după {@code failureThreshold} erori consecutive refuză imediat apelurile
+ *   timp de {@code openDuration}, apoi lasă să treacă un singur apel de probă (HALF_OPEN).
+ */
+public class SparqlEndpointClient {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Apel refuzat fără a contacta endpoint-ul (circuit deschis sau limită de concurență atinsă).
+     */
+    public static class EndpointUnavailableException extends RuntimeException {
+        public EndpointUnavailableException(String message) {
+            super(message);
+        }
+    }
+
+    private final String name;
+    private final String url;
+    private final Duration timeout;
+    private final Semaphore permits;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final HttpClient httpClient;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    public SparqlEndpointClient(String name, String url, Duration timeout, int maxConcurrent,
+                                int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.url = url;
+        this.timeout = timeout;
+        this.permits = new Semaphore(maxConcurrent);
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Execută un SELECT și întoarce URI-urile legate la {@code var}.
+     * Aruncă excepție la timeout/eroare HTTP - apelantul decide dacă degradează la listă goală.
+     */
+    public List<String> selectUris(Query query, String var) {
+        boolean probe = acquirePermission();
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                throw new EndpointUnavailableException(name + ": concurrency limit reached");
+            }
+            List<String> uris = execute(query, var);
+            onSuccess(probe);
+            return uris;
+        } catch (EndpointUnavailableException e) {
+            if (probe) releaseProbe();
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (probe) releaseProbe();
+            throw new EndpointUnavailableException(name + ": interrupted");
+        } catch (RuntimeException e) {
+            onFailure(probe);
+            throw new IllegalStateException("SPARQL lookup failed at " + name + " (" + url + ")", e);
+        } finally {
+            if (acquired) permits.release();
+        }
+    }
+
+    private List<String> execute(Query query, String var) {
+        List<String> uris = new ArrayList<>();
+        try (QueryExecution qexec = QueryExecutionHTTP.service(url)
+                .httpClient(httpClient)
+                .query(query)
+                .timeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build()) {
+            ResultSet rs = qexec.execSelect();
+            while (rs.hasNext()) {
+                QuerySolution sol = rs.next();
+                if (sol.contains(var) && sol.get(var).isResource()) {
+                    uris.add(sol.getResource(var).getURI());
+                }
+            }
+        }
+        return uris;
+    }
+
+    // -------------------------
+    // Circuit breaker
+    // -------------------------
+    /**
+     * Întoarce {@code true} dacă apelul e proba din HALF_OPEN; doar el eliberează proba la final,
+     * nu un apel admis cât circuitul era CLOSED și terminat după ce circuitul s-a deschis.
+     */
+    synchronized boolean acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDuration.toNanos()) {
+                throw new EndpointUnavailableException(name + ": circuit open");
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                throw new EndpointUnavailableException(name + ": circuit half-open, probe in flight");
+            }
+            probeInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    private synchronized void onSuccess(boolean probe) {
+        consecutiveFailures = 0;
+        if (probe) probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    private synchronized void onFailure(boolean probe) {
+        if (probe) probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+}
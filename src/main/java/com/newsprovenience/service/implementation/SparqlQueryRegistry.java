@@ -0,0 +1,358 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.service.dto.ArticleSearchRequest;
+import jakarta.annotation.PostConstruct;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.syntax.ElementData;
+import org.apache.jena.sparql.syntax.ElementGroup;
+import org.apache.jena.sparql.syntax.syntaxtransform.QueryTransformOps;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registru de template-uri SPARQL parsate o singură dată, la pornire.
+ * Per request doar legăm valorile parametrilor (variabile {@code ?_name}) pe o copie a arborelui sintactic,
+ * prin {@link QueryTransformOps} - fără String.format, fără re-parsare și fără risc de injecție în textul query-ului.
+ * Compilarea în algebră rămâne la execuție (local) sau la Fuseki (remote), unde query-ul ajunge ca text.
+ */
+@Service
+public class SparqlQueryRegistry {
+
+    public static final String FRESH_EDITORIALS = "fresh-editorials";
+    public static final String ARTICLES_BY_LANGUAGE = "articles-by-language";
+    public static final String ROMANIAN_INVESTIGATIONS = "romanian-investigations";
+    public static final String SEARCH = "search";
+
+    private static final String PREFIXES = """
+            PREFIX schema: <http://schema.org/>
+            PREFIX dc: <http://purl.org/dc/elements/1.1/>
+            PREFIX skos: <http://www.w3.org/2004/02/skos/core#>
+            PREFIX prov: <http://www.w3.org/ns/prov#>
+            PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>
+            """;
+
+    // Examples aligned with named graphs + model (genre/type/topic)
+    // Etichetele topic-urilor și datele autorilor sunt în grafurile partajate (?_topicsGraph, ?_agentsGraph).
+    // Un graf înlocuit de o versiune mai nouă (?newer prov:wasRevisionOf ?g) e istoric și nu intră în rezultate.
+    private static final String FRESH_EDITORIALS_TEMPLATE = PREFIXES + """
+            SELECT ?article ?title ?published ?description
+            WHERE {
+              GRAPH ?g {
+                ?article a schema:NewsArticle ;
+                         schema:headline ?title .
+                OPTIONAL { ?article schema:description ?description . }
+                OPTIONAL { ?article schema:datePublished ?published . }
+                OPTIONAL { ?article schema:genre ?genre . }
+                OPTIONAL { ?article dc:type ?dcType . }
+                OPTIONAL { ?article dc:subject ?subject . }
+
+                FILTER( (BOUND(?genre) && LCASE(STR(?genre))="editorial")
+                     || (BOUND(?dcType) && LCASE(STR(?dcType))="editorial") )
+
+                FILTER( !BOUND(?subject) || CONTAINS(LCASE(STR(?subject)), LCASE(?_topic)) )
+
+                FILTER( !BOUND(?published) || ?published >= ?_dateFrom )
+              }
+              FILTER NOT EXISTS { GRAPH ?newer { ?newer prov:wasRevisionOf ?g } }
+            }
+            ORDER BY DESC(?published)
+            LIMIT 50
+            """;
+
+    private static final String ARTICLES_BY_LANGUAGE_TEMPLATE = PREFIXES + """
+            SELECT ?article ?title ?language ?wordCount ?description
+            WHERE {
+              GRAPH ?g {
+                ?article a schema:NewsArticle ;
+                         schema:headline ?title ;
+                         schema:inLanguage ?language ;
+                         schema:wordCount ?wordCount .
+                OPTIONAL { ?article schema:description ?description . }
+                OPTIONAL { ?article dc:subject ?subject . }
+              }
+              OPTIONAL {
+                GRAPH ?g { ?article schema:about ?c . }
+                OPTIONAL { GRAPH ?_topicsGraph { ?c skos:prefLabel ?cLabel . } }
+              }
+
+              FILTER(?language = ?_lang1 || ?language = ?_lang2)
+              FILTER(?wordCount < ?_maxWords)
+              FILTER NOT EXISTS { GRAPH ?newer { ?newer prov:wasRevisionOf ?g } }
+
+              FILTER(
+                (BOUND(?subject) && CONTAINS(LCASE(STR(?subject)), LCASE(?_topic))) ||
+                (BOUND(?cLabel) && CONTAINS(LCASE(STR(?cLabel)), LCASE(?_topic))) ||
+                CONTAINS(LCASE(STR(?title)), LCASE(?_topic))
+              )
+            }
+            ORDER BY ?wordCount
+            LIMIT 100
+            """;
+
+    private static final String ROMANIAN_INVESTIGATIONS_TEMPLATE = PREFIXES + """
+            SELECT ?article ?title ?description ?author ?published ?genre
+            WHERE {
+              GRAPH ?g {
+                ?article a schema:NewsArticle ;
+                         schema:headline ?title ;
+                         schema:author ?authorNode .
+                OPTIONAL { ?article schema:description ?description . }
+                OPTIONAL { ?article schema:datePublished ?published . }
+                OPTIONAL { ?article schema:genre ?genre . }
+              }
+              GRAPH ?_agentsGraph {
+                ?authorNode schema:name ?author .
+                OPTIONAL { ?authorNode schema:nationality ?nat . }
+              }
+
+              FILTER(BOUND(?nat) && CONTAINS(LCASE(STR(?nat)), "roman"))
+              FILTER NOT EXISTS { GRAPH ?newer { ?newer prov:wasRevisionOf ?g } }
+              FILTER(BOUND(?genre) && (LCASE(STR(?genre)) = "investigation" || LCASE(STR(?genre)) = "documentary"))
+            }
+            ORDER BY DESC(?published)
+            LIMIT 100
+            """;
+
+    // flag-uri pentru variantele query-ului de căutare (fiecare filtru opțional schimbă structura query-ului)
+    // (textul liber nu mai e filtru SPARQL: vine ca bloc VALUES din indexul full-text)
+    private static final int F_LANGUAGE = 1;
+    private static final int F_MAX_WORDS = 1 << 1;
+    private static final int F_MEDIA_TYPE = 1 << 2;
+    private static final int SEARCH_VARIANTS = 1 << 3;
+
+    // forma query-ului de căutare: text (ordinea din index), pagină keyset pe (?published DESC, ?article), numărare
+    private static final int M_TEXT = 0;
+    private static final int M_FIRST_PAGE = 1;
+    private static final int M_AFTER_DATED = 2;
+    private static final int M_AFTER_UNDATED = 3;
+    private static final int M_COUNT = 4;
+    private static final int SEARCH_MODES = 5;
+
+    private final Map<String, Query> templates = new HashMap<>();
+    // conținutul unor grafuri numite, ca quad-uri (dump), grupate pe graf: importul face câte o unitate per graf
+    private static final Query GRAPH_CONTENTS = parse("SELECT ?g ?s ?p ?o WHERE { GRAPH ?g { ?s ?p ?o } } ORDER BY ?g");
+
+    private final Query[][] searchTemplates = new Query[SEARCH_MODES][SEARCH_VARIANTS];
+
+    @Value("${rdf.namespaces.base}")
+    private String baseNamespace;
+
+    @PostConstruct
+    void init() {
+        register(FRESH_EDITORIALS, FRESH_EDITORIALS_TEMPLATE);
+        register(ARTICLES_BY_LANGUAGE, ARTICLES_BY_LANGUAGE_TEMPLATE);
+        register(ROMANIAN_INVESTIGATIONS, ROMANIAN_INVESTIGATIONS_TEMPLATE);
+        for (int mode = 0; mode < SEARCH_MODES; mode++) {
+            for (int flags = 0; flags < SEARCH_VARIANTS; flags++) {
+                searchTemplates[mode][flags] = parse(searchTemplateText(mode, flags));
+            }
+        }
+    }
+
+    // URI-urile grafurilor partajate depind de namespace-ul configurat: se leagă o singură dată, aici
+    private void register(String name, String text) {
+        Map<String, Node> sharedGraphs = Map.of(
+                "_topicsGraph", NodeFactory.createURI(baseNamespace + RdfVocabulary.TOPICS_GRAPH),
+                "_agentsGraph", NodeFactory.createURI(baseNamespace + RdfVocabulary.AGENTS_GRAPH));
+        templates.put(name, bind(parse(text), sharedGraphs));
+    }
+
+    /**
+     * Parsare la pornire: un template invalid oprește aplicația, nu primul request.
+     */
+    private static Query parse(String text) {
+        return QueryFactory.create(text);
+    }
+
+    // -------------------------
+    // Query-uri canonice
+    // -------------------------
+    public Query freshEditorials(String topic, LocalDate dateFrom) {
+        Map<String, Node> params = new HashMap<>();
+        params.put("_topic", NodeFactory.createLiteral(topic));
+        params.put("_dateFrom", NodeFactory.createLiteral(dateFrom + "T00:00:00", XSDDatatype.XSDdateTime));
+        return bind(templates.get(FRESH_EDITORIALS), params);
+    }
+
+    public Query articlesByLanguage(String lang1, String lang2, int maxWords, String topic) {
+        Map<String, Node> params = new HashMap<>();
+        params.put("_lang1", NodeFactory.createLiteral(lang1));
+        params.put("_lang2", NodeFactory.createLiteral(lang2));
+        params.put("_maxWords", NodeFactory.createLiteral(Integer.toString(maxWords), XSDDatatype.XSDinteger));
+        params.put("_topic", NodeFactory.createLiteral(topic));
+        return bind(templates.get(ARTICLES_BY_LANGUAGE), params);
+    }
+
+    public Query romanianInvestigations() {
+        return bind(templates.get(ROMANIAN_INVESTIGATIONS), Map.of());
+    }
+
+    /**
+     * Toate triplele grafurilor date (inclusiv cele adăugate de enrichment), cu numele grafului în {@code ?g},
+     * câte un graf întreg pe rând.
+     */
+    public Query graphContents(Collection<String> graphUris) {
+        Var g = Var.alloc("g");
+        ElementData values = new ElementData();
+        values.add(g);
+        for (String graphUri : graphUris) {
+            values.add(BindingFactory.binding(g, NodeFactory.createURI(graphUri)));
+        }
+
+        Query copy = QueryTransformOps.transform(GRAPH_CONTENTS, Map.of());
+        ElementGroup group = new ElementGroup();
+        group.addElement(values);
+        ((ElementGroup) GRAPH_CONTENTS.getQueryPattern()).getElements().forEach(group::addElement);
+        copy.setQueryPattern(group);
+        return copy;
+    }
+
+    // -------------------------
+    // Căutare
+    // -------------------------
+    /**
+     * Căutare cu text liber: articolele (deja filtrate și ordonate de {@link ArticleSearchIndex}) ajung într-un bloc
+     * {@code VALUES (?article ?rank)} în locul filtrelor CONTAINS; rezultatele păstrează ordinea din index.
+     */
+    public Query search(ArticleSearchRequest request, List<String> articleUris) {
+        Map<String, Node> params = new HashMap<>();
+        int flags = filterParams(request, params);
+        return withArticles(bind(searchTemplates[M_TEXT][flags], params), articleUris);
+    }
+
+    /**
+     * Căutare doar cu filtre: o pagină keyset pe (?published DESC, ?article), continuând după {@code after}.
+     */
+    public Query searchPage(ArticleSearchRequest request, SearchCursor after, int limit) {
+        Map<String, Node> params = new HashMap<>();
+        int flags = filterParams(request, params);
+
+        int mode = M_FIRST_PAGE;
+        if (after != null) {
+            params.put("_afterArticle", NodeFactory.createLiteral(after.id()));
+            if (after.hasKey()) {
+                mode = M_AFTER_DATED;
+                params.put("_afterPublished", NodeFactory.createLiteral(after.key(), XSDDatatype.XSDdateTime));
+            } else {
+                mode = M_AFTER_UNDATED;
+            }
+        }
+
+        Query query = bind(searchTemplates[mode][flags], params);
+        query.setLimit(limit);
+        return query;
+    }
+
+    public Query searchCount(ArticleSearchRequest request) {
+        Map<String, Node> params = new HashMap<>();
+        int flags = filterParams(request, params);
+        return bind(searchTemplates[M_COUNT][flags], params);
+    }
+
+    private static int filterParams(ArticleSearchRequest request, Map<String, Node> params) {
+        int flags = 0;
+        if (request != null && request.getLanguage() != null && !request.getLanguage().isBlank()) {
+            flags |= F_LANGUAGE;
+            params.put("_lang", NodeFactory.createLiteral(request.getLanguage()));
+        }
+        if (request != null && request.getMaxWords() != null) {
+            flags |= F_MAX_WORDS;
+            params.put("_maxWords", NodeFactory.createLiteral(request.getMaxWords().toString(), XSDDatatype.XSDinteger));
+        }
+        if (request != null && request.getMediaType() != null && !request.getMediaType().isBlank()) {
+            flags |= F_MEDIA_TYPE;
+            params.put("_mediaType", NodeFactory.createLiteral(request.getMediaType()));
+        }
+        return flags;
+    }
+
+    private static String searchTemplateText(int mode, int flags) {
+        StringBuilder sb = new StringBuilder(PREFIXES).append(mode == M_COUNT
+                ? "SELECT (COUNT(DISTINCT ?article) AS ?total)\n"
+                : "SELECT ?article ?title ?description ?language ?wordCount ?published ?genre\n");
+        sb.append("""
+                WHERE {
+                  GRAPH ?g {
+                    ?article a schema:NewsArticle ;
+                             schema:headline ?title .
+                    OPTIONAL { ?article schema:description ?description . }
+                    OPTIONAL { ?article schema:inLanguage ?language . }
+                    OPTIONAL { ?article schema:wordCount ?wordCount . }
+                    OPTIONAL { ?article schema:datePublished ?published . }
+                    OPTIONAL { ?article schema:genre ?genre . }
+                  }
+                  FILTER NOT EXISTS { GRAPH ?newer { ?newer prov:wasRevisionOf ?g } }
+                """);
+
+        if ((flags & F_LANGUAGE) != 0) {
+            sb.append(" FILTER(!BOUND(?language) || ?language = ?_lang) \n");
+        }
+        if ((flags & F_MAX_WORDS) != 0) {
+            sb.append(" FILTER(!BOUND(?wordCount) || ?wordCount <= ?_maxWords) \n");
+        }
+        if ((flags & F_MEDIA_TYPE) != 0) {
+            sb.append(" FILTER(!BOUND(?genre) || LCASE(STR(?genre)) = LCASE(?_mediaType)) \n");
+        }
+
+        // articolele fără dată vin după toate cele datate (DESC pune valorile nelegate la final)
+        if (mode == M_AFTER_DATED) {
+            sb.append("""
+                      FILTER(!BOUND(?published) || ?published < ?_afterPublished ||
+                             (?published = ?_afterPublished && STR(?article) > ?_afterArticle))
+                    """);
+        } else if (mode == M_AFTER_UNDATED) {
+            sb.append(" FILTER(!BOUND(?published) && STR(?article) > ?_afterArticle) \n");
+        }
+
+        sb.append("}\n");
+        if (mode == M_TEXT) {
+            sb.append("ORDER BY ?rank\n");
+        } else if (mode != M_COUNT) {
+            sb.append("ORDER BY DESC(?published) ?article\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Pune {@code VALUES (?article ?rank) { ... }} la începutul pattern-ului, ca join-ul să pornească de la
+     * articolele găsite de index. Lucrăm pe o copie: template-ul e partajat între request-uri.
+     */
+    private static Query withArticles(Query query, List<String> articleUris) {
+        Var article = Var.alloc("article");
+        Var rank = Var.alloc("rank");
+        ElementData values = new ElementData();
+        values.add(article);
+        values.add(rank);
+        for (int i = 0; i < articleUris.size(); i++) {
+            values.add(BindingFactory.binding(
+                    article, NodeFactory.createURI(articleUris.get(i)),
+                    rank, NodeFactory.createLiteral(Integer.toString(i), XSDDatatype.XSDinteger)));
+        }
+
+        Query copy = QueryTransformOps.transform(query, Map.of());
+        ElementGroup group = new ElementGroup();
+        group.addElement(values);
+        ((ElementGroup) query.getQueryPattern()).getElements().forEach(group::addElement);
+        copy.setQueryPattern(group);
+        return copy;
+    }
+
+    // întoarce mereu o copie (chiar fără parametri), ca apelantul să poată seta LIMIT
+    private static Query bind(Query template, Map<String, Node> params) {
+        Map<Var, Node> substitutions = new HashMap<>();
+        params.forEach((name, value) -> substitutions.put(Var.alloc(name), value));
+        return QueryTransformOps.transform(template, substitutions);
+    }
+}
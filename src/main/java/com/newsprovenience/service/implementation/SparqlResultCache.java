@@ -0,0 +1,146 @@
+package com.newsprovenience.service.implementation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.newsprovenience.service.dto.SparqlResultFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Cache de rezultate SPARQL serializate, mărginit în bytes.
+ * Cheia include versiunea dataset-ului (vezi {@link RDFService#datasetVersion()}): orice scriere o incrementează,
+ * deci intrările vechi devin inaccesibile imediat și sunt eliberate la primul put pe versiunea nouă.
+ */
+@Service
+@RequiredArgsConstructor
+public class SparqlResultCache {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${sparql.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sparql.cache.max-bytes:64MB}")
+    private DataSize maxBytes;
+
+    @Value("${sparql.cache.max-entry-bytes:4MB}")
+    private DataSize maxEntryBytes;
+
+    // plasă de siguranță pentru scrieri făcute direct în Fuseki, pe lângă aplicație
+    @Value("${sparql.cache.ttl:PT10M}")
+    private Duration ttl;
+
+    private Cache<CacheKey, byte[]> cache;
+    private volatile long latestVersion;
+
+    record CacheKey(long datasetVersion, String query, SparqlResultFormat format) {
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes.toBytes())
+                .weigher((CacheKey k, byte[] v) -> v.length + 2 * k.query().length())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "sparql.results"));
+    }
+
+    /**
+     * Servește rezultatul din cache sau îl produce prin {@code producer}, scriind în același timp în {@code out}
+     * (fără întârziere pentru primul byte) și într-o copie care ajunge în cache dacă nu depășește max-entry-bytes.
+     */
+    public void serve(long datasetVersion, String normalizedQuery, SparqlResultFormat format,
+                      OutputStream out, Consumer<OutputStream> producer) {
+        if (!enabled) {
+            producer.accept(out);
+            return;
+        }
+
+        CacheKey key = new CacheKey(datasetVersion, normalizedQuery, format);
+        byte[] cached = cache.getIfPresent(key);
+        if (cached != null) {
+            try {
+                out.write(cached);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+
+        CapturingOutputStream tee = new CapturingOutputStream(out, maxEntryBytes.toBytes());
+        producer.accept(tee);
+        if (!tee.overflowed()) {
+            put(key, tee.captured());
+        }
+    }
+
+    private void put(CacheKey key, byte[] value) {
+        if (key.datasetVersion() > latestVersion) {
+            // dataset-ul s-a schimbat: tot ce e în cache aparține unei versiuni vechi
+            latestVersion = key.datasetVersion();
+            cache.invalidateAll();
+        } else if (key.datasetVersion() < latestVersion) {
+            return;
+        }
+        cache.put(key, value);
+    }
+
+    /**
+     * Scrie mai departe tot ce primește și păstrează o copie până la {@code limit} bytes.
+     */
+    private static final class CapturingOutputStream extends FilterOutputStream {
+        private final long limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        CapturingOutputStream(OutputStream out, long limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) copy = null;
+        }
+
+        boolean overflowed() {
+            return copy == null;
+        }
+
+        byte[] captured() {
+            return copy.toByteArray();
+        }
+    }
+}
@@ -2,11 +2,20 @@ package com.newsprovenience.service.mapper;
 import com.newsprovenience.domain.Article;
 import com.newsprovenience.service.dto.ArticleDTO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface ArticleMapper {
 
     ArticleDTO toDTO(Article entity);
 
+    // starea îmbogățirii e gestionată de EnrichmentQueue, nu vine din DTO
+    @Mapping(target = "enrichmentStatus", ignore = true)
+    @Mapping(target = "enrichmentAttempts", ignore = true)
+    @Mapping(target = "enrichmentError", ignore = true)
+    @Mapping(target = "enrichedAt", ignore = true)
+    // versiunea grafului crește doar prin actualizări (ArticleService.updateArticle)
+    @Mapping(target = "graphVersion", ignore = true)
+    @Mapping(target = "versionedAt", ignore = true)
     Article toEntity(ArticleDTO dto);
 }
@@ -1,27 +1,57 @@
 package com.newsprovenience.web;
 
-import com.newsprovenience.repository.ArticleRepository;
+import com.newsprovenience.domain.AnalyticsDimension;
+import com.newsprovenience.service.implementation.ArticleAnalytics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Statistici din contoarele în memorie ({@link ArticleAnalytics}): costul nu depinde de numărul de articole.
+ */
 @RestController
 @RequestMapping("/api/analytics")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class AnalyticsController {
-    private final ArticleRepository articleRepository;
+    private final ArticleAnalytics analytics;
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalArticles", articleRepository.count());
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(analytics.stats());
+    }
+
+    /** Numărul de articole per bucket: language, media-type, topic, author sau day. */
+    @GetMapping("/{dimension}")
+    public ResponseEntity<?> getCounts(@PathVariable String dimension,
+                                       @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(analytics.counts(AnalyticsDimension.of(dimension), limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{dimension}/{bucket}")
+    public ResponseEntity<?> getCount(@PathVariable String dimension, @PathVariable String bucket) {
+        try {
+            return ResponseEntity.ok(Map.of(bucket, analytics.count(AnalyticsDimension.of(dimension), bucket)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /** Recalculează contoarele din baza de date (ex. după modificări făcute direct în bază). */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        return ResponseEntity.ok(analytics.rebuild());
     }
 }
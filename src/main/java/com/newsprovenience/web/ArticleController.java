@@ -2,25 +2,45 @@ package com.newsprovenience.web;
 
 import com.newsprovenience.domain.Article;
 import com.newsprovenience.service.dto.ArticleDTO;
+import com.newsprovenience.service.dto.ArticleSearchPage;
 import com.newsprovenience.service.dto.ArticleSearchRequest;
+import com.newsprovenience.service.dto.BulkIngestResponse;
+import com.newsprovenience.service.dto.EnrichmentStatusDTO;
 import com.newsprovenience.service.implementation.ArticleService;
+import com.newsprovenience.service.implementation.GraphOutbox;
+import com.newsprovenience.service.implementation.RdfExportFormat;
 import com.newsprovenience.service.implementation.SPARQLService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/articles")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {ArticleController.NEXT_CURSOR_HEADER, ArticleController.TOTAL_COUNT_HEADER})
 public class ArticleController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final ArticleService articleService;
     private final SPARQLService sparqlService;
+    private final GraphOutbox graphOutbox;
 
     @PostMapping
     public ResponseEntity<Article> createArticle(@RequestBody ArticleDTO dto) {
@@ -28,6 +48,33 @@ public class ArticleController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BulkIngestResponse> bulkIngest(InputStream body) {
+        return ResponseEntity.ok(articleService.ingestBulk(body));
+    }
+
+    @PostMapping("/rematerialize")
+    public ResponseEntity<Map<String, Object>> rematerializeGraphs(@RequestParam(required = false) List<Long> ids) {
+        return ResponseEntity.ok(articleService.rematerializeGraphs(ids));
+    }
+
+    /** Scrierile de grafuri care încă n-au ajuns în Fuseki (pending) sau au epuizat reîncercările (dead). */
+    @GetMapping("/outbox")
+    public ResponseEntity<Map<String, Object>> getOutboxStats() {
+        return ResponseEntity.ok(graphOutbox.stats());
+    }
+
+    @PostMapping("/outbox/retry")
+    public ResponseEntity<Map<String, Object>> retryDeadOutboxEntries() {
+        return ResponseEntity.ok(Map.of("revived", graphOutbox.retryDead()));
+    }
+
+    @DeleteMapping("/outbox/dead")
+    public ResponseEntity<Map<String, Object>> discardDeadOutboxEntries() {
+        return ResponseEntity.ok(Map.of("discarded", graphOutbox.discardDead()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Article> getArticle(@PathVariable Long id) {
         return articleService.findById(id)
@@ -35,41 +82,142 @@ public class ArticleController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Modificare parțială. Implicit graful curent primește doar triplele schimbate (DELETE DATA / INSERT DATA);
+     * cu {@code newVersion=true} se creează o versiune nouă a grafului, iar cea veche rămâne ca istoric.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> updateArticle(@PathVariable Long id,
+                                           @RequestBody ArticleDTO patch,
+                                           @RequestParam(defaultValue = "false") boolean newVersion) {
+        try {
+            return articleService.updateArticle(id, patch, newVersion)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteArticle(@PathVariable Long id) {
+        return articleService.deleteArticle(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{id}/enrichment")
+    public ResponseEntity<EnrichmentStatusDTO> getEnrichmentStatus(@PathVariable Long id) {
+        return articleService.getEnrichmentStatus(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/search")
-    public ResponseEntity<List<Article>> searchArticles(
+    public ResponseEntity<?> searchArticles(
             @RequestBody ArticleSearchRequest request) {
-        List<Article> results = articleService.searchArticles(request);
-        return ResponseEntity.ok(results);
+        try {
+            ArticleSearchPage page = articleService.searchArticles(request);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
+    /**
+     * Corpul rămâne SPARQL Results JSON; paginarea merge în headere (X-Next-Cursor, X-Total-Count).
+     */
     @PostMapping("/search/sparql")
-    public ResponseEntity<String> searchSemantic(@RequestBody ArticleSearchRequest request) {
-        String sparql = sparqlService.buildSearchQuery(request);
-        String json = sparqlService.executeQuery(sparql, "json");
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(json);
+    public ResponseEntity<StreamingResponseBody> searchSemantic(@RequestBody ArticleSearchRequest request) {
+        SPARQLService.SearchPage page;
+        try {
+            page = sparqlService.searchPage(request);
+        } catch (IllegalArgumentException e) {
+            StreamingResponseBody error = out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8));
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(error);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.nextCursor() != null) response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        if (page.total() != null) response.header(TOTAL_COUNT_HEADER, page.total().toString());
+        StreamingResponseBody body = out -> page.writer().accept(out);
+        return response.body(body);
     }
 
-    @GetMapping("/{id}/export/jsonld")
-    public ResponseEntity<String> exportAsJsonLd(@PathVariable Long id) {
-        String jsonLd = articleService.exportArticleAsJsonLd(id);
-        if (jsonLd != null) {
-            return ResponseEntity.ok()
-                    .contentType(MediaType.valueOf("application/ld+json"))
-                    .body(jsonLd);
+    /**
+     * Graful articolului în formatul ales din Accept (Turtle implicit), comprimat gzip dacă Accept-Encoding
+     * îl permite, scris direct în răspuns. Răspunsul poartă ETag și Last-Modified; cu If-None-Match /
+     * If-Modified-Since valide -> 304.
+     */
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        Optional<RdfExportFormat> format = RdfExportFormat.negotiate(accept);
+        if (format.isEmpty()) {
+            String supported = Arrays.stream(RdfExportFormat.values())
+                    .map(f -> f.mediaType().toString())
+                    .collect(Collectors.joining(", "));
+            StreamingResponseBody error = out -> out.write(
+                    ("Supported media types: " + supported).getBytes(StandardCharsets.UTF_8));
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).contentType(MediaType.TEXT_PLAIN).body(error);
         }
-        return ResponseEntity.notFound().build();
+        return export(id, format.get(), format.get().mediaType(), acceptEncoding, webRequest);
+    }
+
+    // aliasuri păstrate pentru clienții existenți
+    @GetMapping("/{id}/export/jsonld")
+    public ResponseEntity<StreamingResponseBody> exportAsJsonLd(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        return export(id, RdfExportFormat.JSON_LD, RdfExportFormat.JSON_LD.mediaType(), acceptEncoding, webRequest);
     }
 
     @GetMapping("/{id}/export/rdf")
-    public ResponseEntity<String> exportAsRdf(@PathVariable Long id) {
-        String rdf = articleService.exportArticleAsRdfXml(id);
-        if (rdf != null) {
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_XML)
-                    .body(rdf);
+    public ResponseEntity<StreamingResponseBody> exportAsRdf(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        return export(id, RdfExportFormat.RDF_XML, MediaType.APPLICATION_XML, acceptEncoding, webRequest);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(Long id, RdfExportFormat format, MediaType contentType,
+                                                         String acceptEncoding, WebRequest webRequest) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        Optional<ArticleService.ArticleExport> export = articleService.exportArticle(id, format, gzip);
+        if (export.isEmpty()) return ResponseEntity.notFound().build();
+
+        String etag = export.get().etag();
+        long lastModified = export.get().lastModified();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            // ETag-ul e pus deja de checkNotModified; Vary trebuie trimis și pe 304, altfel un cache amestecă variantele
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        // ETag și Last-Modified sunt deja puse de checkNotModified; răspunsul streaming le-ar dubla
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        // graful e citit aici, înaintea răspunsului; corpul e scris direct (ținut în memorie doar dacă intră în cache)
+        Consumer<OutputStream> writer = export.get().body().get();
+        StreamingResponseBody body = writer::accept;
+        return response.body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase("gzip")) continue;
+            // "gzip;q=0" = explicit refuzat
+            return tokens.length < 2 || !tokens[1].replace(" ", "").matches("q=0(\\.0*)?");
         }
-        return ResponseEntity.notFound().build();
+        return false;
     }
 }
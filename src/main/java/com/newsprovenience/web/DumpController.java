@@ -0,0 +1,58 @@
+package com.newsprovenience.web;
+
+import com.newsprovenience.service.implementation.RdfDumpService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/dump")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*", exposedHeaders = DumpController.WATERMARK_HEADER)
+public class DumpController {
+
+    static final String WATERMARK_HEADER = "X-Dump-Watermark";
+
+    private final RdfDumpService dumpService;
+
+    /**
+     * Toate grafurile de articol ca N-Quads comprimat; cu {@code since}, doar cele schimbate după acel moment,
+     * plus graful {@code graph/deleted} cu articolele șterse între timp (vezi {@link RdfDumpService}).
+     * X-Dump-Watermark = momentul de dinaintea citirii (plafonat la cea mai veche scriere încă în outbox),
+     * de trimis ca {@code since} la următoarea sincronizare (un graf poate apărea de două ori, dar nu se pierde).
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> dump(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String compression) {
+        LocalDateTime sinceTime;
+        RdfDumpService.Compression codec;
+        try {
+            sinceTime = RdfDumpService.parseSince(since);
+            codec = RdfDumpService.Compression.of(compression);
+        } catch (IllegalArgumentException e) {
+            StreamingResponseBody error = out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8));
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(error);
+        }
+
+        String watermark = dumpService.watermark().toString();
+        String filename = (sinceTime == null ? "news-dump" : "news-delta") + codec.extension;
+        StreamingResponseBody body = out -> dumpService.dump(sinceTime, codec, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(codec.contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .header(WATERMARK_HEADER, watermark)
+                .body(body);
+    }
+}
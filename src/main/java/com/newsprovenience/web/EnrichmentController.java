@@ -0,0 +1,34 @@
+package com.newsprovenience.web;
+
+import com.newsprovenience.service.implementation.EnrichmentLookupCache;
+import com.newsprovenience.service.implementation.EnrichmentQueue;
+import com.newsprovenience.service.implementation.EnrichmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/enrichment")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class EnrichmentController {
+    private final EnrichmentQueue enrichmentQueue;
+    private final EnrichmentLookupCache lookupCache;
+    private final EnrichmentService enrichmentService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queuePending", enrichmentQueue.pendingTasks());
+        stats.put("queueRemainingCapacity", enrichmentQueue.remainingCapacity());
+        stats.put("lookupCache", lookupCache.stats());
+        stats.put("endpoints", enrichmentService.endpointStates());
+        return ResponseEntity.ok(stats);
+    }
+}
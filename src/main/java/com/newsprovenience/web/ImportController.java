@@ -0,0 +1,50 @@
+package com.newsprovenience.web;
+
+import com.newsprovenience.service.implementation.RdfImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ImportController {
+
+    private final RdfImportService importService;
+
+    /**
+     * Pornește importul unui fișier RDF aflat pe server (operațiune de administrare); 202 + progresul inițial.
+     * Cu {@code resume=true} (implicit) continuă de la ultimul checkpoint al aceluiași fișier.
+     */
+    @PostMapping
+    public ResponseEntity<?> startImport(
+            @RequestParam String path,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "true") boolean resume) {
+        try {
+            RdfImportService.ImportProgress progress = importService.start(Path.of(path), format, resume);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(progress.snapshot());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/progress")
+    public ResponseEntity<Map<String, Object>> progress() {
+        RdfImportService.ImportProgress progress = importService.progress();
+        if (progress == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(progress.snapshot());
+    }
+}
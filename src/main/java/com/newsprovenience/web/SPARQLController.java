@@ -1,11 +1,21 @@
 package com.newsprovenience.web;
 
+import com.newsprovenience.config.FusekiTransportMetrics;
 import com.newsprovenience.service.dto.SPARQLRequest;
+import com.newsprovenience.service.dto.SparqlResultFormat;
 import com.newsprovenience.service.implementation.SPARQLService;
+import com.newsprovenience.service.implementation.SparqlQueryRegistry;
 import lombok.RequiredArgsConstructor;
+import org.apache.jena.query.Query;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/sparql")
@@ -14,53 +24,68 @@ import org.springframework.web.bind.annotation.*;
 public class SPARQLController {
 
     private final SPARQLService sparqlService;
+    private final FusekiTransportMetrics transportMetrics;
 
     @PostMapping
-    public ResponseEntity<String> executeSparqlQuery(
+    public ResponseEntity<StreamingResponseBody> executeSparqlQuery(
             @RequestBody SPARQLRequest request) {
+        // parsăm înainte de a deschide stream-ul, ca erorile de sintaxă să rămână 400
+        Query query;
         try {
-            String format = request.getFormat() != null ?
-                    request.getFormat() : "json";
-            String results = sparqlService.executeQuery(
-                    request.getQuery(), format);
-            return ResponseEntity.ok(results);
+            query = sparqlService.parseQuery(request.getQuery());
         } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                    .body("Error executing query: " + e.getMessage());
+            return badRequest("Error executing query: " + e.getMessage());
+        }
+        if (!query.isSelectType()) {
+            return badRequest("Error executing query: only SELECT queries are supported");
         }
+        return streamResults(SPARQLService.ADHOC, query, SparqlResultFormat.of(request.getFormat()));
+    }
+
+    /** Latență și bytes pe operație pentru cererile HTTP către Fuseki (gol în modurile locale). */
+    @GetMapping("/transport")
+    public ResponseEntity<Map<String, Map<String, Object>>> getTransportStats() {
+        return ResponseEntity.ok(transportMetrics.stats());
     }
 
     @GetMapping("/examples/fresh-editorials")
     public ResponseEntity<String> getFreshEditorialsQuery(
             @RequestParam(defaultValue = "technology") String topic,
-            @RequestParam(defaultValue = "2024-12-01") String dateFrom) {
-        String query = sparqlService.getFreshEditorialsQuery(topic, dateFrom);
-        return ResponseEntity.ok(query);
+            @RequestParam(defaultValue = "2024-12-01") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom) {
+        Query query = sparqlService.getFreshEditorialsQuery(topic, dateFrom);
+        return ResponseEntity.ok(query.toString());
     }
 
     @GetMapping("/examples/articles-by-language")
-    public ResponseEntity<String> getArticlesByLanguage(
+    public ResponseEntity<StreamingResponseBody> getArticlesByLanguage(
             @RequestParam(defaultValue = "en") String lang1,
             @RequestParam(defaultValue = "es") String lang2,
             @RequestParam(defaultValue = "4000") int maxWords,
             @RequestParam(defaultValue = "IT contest") String topic) {
 
-        String query = sparqlService.getArticlesByLanguageAndWords(lang1, lang2, maxWords, topic);
-        String json = sparqlService.executeQuery(query, "json");
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(json);
+        Query query = sparqlService.getArticlesByLanguageAndWords(lang1, lang2, maxWords, topic);
+        return streamResults(SparqlQueryRegistry.ARTICLES_BY_LANGUAGE, query, SparqlResultFormat.JSON);
     }
 
     @GetMapping("/examples/romanian-investigations")
-    public ResponseEntity<String> getRomanianInvestigations() {
-        String query = sparqlService.getRomanianInvestigationsQuery();
-        String json = sparqlService.executeQuery(query, "json");
+    public ResponseEntity<StreamingResponseBody> getRomanianInvestigations() {
+        Query query = sparqlService.getRomanianInvestigationsQuery();
+        return streamResults(SparqlQueryRegistry.ROMANIAN_INVESTIGATIONS, query, SparqlResultFormat.JSON);
+    }
 
+    private ResponseEntity<StreamingResponseBody> streamResults(String template, Query query, SparqlResultFormat format) {
+        StreamingResponseBody body = out -> sparqlService.streamQuery(template, query, format, out);
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(json);
+                .contentType(format.getMediaType())
+                .body(body);
+    }
+
+    // tipul de retur trebuie să rămână StreamingResponseBody: altfel Spring caută un converter pentru lambda
+    private static ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        StreamingResponseBody body = out -> out.write(message.getBytes(StandardCharsets.UTF_8));
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(body);
     }
 
 }
@@ -0,0 +1,32 @@
+package com.newsprovenience.config;
+
+import org.apache.jena.atlas.web.HttpException;
+import org.apache.jena.fuseki.main.FusekiServer;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddedFusekiServerTests {
+
+    @Test
+    void localDatasetIsExposedReadOnly() {
+        Dataset dataset = DatasetFactory.createTxnMem();
+        FusekiServer server = new JenaFusekiConfig().embeddedFusekiServer(dataset, 0, "news");
+        String base = "http://localhost:" + server.getHttpPort() + "/news";
+        try (RDFConnection conn = RDFConnection.connect(base)) {
+            assertThat(conn.queryAsk("ASK { }")).isTrue();
+            assertThatThrownBy(() -> conn.update("INSERT DATA { <urn:s> <urn:p> \"x\" }"))
+                    .isInstanceOf(HttpException.class);
+            assertThatThrownBy(() -> conn.put("urn:g", ModelFactory.createDefaultModel()))
+                    .isInstanceOf(HttpException.class);
+        } finally {
+            server.stop();
+        }
+        assertThat(dataset.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,104 @@
+package com.newsprovenience.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.jena.fuseki.main.FusekiServer;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FusekiTransportTests {
+
+    private static final String GRAPH = "http://example.org/news/article/1/graph/v1";
+    private static final String GRAPH_2 = "http://example.org/news/article/2/graph/v1";
+
+    private FusekiServer server;
+    private String base;
+
+    @BeforeEach
+    void setUp() {
+        server = FusekiServer.create().port(0).add("/news", DatasetFactory.createTxnMem()).build().start();
+        base = "http://localhost:" + server.getHttpPort() + "/news";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @ParameterizedTest
+    @EnumSource(JenaFusekiConfig.GraphFormat.class)
+    void graphRoundTripsWithCompressionAndIsMeasured(JenaFusekiConfig.GraphFormat format) {
+        FusekiTransportMetrics metrics = new FusekiTransportMetrics(new SimpleMeterRegistry());
+        JenaFusekiConfig.TransportSettings settings = new JenaFusekiConfig.TransportSettings(
+                HttpClient.Version.HTTP_1_1, Duration.ofSeconds(5), Duration.ofSeconds(30), 4, true, true, format);
+
+        Model model = ModelFactory.createDefaultModel();
+        for (int i = 0; i < 200; i++) {
+            model.createResource("http://example.org/news/article/" + i)
+                    .addProperty(model.createProperty("http://schema.org/headline"), "Headline " + i);
+        }
+
+        Dataset dataset = DatasetFactory.create();
+        dataset.addNamedModel(GRAPH_2, model);
+
+        try (RDFConnection conn = JenaFusekiConfig.remoteConnection(
+                base, base + "/query", base + "/update", base + "/data", settings, metrics)) {
+            conn.put(GRAPH, model);
+            conn.loadDataset(dataset);
+            conn.update("INSERT DATA { GRAPH <" + GRAPH + "> { <http://example.org/s> <http://example.org/p> \"x\" } }");
+            Model fetched = conn.fetch(GRAPH);
+            long count = conn.query("SELECT (COUNT(*) AS ?n) { GRAPH ?g { ?s ?p ?o } }")
+                    .execSelect().next().getLiteral("n").getLong();
+
+            assertThat(fetched.size()).isEqualTo(201);
+            assertThat(count).isEqualTo(401);
+        }
+
+        Map<String, Map<String, Object>> stats = metrics.stats();
+        assertThat(stats).containsKeys("gsp-put", "gsp-post", "gsp-get", "update", "query");
+        assertThat(stats.get("gsp-post")).containsEntry("requests", 1L).containsEntry("errors", 0L);
+        assertThat(stats.get("gsp-put")).containsEntry("requests", 1L).containsEntry("errors", 0L);
+        assertThat((Long) stats.get("gsp-put").get("bytesSent")).isPositive();
+        assertThat((Long) stats.get("gsp-get").get("bytesReceived")).isPositive();
+    }
+
+    @Test
+    void openResultStreamDoesNotHoldAConnectionPermit() {
+        FusekiTransportMetrics metrics = new FusekiTransportMetrics(new SimpleMeterRegistry());
+        JenaFusekiConfig.TransportSettings settings = new JenaFusekiConfig.TransportSettings(
+                HttpClient.Version.HTTP_1_1, Duration.ofSeconds(5), Duration.ofSeconds(2), 1, false, true,
+                JenaFusekiConfig.GraphFormat.THRIFT);
+
+        try (RDFConnection conn = JenaFusekiConfig.remoteConnection(
+                base, base + "/query", base + "/update", base + "/data", settings, metrics)) {
+            conn.update("INSERT DATA { GRAPH <" + GRAPH + "> { <http://example.org/s> <http://example.org/p> \"x\" } }");
+
+            try (QueryExecution open = conn.query("SELECT * { GRAPH ?g { ?s ?p ?o } }")) {
+                ResultSet unread = open.execSelect();
+
+                // cu o singură cerere permisă, un permis ținut până la finalul corpului ar bloca aici
+                long count = conn.query("SELECT (COUNT(*) AS ?n) { GRAPH ?g { ?s ?p ?o } }")
+                        .execSelect().next().getLiteral("n").getLong();
+                conn.update("INSERT DATA { GRAPH <" + GRAPH + "> { <http://example.org/s> <http://example.org/p> \"y\" } }");
+
+                assertThat(count).isEqualTo(1);
+                assertThat(unread.hasNext()).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.AnalyticsDimension;
+import com.newsprovenience.service.event.ArticleFacts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleAnalyticsTests {
+
+    private final ArticleAnalytics analytics = new ArticleAnalytics(null, null, null);
+
+    @Test
+    void updateMovesArticleBetweenBuckets() {
+        ArticleFacts before = new ArticleFacts("en", null, "Ana", Set.of("politics", "economy"), "2024-12-06");
+        ArticleFacts after = new ArticleFacts("ro", null, "Ana", Set.of("economy"), "2024-12-06");
+        analytics.apply(before, 1);
+        analytics.apply(new ArticleFacts("en", "Podcast", null, Set.of(), null), 1);
+
+        analytics.apply(before, -1);
+        analytics.apply(after, 1);
+
+        assertThat(analytics.total()).isEqualTo(2);
+        assertThat(analytics.counts(AnalyticsDimension.LANGUAGE, null)).containsExactly(
+                Map.entry("en", 1L), Map.entry("ro", 1L));
+        assertThat(analytics.counts(AnalyticsDimension.TOPIC, null)).containsOnlyKeys("economy");
+        assertThat(analytics.count(AnalyticsDimension.MEDIA_TYPE, ArticleAnalytics.UNKNOWN)).isEqualTo(1);
+        assertThat(analytics.count(AnalyticsDimension.AUTHOR, "Ana")).isEqualTo(1);
+    }
+
+    @Test
+    void daysAreChronologicalAndOtherDimensionsByCount() {
+        analytics.apply(new ArticleFacts("ro", null, null, Set.of(), "2024-12-07"), 1);
+        analytics.apply(new ArticleFacts("en", null, null, Set.of(), "2024-12-06"), 1);
+        analytics.apply(new ArticleFacts("en", null, null, Set.of(), "2024-12-07"), 1);
+
+        assertThat(analytics.counts(AnalyticsDimension.DAY, null).keySet()).containsExactly("2024-12-06", "2024-12-07");
+        assertThat(analytics.counts(AnalyticsDimension.LANGUAGE, 1)).containsOnlyKeys("en");
+    }
+}
@@ -0,0 +1,47 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.EnrichmentStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleExportRevisionTests {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 12, 6, 10, 0);
+
+    @Test
+    void sameStoredStateGivesSameRevision() {
+        assertThat(ArticleService.exportRevision(article())).isEqualTo(ArticleService.exportRevision(article()));
+    }
+
+    @Test
+    void editsAndEnrichmentChangeTheRevision() {
+        String base = ArticleService.exportRevision(article());
+
+        Article edited = article();
+        edited.setUpdatedAt(UPDATED.plusSeconds(1));
+        Article versioned = article();
+        versioned.setGraphVersion(2);
+        Article reset = article();
+        reset.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        Article reenriched = article();
+        reenriched.setEnrichedAt(UPDATED.plusHours(2));
+
+        assertThat(ArticleService.exportRevision(edited)).isNotEqualTo(base);
+        assertThat(ArticleService.exportRevision(versioned)).isNotEqualTo(base);
+        assertThat(ArticleService.exportRevision(reset)).isNotEqualTo(base);
+        assertThat(ArticleService.exportRevision(reenriched)).isNotEqualTo(base);
+    }
+
+    private static Article article() {
+        Article article = new Article();
+        article.setId(42L);
+        article.setUpdatedAt(UPDATED);
+        article.setEnrichmentStatus(EnrichmentStatus.DONE);
+        article.setEnrichedAt(UPDATED.plusHours(1));
+        return article;
+    }
+}
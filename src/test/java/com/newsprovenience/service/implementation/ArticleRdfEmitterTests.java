@@ -0,0 +1,94 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.Author;
+import com.newsprovenience.domain.Topic;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.compose.Union;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleRdfEmitterTests {
+
+    private static final String BASE = "http://example.org/news/";
+
+    private final RdfVocabulary v = new RdfVocabulary(BASE, "http://schema.org/",
+            "http://purl.org/dc/elements/1.1/", "http://www.w3.org/ns/prov#", "http://www.w3.org/2004/02/skos/core#");
+    private final ArticleRdfEmitter emitter = new ArticleRdfEmitter(v);
+
+    @Test
+    void articleGraphOnlyReferencesSharedResources() {
+        Article article = article();
+        Graph graph = GraphFactory.createDefaultGraph();
+        emitter.emit(article, StreamRDFLib.graph(graph));
+
+        Node a = NodeFactory.createURI(article.getUri());
+        Node topic = NodeFactory.createURI(BASE + "topic/politics");
+        Node author = NodeFactory.createURI(BASE + "author/ana-popescu");
+        assertThat(graph.contains(a, v.about, topic)).isTrue();
+        assertThat(graph.contains(a, v.author, author)).isTrue();
+        assertThat(graph.contains(topic, Node.ANY, Node.ANY)).isFalse();
+        assertThat(graph.contains(author, Node.ANY, Node.ANY)).isFalse();
+        assertThat(graph.contains(v.topicScheme, Node.ANY, Node.ANY)).isFalse();
+        assertThat(graph.contains(v.systemAgent, Node.ANY, Node.ANY)).isFalse();
+    }
+
+    @Test
+    void referenceDataGoesToSharedGraphs() {
+        DatasetGraph dataset = DatasetGraphFactory.createGeneral();
+        emitter.emitReference(article(), true, StreamRDFLib.dataset(dataset));
+
+        Node topic = NodeFactory.createURI(BASE + "topic/politics");
+        assertThat(dataset.contains(v.topicsGraph, topic, v.prefLabel, NodeFactory.createLiteral("Politics"))).isTrue();
+        assertThat(dataset.contains(v.topicsGraph, v.topicScheme, v.rdfType, v.conceptScheme)).isTrue();
+        assertThat(dataset.contains(v.agentsGraph, v.systemAgent, v.rdfType, v.agent)).isTrue();
+        assertThat(dataset.contains(v.agentsGraph, NodeFactory.createURI(BASE + "author/ana-popescu"),
+                v.name, NodeFactory.createLiteral("Ana Popescu"))).isTrue();
+        assertThat(dataset.contains(v.organizationsGraph, NodeFactory.createURI(BASE + "org/free-press"),
+                v.name, NodeFactory.createLiteral("Free Press"))).isTrue();
+    }
+
+    @Test
+    void readerRestoresArticleFromArticleAndSharedGraphs() {
+        Article article = article();
+        Graph graph = GraphFactory.createDefaultGraph();
+        emitter.emit(article, StreamRDFLib.graph(graph));
+        Graph reference = GraphFactory.createDefaultGraph();
+        emitter.emitReference(article, false, StreamRDFLib.graph(reference));
+
+        RdfArticleReader.Mapped mapped = new RdfArticleReader(v).read(new Union(graph, reference));
+
+        assertThat(mapped.enriched()).isFalse();
+        assertThat(mapped.article().getAuthor().getName()).isEqualTo("Ana Popescu");
+        assertThat(mapped.article().getAuthor().getAffiliation()).isEqualTo("Free Press");
+        assertThat(mapped.article().getTopics()).singleElement()
+                .satisfies(t -> assertThat(t.getName()).isEqualTo("Politics"));
+    }
+
+    private static Article article() {
+        Author author = new Author();
+        author.setUri(BASE + "author/ana-popescu");
+        author.setName("Ana Popescu");
+        author.setNationality("Romanian");
+        author.setAffiliation("Free Press");
+
+        Topic topic = new Topic();
+        topic.setUri(BASE + "topic/politics");
+        topic.setName("Politics");
+
+        Article a = new Article();
+        a.setUri(BASE + "article/elections-1");
+        a.setTitle("Elections in Romania");
+        a.setLanguage("en");
+        a.setAuthor(author);
+        a.getTopics().add(topic);
+        return a;
+    }
+}
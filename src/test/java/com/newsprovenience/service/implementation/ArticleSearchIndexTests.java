@@ -0,0 +1,97 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.Topic;
+import com.newsprovenience.service.dto.ArticleSearchRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSearchIndexTests {
+
+    private ArticleSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new ArticleSearchIndex(null, null);
+        index.open();
+        index.index(List.of(
+                article(1L, "en", "Elections in Romania", "Voters went to the polls", "Politics"),
+                article(2L, "ro", "Alegeri prezidențiale", "Alegătorii au votat duminică", "Politică"),
+                article(3L, "en", "Football results", "The weekend matches, including an election of the captain", "Sport")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveBodyMatchesWithStemming() {
+        List<ArticleSearchIndex.Hit> hits = index.search(request("election", null), 10);
+
+        assertThat(hits).extracting(ArticleSearchIndex.Hit::id).containsExactly(1L, 3L);
+        assertThat(hits.get(0).uri()).isEqualTo("http://example.org/news/article/1");
+    }
+
+    @Test
+    void usesLanguageSpecificAnalysis() {
+        // RomanianAnalyzer: "alegerile" și "alegeri" au aceeași rădăcină
+        assertThat(index.search(request("alegerile", "ro"), 10))
+                .extracting(ArticleSearchIndex.Hit::id).containsExactly(2L);
+        assertThat(index.search(request("election", "ro"), 10)).isEmpty();
+    }
+
+    @Test
+    void matchesTopicNamesAndReflectsUpdates() {
+        assertThat(index.search(request("sport", null), 10))
+                .extracting(ArticleSearchIndex.Hit::id).containsExactly(3L);
+
+        index.index(List.of(article(3L, "en", "Football results", "Weekend matches", "Culture")));
+        assertThat(index.search(request("sport", null), 10)).isEmpty();
+
+        index.delete(1L);
+        assertThat(index.search(request("election", null), 10)).isEmpty();
+    }
+
+    @Test
+    void pagesThroughAllHitsWithCursor() {
+        ArticleSearchRequest request = request("election", null);
+
+        List<ArticleSearchIndex.Hit> first = index.searchPage(request, 1, null);
+        ArticleSearchIndex.Hit last = first.get(0);
+        SearchCursor cursor = SearchCursor.decode(new SearchCursor(SearchCursor.Kind.SCORE,
+                Float.toString(last.score()), last.id().toString()).encode(), SearchCursor.Kind.SCORE);
+        List<ArticleSearchIndex.Hit> second = index.searchPage(request, 10, cursor);
+
+        assertThat(first).extracting(ArticleSearchIndex.Hit::id).containsExactly(1L);
+        assertThat(second).extracting(ArticleSearchIndex.Hit::id).containsExactly(3L);
+        assertThat(index.count(request)).isEqualTo(2);
+    }
+
+    private static ArticleSearchRequest request(String query, String language) {
+        ArticleSearchRequest request = new ArticleSearchRequest();
+        request.setQuery(query);
+        request.setLanguage(language);
+        return request;
+    }
+
+    private static Article article(Long id, String language, String title, String content, String topicName) {
+        Topic topic = new Topic();
+        topic.setName(topicName);
+
+        Article article = new Article();
+        article.setId(id);
+        article.setUri("http://example.org/news/article/" + id);
+        article.setLanguage(language);
+        article.setTitle(title);
+        article.setContent(content);
+        article.getTopics().add(topic);
+        return article;
+    }
+}
@@ -0,0 +1,32 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleUriTests {
+
+    @Test
+    void sameTitleGivesDistinctUris() {
+        Article a = article("Elections in Romania");
+        Article b = article("Elections in Romania");
+
+        assertThat(ArticleService.generateUri(a)).startsWith("http://example.org/news/article/elections-in-romania-");
+        assertThat(ArticleService.generateUri(a)).isNotEqualTo(ArticleService.generateUri(b));
+    }
+
+    @Test
+    void nonLatinTitleFallsBackToGenericSlug() {
+        String uri = ArticleService.generateUri(article("Выборы в Румынии"));
+
+        assertThat(uri).startsWith("http://example.org/news/article/article-");
+        assertThat(uri).doesNotContain("--");
+    }
+
+    private static Article article(String title) {
+        Article article = new Article();
+        article.setTitle(title);
+        return article;
+    }
+}
@@ -0,0 +1,97 @@
+package com.newsprovenience.service.implementation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrichmentLookupCacheTests {
+
+    private static final String DBPEDIA = "https://dbpedia.org/sparql";
+    private static final List<String> BUCHAREST = List.of("http://dbpedia.org/resource/Bucharest");
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    void entryExpiresAfterTtl() {
+        EnrichmentLookupCache cache = cache("");
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(DBPEDIA, "Bucharest", counting(loads, BUCHAREST));
+        now.addAndGet(Duration.ofMinutes(59).toMillis());
+        assertThat(cache.get(DBPEDIA, " bucharest ", counting(loads, BUCHAREST))).isEqualTo(BUCHAREST);
+        assertThat(loads).hasValue(1);
+
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+        cache.get(DBPEDIA, "Bucharest", counting(loads, BUCHAREST));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void emptyResultUsesTheShorterNegativeTtl() {
+        EnrichmentLookupCache cache = cache("");
+        AtomicInteger empty = new AtomicInteger();
+        AtomicInteger found = new AtomicInteger();
+
+        cache.get(DBPEDIA, "Nowhere", counting(empty, List.of()));
+        cache.get(DBPEDIA, "Bucharest", counting(found, BUCHAREST));
+        now.addAndGet(Duration.ofMinutes(11).toMillis());
+        cache.get(DBPEDIA, "Nowhere", counting(empty, List.of()));
+        cache.get(DBPEDIA, "Bucharest", counting(found, BUCHAREST));
+
+        assertThat(empty).hasValue(2);
+        assertThat(found).hasValue(1);
+    }
+
+    @Test
+    void snapshotKeepsEntryAges(@TempDir Path dir) {
+        String snapshot = dir.resolve("lookups.bin").toString();
+        EnrichmentLookupCache written = cache(snapshot);
+        written.get(DBPEDIA, "Bucharest", () -> BUCHAREST);
+        now.addAndGet(Duration.ofMinutes(30).toMillis());
+        written.get(DBPEDIA, "Cluj", () -> List.of("http://dbpedia.org/resource/Cluj-Napoca"));
+        written.saveSnapshot();
+
+        // după repornire: Bucharest a trăit deja 50 de minute, Cluj 20
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        EnrichmentLookupCache restored = cache(snapshot);
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(restored.get(DBPEDIA, "Bucharest", counting(loads, List.of()))).isEqualTo(BUCHAREST);
+        assertThat(loads).hasValue(0);
+
+        now.addAndGet(Duration.ofMinutes(15).toMillis());
+        assertThat(restored.get(DBPEDIA, "Bucharest", counting(loads, List.of()))).isEmpty();
+        assertThat(restored.get(DBPEDIA, "Cluj", counting(loads, List.of())))
+                .containsExactly("http://dbpedia.org/resource/Cluj-Napoca");
+        assertThat(loads).hasValue(1);
+    }
+
+    private EnrichmentLookupCache cache(String snapshotPath) {
+        EnrichmentLookupCache cache = new EnrichmentLookupCache(
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(cache, "maxEntries", 100L);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(cache, "negativeTtl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(cache, "snapshotPath", snapshotPath);
+        cache.clock = now::get;
+        cache.init();
+        return cache;
+    }
+
+    private static Supplier<List<String>> counting(AtomicInteger loads, List<String> result) {
+        return () -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.support.StubSparqlServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.jena.rdf.model.Model;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EnrichmentServiceTests {
+
+    private static final String ARTICLE = "http://example.org/news/article/a1";
+    private static final String GRAPH = ARTICLE + "/graph/v1";
+
+    private StubSparqlServer dbpedia;
+    private StubSparqlServer wikidata;
+    private final List<Model> written = new ArrayList<>();
+    private EnrichmentService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbpedia = new StubSparqlServer().respondWith("resource", List.of("http://dbpedia.org/resource/Bucharest"));
+        wikidata = new StubSparqlServer().respondWith("item", List.of("http://www.wikidata.org/entity/Q19660"));
+
+        EnrichmentLookupCache cache = new EnrichmentLookupCache(
+                new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(cache, "maxEntries", 100L);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(cache, "negativeTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(cache, "snapshotPath", "");
+        cache.init();
+
+        GraphOutbox outbox = new GraphOutbox(null, null, null, null) {
+            @Override
+            public void addToGraph(String graphUri, Model additions) {
+                written.add(additions);
+            }
+        };
+        service = new EnrichmentService(cache, outbox, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "dbpediaEndpoint", dbpedia.url());
+        ReflectionTestUtils.setField(service, "wikidataEndpoint", wikidata.url());
+        ReflectionTestUtils.setField(service, "schemaNamespace", "http://schema.org/");
+        ReflectionTestUtils.setField(service, "endpointTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(service, "endpointMaxConcurrent", 2);
+        ReflectionTestUtils.setField(service, "failureThreshold", 5);
+        ReflectionTestUtils.setField(service, "openDuration", Duration.ofSeconds(30));
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        dbpedia.close();
+        wikidata.close();
+    }
+
+    @Test
+    void emptyResultsAreNotFailures() {
+        dbpedia.respondWith("resource", List.of());
+        wikidata.respondWith("item", List.of());
+
+        service.enrichArticle(ARTICLE, "Bucharest elections", GRAPH);
+
+        assertThat(written).isEmpty();
+    }
+
+    @Test
+    void failedEndpointFailsEnrichmentButKeepsOtherLinks() {
+        dbpedia.failureRate(1.0);
+
+        assertThatThrownBy(() -> service.enrichArticle(ARTICLE, "Bucharest elections", GRAPH))
+                .isInstanceOf(EnrichmentService.LookupFailedException.class)
+                .hasMessageContaining("dbpedia");
+        assertThat(written).singleElement()
+                .satisfies(m -> assertThat(m.size()).isEqualTo(1));
+    }
+}
@@ -0,0 +1,143 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.Article;
+import com.newsprovenience.domain.Author;
+import com.newsprovenience.domain.GraphOutboxEntry;
+import com.newsprovenience.domain.GraphWriteOperation;
+import com.newsprovenience.repository.GraphOutboxRepository;
+import com.newsprovenience.repository.TopicRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class GraphOutboxReferenceTests {
+
+    private static final String BASE = "http://example.org/news/";
+    private static final String AGENTS = BASE + "graph/agents";
+
+    private final List<GraphOutboxEntry> saved = new CopyOnWriteArrayList<>();
+    private RDFService rdfService;
+    private GraphOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        rdfService = spy(new RDFService(RDFConnection.connect(DatasetFactory.createTxnMem())));
+        ReflectionTestUtils.setField(rdfService, "baseNamespace", BASE);
+        ReflectionTestUtils.setField(rdfService, "schemaNamespace", "http://schema.org/");
+        ReflectionTestUtils.setField(rdfService, "dcNamespace", "http://purl.org/dc/elements/1.1/");
+        ReflectionTestUtils.setField(rdfService, "provNamespace", "http://www.w3.org/ns/prov#");
+        ReflectionTestUtils.setField(rdfService, "skosNamespace", "http://www.w3.org/2004/02/skos/core#");
+        rdfService.initVocabulary();
+
+        GraphOutboxRepository repository = mock(GraphOutboxRepository.class);
+        when(repository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(repository.saveAll(any())).thenAnswer(inv -> {
+            Iterable<GraphOutboxEntry> entries = inv.getArgument(0);
+            entries.forEach(saved::add);
+            return entries;
+        });
+        outbox = new GraphOutbox(repository, rdfService, new SimpleMeterRegistry(), mock(TopicRepository.class));
+        ReflectionTestUtils.setField(outbox, "maxReferenceSubjects", 100L);
+        ReflectionTestUtils.setField(outbox, "referenceLockTimeout", Duration.ofSeconds(5));
+        outbox.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    @Test
+    void concurrentChangeOfTheSameSubjectStartsFromTheCommittedValue() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        outbox.replaceArticleGraph(article(1, "Ana Popescu"));
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                outbox.replaceArticleGraph(article(2, "Ana Ionescu"));
+                complete(TransactionSynchronization.STATUS_COMMITTED);
+            } catch (RuntimeException e) {
+                complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+                throw e;
+            }
+        });
+        Thread.sleep(200);
+        assertThat(second).isNotDone(); // așteaptă commit-ul primei tranzacții
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        second.get(5, TimeUnit.SECONDS);
+
+        List<GraphOutboxEntry> agents = saved.stream().filter(e -> e.getGraphUri().equals(AGENTS)).toList();
+        assertThat(agents).hasSize(2);
+        assertThat(agents.get(0).getOperation()).isEqualTo(GraphWriteOperation.ADD);
+        assertThat(agents.get(1).getOperation()).isEqualTo(GraphWriteOperation.PATCH);
+        assertThat(agents.get(1).getRemovals()).contains("\"Ana Popescu\"");
+        assertThat(agents.get(1).getPayload()).contains("\"Ana Ionescu\"").doesNotContain("Popescu");
+    }
+
+    @Test
+    void failedReadFailsTheWriteAndReleasesTheSubjects() throws Exception {
+        doThrow(new IllegalStateException("Fuseki down")).when(rdfService).subjectTriples(anyString(), anyCollection());
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThatThrownBy(() -> outbox.replaceArticleGraph(article(1, "Ana Popescu")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(saved).isEmpty();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // lock-urile au fost eliberate la rollback: o altă tranzacție poate scrie aceleași subiecte
+        CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                assertThatThrownBy(() -> outbox.replaceArticleGraph(article(2, "Ana Popescu")))
+                        .isInstanceOf(IllegalStateException.class);
+            } finally {
+                complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        }).get(1, TimeUnit.SECONDS);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    private static Article article(long id, String authorName) {
+        Author author = new Author();
+        author.setUri(BASE + "author/ana");
+        author.setName(authorName);
+
+        Article a = new Article();
+        a.setId(id);
+        a.setUri(BASE + "article/" + id);
+        a.setTitle("Article " + id);
+        a.setAuthor(author);
+        return a;
+    }
+}
@@ -0,0 +1,104 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.domain.GraphOutboxEntry;
+import com.newsprovenience.domain.GraphWriteOperation;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphWritesTests {
+
+    private static final String G1 = "http://example.org/news/article/1/graph/v1";
+    private static final String G2 = "http://example.org/news/article/2/graph/v1";
+
+    @Test
+    void replaceDiscardsEarlierWritesAndAddsAccumulate() {
+        GraphWrites writes = writes(
+                entry(G1, GraphWriteOperation.ADD, "a"),
+                entry(G2, GraphWriteOperation.ADD, "b"),
+                entry(G1, GraphWriteOperation.REPLACE, "c"),
+                entry(G1, GraphWriteOperation.ADD, "d"),
+                entry(G2, GraphWriteOperation.ADD, "e"));
+
+        assertThat(writes.replace).containsOnlyKeys(G1);
+        assertThat(writes.replace.get(G1).size()).isEqualTo(2); // c, d
+        assertThat(writes.add).containsOnlyKeys(G2);
+        assertThat(writes.add.get(G2).size()).isEqualTo(2); // b, e
+    }
+
+    @Test
+    void patchesComposeInOrder() {
+        // "a" adăugat de un ADD, scos de primul PATCH și pus la loc de al doilea: rămâne
+        GraphWrites writes = writes(
+                entry(G1, GraphWriteOperation.ADD, "a"),
+                patch(G1, "a", "b"),
+                patch(G1, "b", "a"));
+
+        Graph base = GraphFactory.createDefaultGraph();
+        base.add(triple("b"));
+        base.add(triple("z"));
+        Graph result = writes.applyTo(G1, base);
+
+        assertThat(result.contains(triple("a"))).isTrue();
+        assertThat(result.contains(triple("b"))).isFalse();
+        assertThat(result.contains(triple("z"))).isTrue();
+        assertThat(base.size()).isEqualTo(2);
+        // reaplicarea acelorași scrieri peste rezultat nu-l schimbă
+        assertThat(writes.applyTo(G1, result).isIsomorphicWith(result)).isTrue();
+    }
+
+    @Test
+    void mixedBatchIsAppliedAsOneUpdate() {
+        RDFConnection conn = RDFConnection.connect(DatasetFactory.createTxnMem());
+        RDFService rdfService = new RDFService(conn);
+        conn.update("INSERT DATA { GRAPH <" + G1 + "> { <http://example.org/s> <http://example.org/p> \"old\" } "
+                + "GRAPH <" + G2 + "> { <http://example.org/s> <http://example.org/p> \"keep\", \"drop\" } }");
+
+        GraphWrites writes = writes(
+                entry(G1, GraphWriteOperation.REPLACE, "new"),
+                patch(G2, "drop", "x"));
+        rdfService.writeNamedGraphs(writes.replace, writes.delete, writes.add);
+
+        assertThat(rdfService.getNamedGraph(G1).listObjects().toList())
+                .extracting(o -> o.asLiteral().getString()).containsExactly("new");
+        assertThat(rdfService.getNamedGraph(G2).listObjects().toList())
+                .extracting(o -> o.asLiteral().getString()).containsExactlyInAnyOrder("keep", "x");
+    }
+
+    private static GraphWrites writes(GraphOutboxEntry... entries) {
+        GraphWrites writes = new GraphWrites();
+        List.of(entries).forEach(writes::apply);
+        return writes;
+    }
+
+    private static GraphOutboxEntry entry(String graph, GraphWriteOperation operation, String value) {
+        GraphOutboxEntry e = new GraphOutboxEntry();
+        e.setGraphUri(graph);
+        e.setOperation(operation);
+        e.setPayload(ntriple(value));
+        return e;
+    }
+
+    private static GraphOutboxEntry patch(String graph, String removed, String added) {
+        GraphOutboxEntry e = entry(graph, GraphWriteOperation.PATCH, added);
+        e.setRemovals(ntriple(removed));
+        return e;
+    }
+
+    private static String ntriple(String value) {
+        return "<http://example.org/s> <http://example.org/p> \"" + value + "\" .\n";
+    }
+
+    private static Triple triple(String value) {
+        return Triple.create(NodeFactory.createURI("http://example.org/s"), NodeFactory.createURI("http://example.org/p"),
+                NodeFactory.createLiteral(value));
+    }
+}
@@ -0,0 +1,86 @@
+package com.newsprovenience.service.implementation;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RDFServiceGraphVersionTests {
+
+    private static final String G1 = "http://example.org/news/article/1/graph/v1";
+    private static final String G2 = "http://example.org/news/article/2/graph/v1";
+
+    private RDFService rdfService;
+
+    @BeforeEach
+    void setUp() {
+        rdfService = new RDFService(RDFConnection.connect(DatasetFactory.createTxnMem()));
+        ReflectionTestUtils.setField(rdfService, "maxTrackedGraphs", 2);
+    }
+
+    @Test
+    void writeChangesOnlyTheWrittenGraph() {
+        rdfService.putNamedGraph(G1, graph("a"));
+        long g2 = rdfService.graphVersion(G2).version();
+        RDFService.GraphVersion before = rdfService.graphVersion(G1);
+
+        rdfService.addToNamedGraph(G1, graph("b"));
+
+        assertThat(rdfService.graphVersion(G1).version()).isGreaterThan(before.version());
+        assertThat(rdfService.graphVersion(G2).version()).isEqualTo(g2);
+    }
+
+    @Test
+    void arbitraryUpdateAndOverflowChangeEveryGraph() {
+        rdfService.putNamedGraph(G1, graph("a"));
+        long g1 = rdfService.graphVersion(G1).version();
+        long g2 = rdfService.graphVersion(G2).version();
+
+        rdfService.executeSparqlUpdate("INSERT DATA { GRAPH <" + G2 + "> { <urn:s> <urn:p> \"x\" } }");
+        assertThat(rdfService.graphVersion(G1).version()).isGreaterThan(g1);
+        assertThat(rdfService.graphVersion(G2).version()).isGreaterThan(g2);
+
+        // a treia intrare depășește max-entries=2: versiunea nu poate reveni la una deja folosită
+        long g1AfterUpdate = rdfService.graphVersion(G1).version();
+        rdfService.putNamedGraph(G2, graph("c"));
+        rdfService.putNamedGraph("urn:g3", graph("d"));
+        assertThat(rdfService.graphVersion(G1).version()).isGreaterThan(g1AfterUpdate);
+    }
+
+    @Test
+    void articleUriOfInvertsGraphUri() {
+        String article = "http://example.org/news/article/1";
+        assertThat(RDFService.articleUriOf(RDFService.graphUri(article, 3))).isEqualTo(article);
+        assertThat(RDFService.articleUriOf(article)).isNull();
+        assertThat(RDFService.articleUriOf("http://example.org/news/graph/topics")).isNull();
+    }
+
+    @Test
+    void subjectTriplesReadsOnlyTheRequestedSubjects() {
+        Model model = graph("a");
+        model.createResource("urn:other").addProperty(model.createProperty("urn:p"), "b");
+        rdfService.putNamedGraph(G1, model);
+
+        Graph triples = rdfService.subjectTriples(G1, List.of(NodeFactory.createURI("urn:s"),
+                NodeFactory.createURI("urn:missing")));
+
+        assertThat(triples.size()).isEqualTo(1);
+        assertThat(triples.contains(NodeFactory.createURI("urn:s"), NodeFactory.createURI("urn:p"),
+                NodeFactory.createLiteral("a"))).isTrue();
+    }
+
+    private static Model graph(String value) {
+        Model model = ModelFactory.createDefaultModel();
+        model.createResource("urn:s").addProperty(model.createProperty("urn:p"), value);
+        return model;
+    }
+}
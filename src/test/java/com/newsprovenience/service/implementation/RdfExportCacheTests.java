@@ -0,0 +1,86 @@
+package com.newsprovenience.service.implementation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RdfExportCacheTests {
+
+    private static final RdfExportCache.CacheKey KEY =
+            new RdfExportCache.CacheKey("http://example.org/news/article/a1/graph/v1", RdfExportFormat.TURTLE, false, 1,
+                    "1-v1-0-0-0");
+
+    @Test
+    void smallExportIsCached() throws IOException {
+        RdfExportCache cache = cache(true, 100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        cache.render(KEY, chunks(4, 10), out);
+
+        assertThat(out.size()).isEqualTo(40);
+        assertThat(cache.getIfPresent(KEY)).isEqualTo(out.toByteArray());
+    }
+
+    @Test
+    void largeExportIsStreamedWithoutCaching() throws IOException {
+        RdfExportCache cache = cache(true, 100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        cache.render(KEY, chunks(30, 10), out);
+
+        assertThat(out.toByteArray()).isEqualTo(expected(30, 10));
+        assertThat(cache.getIfPresent(KEY)).isNull();
+    }
+
+    @Test
+    void disabledCacheWritesDirectly() throws IOException {
+        RdfExportCache cache = cache(false, 100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        cache.render(KEY, chunks(2, 10), out);
+
+        assertThat(out.toByteArray()).isEqualTo(expected(2, 10));
+        assertThat(cache.getIfPresent(KEY)).isNull();
+    }
+
+    private static RdfExportCache cache(boolean enabled, long maxEntryBytes) {
+        RdfExportCache cache = new RdfExportCache(new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "maxBytes", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(cache, "maxEntryBytes", DataSize.ofBytes(maxEntryBytes));
+        cache.init();
+        return cache;
+    }
+
+    // ca un renderer real: scrie în bucăți, apoi închide stream-ul primit
+    private static Consumer<OutputStream> chunks(int count, int size) {
+        return out -> {
+            try (out) {
+                for (int i = 0; i < count; i++) {
+                    byte[] chunk = new byte[size];
+                    Arrays.fill(chunk, (byte) i);
+                    out.write(chunk);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static byte[] expected(int count, int size) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunks(count, size).accept(out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,30 @@
+package com.newsprovenience.service.implementation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RdfExportFormatTests {
+
+    @Test
+    void defaultsToTurtleWithoutPreference() {
+        assertThat(RdfExportFormat.negotiate(null)).contains(RdfExportFormat.TURTLE);
+        assertThat(RdfExportFormat.negotiate("text/html,application/xhtml+xml,*/*;q=0.8"))
+                .contains(RdfExportFormat.TURTLE);
+    }
+
+    @Test
+    void honoursQualityValues() {
+        assertThat(RdfExportFormat.negotiate("application/rdf+xml;q=0.5, application/rdf+thrift"))
+                .contains(RdfExportFormat.RDF_THRIFT);
+        assertThat(RdfExportFormat.negotiate("application/n-quads;q=0, application/rdf+protobuf;q=0.2"))
+                .contains(RdfExportFormat.RDF_PROTO);
+        assertThat(RdfExportFormat.negotiate("application/json")).contains(RdfExportFormat.JSON_LD);
+    }
+
+    @Test
+    void rejectsUnsupportedTypes() {
+        assertThat(RdfExportFormat.negotiate("image/png")).isEmpty();
+        assertThat(RdfExportFormat.negotiate("not a media type")).isEmpty();
+    }
+}
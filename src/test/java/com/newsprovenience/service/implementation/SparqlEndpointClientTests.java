@@ -0,0 +1,99 @@
+package com.newsprovenience.service.implementation;
+
+import com.newsprovenience.support.StubSparqlServer;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SparqlEndpointClientTests {
+
+    private static final Query QUERY = QueryFactory.create("SELECT ?resource WHERE { ?resource ?p ?o } LIMIT 5");
+
+    private StubSparqlServer stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubSparqlServer().respondWith("resource", List.of("http://dbpedia.org/resource/Bucharest"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void returnsUrisFromEndpoint() {
+        SparqlEndpointClient client = client(Duration.ofSeconds(2), 3, Duration.ofSeconds(30));
+
+        assertThat(client.selectUris(QUERY, "resource")).containsExactly("http://dbpedia.org/resource/Bucharest");
+        assertThat(client.getState()).isEqualTo(SparqlEndpointClient.State.CLOSED);
+    }
+
+    @Test
+    void slowEndpointFailsWithinTimeout() {
+        stub.latency(Duration.ofSeconds(3));
+        SparqlEndpointClient client = client(Duration.ofMillis(300), 3, Duration.ofSeconds(30));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.selectUris(QUERY, "resource")).isInstanceOf(IllegalStateException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndFailsFast() {
+        stub.failureRate(1.0);
+        SparqlEndpointClient client = client(Duration.ofSeconds(2), 3, Duration.ofSeconds(30));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> client.selectUris(QUERY, "resource")).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(client.getState()).isEqualTo(SparqlEndpointClient.State.OPEN);
+
+        int before = stub.requestCount();
+        assertThatThrownBy(() -> client.selectUris(QUERY, "resource"))
+                .isInstanceOf(SparqlEndpointClient.EndpointUnavailableException.class);
+        assertThat(stub.requestCount()).isEqualTo(before);
+    }
+
+    @Test
+    void halfOpenProbeClosesCircuitOnSuccess() throws Exception {
+        stub.failureRate(1.0);
+        SparqlEndpointClient client = client(Duration.ofSeconds(2), 1, Duration.ofMillis(200));
+
+        assertThatThrownBy(() -> client.selectUris(QUERY, "resource")).isInstanceOf(IllegalStateException.class);
+        assertThat(client.getState()).isEqualTo(SparqlEndpointClient.State.OPEN);
+
+        stub.failureRate(0.0);
+        Thread.sleep(300);
+
+        assertThat(client.selectUris(QUERY, "resource")).hasSize(1);
+        assertThat(client.getState()).isEqualTo(SparqlEndpointClient.State.CLOSED);
+    }
+
+    @Test
+    void onlyTheHalfOpenCallerHoldsTheProbe() throws Exception {
+        stub.failureRate(1.0);
+        SparqlEndpointClient client = client(Duration.ofSeconds(2), 1, Duration.ofMillis(200));
+
+        assertThat(client.acquirePermission()).isFalse(); // admis cât circuitul e CLOSED
+        assertThatThrownBy(() -> client.selectUris(QUERY, "resource")).isInstanceOf(IllegalStateException.class);
+        Thread.sleep(300);
+
+        assertThat(client.acquirePermission()).isTrue();
+        assertThat(client.getState()).isEqualTo(SparqlEndpointClient.State.HALF_OPEN);
+        assertThatThrownBy(client::acquirePermission)
+                .isInstanceOf(SparqlEndpointClient.EndpointUnavailableException.class);
+    }
+
+    private SparqlEndpointClient client(Duration timeout, int failureThreshold, Duration openDuration) {
+        return new SparqlEndpointClient("stub", stub.url(), timeout, 4, failureThreshold, openDuration);
+    }
+}
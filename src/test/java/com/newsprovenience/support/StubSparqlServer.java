@@ -0,0 +1,101 @@
+package com.newsprovenience.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Endpoint SPARQL local pentru teste: răspunde oricărui query cu aceleași binding-uri,
+ * cu latență și rată de eroare configurabile.
+ */
+public class StubSparqlServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double failureRate;
+    private volatile String var = "resource";
+    private volatile List<String> uris = List.of();
+
+    public StubSparqlServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/sparql", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "stub-sparql");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/sparql";
+    }
+
+    public StubSparqlServer latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /** 0.0 = niciodată, 1.0 = mereu HTTP 500. */
+    public StubSparqlServer failureRate(double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    public StubSparqlServer respondWith(String var, List<String> uris) {
+        this.var = var;
+        this.uris = List.copyOf(uris);
+        return this;
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            if (!latency.isZero()) Thread.sleep(latency.toMillis());
+
+            if (failureRate > 0 && Math.random() < failureRate) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+
+            byte[] body = resultsJson().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/sparql-results+json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String resultsJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"head\":{\"vars\":[\"").append(var).append("\"]},\"results\":{\"bindings\":[");
+        for (int i = 0; i < uris.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"").append(var).append("\":{\"type\":\"uri\",\"value\":\"").append(uris.get(i)).append("\"}}");
+        }
+        return sb.append("]}}").toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
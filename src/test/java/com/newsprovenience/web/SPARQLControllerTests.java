@@ -0,0 +1,73 @@
+package com.newsprovenience.web;
+
+import com.newsprovenience.service.dto.SparqlResultFormat;
+import com.newsprovenience.service.implementation.SPARQLService;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QueryParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SPARQLControllerTests {
+
+    private static final String SELECT = "SELECT ?s WHERE { ?s ?p ?o }";
+
+    private SPARQLService sparqlService;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        sparqlService = mock(SPARQLService.class);
+        mvc = MockMvcBuilders.standaloneSetup(new SPARQLController(sparqlService, null)).build();
+    }
+
+    @Test
+    void selectIsStreamedIntoTheResponse() throws Exception {
+        when(sparqlService.parseQuery(SELECT)).thenReturn(QueryFactory.create(SELECT));
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(3).write("{\"results\":[]}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(sparqlService).streamQuery(eq(SPARQLService.ADHOC), any(), eq(SparqlResultFormat.JSON), any());
+
+        MvcResult started = mvc.perform(post("/api/sparql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"query\":\"" + SELECT + "\",\"format\":\"json\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"results\":[]}"));
+    }
+
+    @Test
+    void syntaxErrorIsBadRequest() throws Exception {
+        when(sparqlService.parseQuery(anyString())).thenThrow(new QueryParseException("bad", 1, 1));
+
+        MvcResult started = mvc.perform(post("/api/sparql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"query\":\"SELEC\"}"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest());
+    }
+}